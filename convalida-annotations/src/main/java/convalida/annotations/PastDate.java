@@ -21,6 +21,11 @@ public @interface PastDate {
 
     String dateFormat();
 
+    /**
+     * Typed dates must be on or after this limit: a date in the {@link #dateFormat()}, or an
+     * expression relative to today such as {@code today}, {@code today-18y} or
+     * {@code today+90d}, with amounts of days (d), weeks (w), months (m) or years (y).
+     */
     String limitDate();
 
     boolean autoDismiss() default true;
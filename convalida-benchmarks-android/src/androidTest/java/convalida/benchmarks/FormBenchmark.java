@@ -0,0 +1,146 @@
+package convalida.benchmarks;
+
+import android.content.Context;
+import android.widget.EditText;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import convalida.validators.AbstractValidator;
+import convalida.validators.CnpjValidator;
+import convalida.validators.CpfValidator;
+import convalida.validators.CreditCardValidator;
+import convalida.validators.EmailValidator;
+import convalida.validators.FutureDateValidator;
+import convalida.validators.Ipv4Validator;
+import convalida.validators.Ipv6Validator;
+import convalida.validators.IsbnValidator;
+import convalida.validators.LengthValidator;
+import convalida.validators.NumericLimitValidator;
+import convalida.validators.OnlyNumberValidator;
+import convalida.validators.PasswordValidator;
+import convalida.validators.PastDateValidator;
+import convalida.validators.PatternValidator;
+import convalida.validators.RequiredValidator;
+import convalida.validators.UrlValidator;
+import convalida.validators.ValidatorSet;
+
+/**
+ * Full validation of a form by {@link ValidatorSet#isValid()}, the work done on submit.
+ *
+ * Each field is required plus one other built-in validator, configured like the rules of
+ * {@link Corpus} and holding one of its inputs. The fields are not attached to a window, so
+ * the time spent drawing the errors is not included.
+ */
+@RunWith(Parameterized.class)
+public class FormBenchmark {
+
+    private static final String ERROR_MESSAGE = "Invalid";
+
+    @Rule public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    /**
+     * Forms of 10, 100 and 1000 fields, with every field valid, one field in ten invalid, or
+     * every field invalid.
+     */
+    @Parameterized.Parameters(name = "fields={0},corpus={1}")
+    public static List<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+
+        for (int fields : new int[] { 10, 100, 1000 }) {
+            for (String corpus : new String[] { "valid", "mixed", "invalid" }) {
+                parameters.add(new Object[] { fields, corpus });
+            }
+        }
+
+        return parameters;
+    }
+
+    private final int fields;
+    private final String corpus;
+    private ValidatorSet validatorSet;
+
+    public FormBenchmark(int fields, String corpus) {
+        this.fields = fields;
+        this.corpus = corpus;
+    }
+
+    @Before public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+        validatorSet = new ValidatorSet();
+
+        for (int field = 0; field < fields; field++) {
+            String name = Corpus.RULES[field % Corpus.RULES.length];
+            boolean valid = corpus.equals("valid") || (corpus.equals("mixed") && field % 10 != 0);
+            CharSequence[] inputs = Corpus.inputs(name, valid);
+            EditText editText = new EditText(context);
+
+            editText.setText(inputs[(field / Corpus.RULES.length) % inputs.length]);
+            validatorSet.addValidator(new RequiredValidator(editText, ERROR_MESSAGE, true));
+            validatorSet.addValidator(validator(name, editText));
+        }
+
+        if (validatorSet.isValid() != corpus.equals("valid")) {
+            throw new IllegalStateException(corpus + " corpus is wrong for " + fields + " fields");
+        }
+    }
+
+    /**
+     * Every field is validated again, as on the first submit of the form.
+     */
+    @Test public void isValid() {
+        BenchmarkState state = benchmarkRule.getState();
+
+        while (state.keepRunning()) {
+            validatorSet.invalidate();
+            validatorSet.isValid();
+        }
+    }
+
+    /**
+     * No field changed since the last submit, so their cached results are reused.
+     */
+    @Test public void isValidWithoutChanges() {
+        BenchmarkState state = benchmarkRule.getState();
+
+        while (state.keepRunning()) {
+            validatorSet.isValid();
+        }
+    }
+
+    private static AbstractValidator validator(String name, EditText field) {
+        switch (name) {
+            case "required": return new RequiredValidator(field, ERROR_MESSAGE, true);
+            case "length": return new LengthValidator(field, ERROR_MESSAGE, 3, 20, true, true);
+            case "onlyNumber": return new OnlyNumberValidator(field, ERROR_MESSAGE, true, true);
+            case "pattern": return new PatternValidator(field, ERROR_MESSAGE, "^[A-Za-z]+$", true, true);
+            case "email": return new EmailValidator(field, ERROR_MESSAGE, true, true);
+            case "password": return new PasswordValidator(field, ERROR_MESSAGE, 8, "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z]).{8,}$", true);
+            case "passwordPolicy": return new PasswordValidator(field, ERROR_MESSAGE, 8, "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z]).{1,}+$", true);
+            case "cpf": return new CpfValidator(field, ERROR_MESSAGE, true, true);
+            case "cnpj": return new CnpjValidator(field, ERROR_MESSAGE, true, true);
+            case "creditCard": return new CreditCardValidator(field, ERROR_MESSAGE, true, true);
+            case "url": return new UrlValidator(field, ERROR_MESSAGE, true, true);
+            case "isbn": return new IsbnValidator(field, ERROR_MESSAGE, true, true);
+            case "ipv4": return new Ipv4Validator(field, ERROR_MESSAGE, true, true);
+            case "ipv6": return new Ipv6Validator(field, ERROR_MESSAGE, true, true);
+            case "numericLimit": return new NumericLimitValidator(field, ERROR_MESSAGE, true, "0", "150", true);
+            case "pastDate": return new PastDateValidator(field, ERROR_MESSAGE, "dd/MM/yyyy", "01/01/1900", true, true);
+            case "futureDate": return new FutureDateValidator(field, ERROR_MESSAGE, "dd/MM/yyyy", "31/12/2099", true, true);
+            case "adultAge": return new FutureDateValidator(field, ERROR_MESSAGE, "dd/MM/yyyy", "today-18y", true, true, Corpus.CLOCK);
+            default: throw new IllegalArgumentException("Unknown rule: " + name);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package convalida.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import convalida.core.engine.BrazilianDocuments;
+
+/**
+ * Batch validation of masked CPF and CNPJ numbers, half of them valid.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentBenchmark {
+
+    @Param({"cpf", "cnpj"})
+    public String document;
+
+    @Param({"1000"})
+    public int size;
+
+    private CharSequence[] documents;
+    private boolean[] results;
+
+    @Setup public void setUp() {
+        CharSequence[] valid = Corpus.inputs(document, true);
+        CharSequence[] invalid = Corpus.inputs(document, false);
+
+        documents = new CharSequence[size];
+        results = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            CharSequence[] source = i % 2 == 0 ? valid : invalid;
+            documents[i] = source[(i / 2) % source.length];
+        }
+    }
+
+    @Benchmark public int validate() {
+        return document.equals("cpf")
+                ? BrazilianDocuments.validateCpfs(documents, results)
+                : BrazilianDocuments.validateCnpjs(documents, results);
+    }
+
+}
@@ -0,0 +1,59 @@
+package convalida.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import convalida.core.Rule;
+
+/**
+ * Cost of a single check of each built-in rule, cycling through its valid or invalid inputs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RuleBenchmark {
+
+    @Param({
+            "required", "length", "onlyNumber", "pattern", "email", "password", "cpf", "cnpj",
+            "creditCard", "url", "isbn", "ipv4", "ipv6", "numericLimit", "pastDate", "futureDate",
+            "adultAge", "passwordPolicy"
+    })
+    public String rule;
+
+    @Param({"valid", "invalid"})
+    public String corpus;
+
+    private Rule instance;
+    private CharSequence[] inputs;
+    private int index;
+
+    @Setup public void setUp() {
+        boolean valid = corpus.equals("valid");
+
+        instance = Corpus.rule(rule);
+        inputs = Corpus.inputs(rule, valid);
+
+        for (CharSequence input : inputs) {
+            if (instance.isValid(input) != valid) {
+                throw new IllegalStateException(rule + " corpus is wrong for \"" + input + "\"");
+            }
+        }
+    }
+
+    @Benchmark public boolean isValid() {
+        CharSequence input = inputs[index];
+
+        if (++index == inputs.length) index = 0;
+
+        return instance.isValid(input);
+    }
+
+}
@@ -0,0 +1,147 @@
+package convalida.benchmarks;
+
+import java.util.TimeZone;
+
+import convalida.core.Rule;
+import convalida.core.engine.Clock;
+import convalida.core.engine.DateParser;
+import convalida.core.rules.CnpjRule;
+import convalida.core.rules.CpfRule;
+import convalida.core.rules.CreditCardRule;
+import convalida.core.rules.EmailRule;
+import convalida.core.rules.FutureDateRule;
+import convalida.core.rules.Ipv4Rule;
+import convalida.core.rules.Ipv6Rule;
+import convalida.core.rules.IsbnRule;
+import convalida.core.rules.LengthRule;
+import convalida.core.rules.NumericLimitRule;
+import convalida.core.rules.OnlyNumberRule;
+import convalida.core.rules.PasswordRule;
+import convalida.core.rules.PastDateRule;
+import convalida.core.rules.PatternRule;
+import convalida.core.rules.RequiredRule;
+import convalida.core.rules.UrlRule;
+
+/**
+ * Built-in rules configured as a typical form does, with valid and invalid inputs of the kind
+ * users actually type: masked documents, card numbers with spaces, mistyped emails.
+ *
+ * Inputs are returned as {@link StringBuilder}s, like the Editable of a field, so benchmarks do
+ * not hit String only fast paths. Limits relative to today are read from {@link #CLOCK}, so the
+ * inputs keep their results whatever day the benchmarks run on.
+ */
+public final class Corpus {
+
+    /**
+     * Today is 17/10/2026 in UTC.
+     */
+    public static final Clock CLOCK =
+            Clock.fixed(DateParser.toEpochDay(2026, 10, 17) * 86400000L, TimeZone.getTimeZone("UTC"));
+
+    public static final String[] RULES = {
+            "required", "length", "onlyNumber", "pattern", "email", "password", "cpf", "cnpj",
+            "creditCard", "url", "isbn", "ipv4", "ipv6", "numericLimit", "pastDate", "futureDate",
+            "adultAge", "passwordPolicy"
+    };
+
+    // Can not be instantiated
+    private Corpus() { }
+
+    public static Rule rule(String name) {
+        switch (name) {
+            case "required": return new RequiredRule();
+            case "length": return new LengthRule(3, 20, true);
+            case "onlyNumber": return new OnlyNumberRule(true);
+            case "pattern": return new PatternRule("^[A-Za-z]+$", true);
+            case "email": return new EmailRule(true);
+            case "password": return new PasswordRule(8, "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z]).{8,}$");
+            case "passwordPolicy": return new PasswordRule(8, "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z]).{1,}+$");
+            case "cpf": return new CpfRule(true);
+            case "cnpj": return new CnpjRule(true);
+            case "creditCard": return new CreditCardRule(true);
+            case "url": return new UrlRule(true);
+            case "isbn": return new IsbnRule(true);
+            case "ipv4": return new Ipv4Rule(true);
+            case "ipv6": return new Ipv6Rule(true);
+            case "numericLimit": return new NumericLimitRule("0", "150", true);
+            case "pastDate": return new PastDateRule("dd/MM/yyyy", "01/01/1900", true);
+            case "futureDate": return new FutureDateRule("dd/MM/yyyy", "31/12/2099", true);
+            case "adultAge": return new FutureDateRule("dd/MM/yyyy", "today-18y", true, CLOCK);
+            default: throw new IllegalArgumentException("Unknown rule: " + name);
+        }
+    }
+
+    public static String[] valid(String name) {
+        switch (name) {
+            case "required": return new String[] { "John", "a", "Jane Doe", "Sao Paulo" };
+            case "length": return new String[] { "John", "Jane Doe", "abc", "Maria da Silva" };
+            case "onlyNumber": return new String[] { "12345", "0", "11 98765 4321", "2026" };
+            case "pattern": return new String[] { "John", "Jane", "Convalida", "abc" };
+            case "email": return new String[] {
+                    "john@example.com", "jane.doe@mail.example.org", "a+b@test.io", "user_1@domain.co"
+            };
+            case "password":
+            case "passwordPolicy": return new String[] { "Secret123", "aB3defgh", "Passw0rdX", "zZ9zZ9zZ9" };
+            case "cpf": return new String[] { "111.444.777-35", "52998224725", "390.533.447-05", "935.411.347-80" };
+            case "cnpj": return new String[] {
+                    "11.222.333/0001-81", "11222333000181", "45.723.174/0001-10", "12.ABC.345/01DE-35"
+            };
+            case "creditCard": return new String[] {
+                    "4111 1111 1111 1111", "5500 0000 0000 0004", "3400 0000 0000 009", "6011 0000 0000 0004"
+            };
+            case "url": return new String[] {
+                    "https://github.com", "http://localhost:8080/path", "https://example.org/a?b=c", "ftp://ftp.example.com"
+            };
+            case "isbn": return new String[] { "9780306406157", "0306406152", "978-0-306-40615-7", "9781861972712" };
+            case "ipv4": return new String[] { "192.168.0.1", "10.0.0.255", "8.8.8.8", "127.0.0.1" };
+            case "ipv6": return new String[] { "::1", "2001:db8::ff00:42:8329", "fe80::1", "2001:0db8:0000:0000:0000:ff00:0042:8329" };
+            case "numericLimit": return new String[] { "42", "0", "149.99", "150" };
+            case "pastDate": return new String[] { "17/10/2026", "01/01/1990", "29/02/2000", "31/12/1999" };
+            case "futureDate": return new String[] { "17/10/2026", "01/01/2030", "29/02/2000", "31/12/2099" };
+            case "adultAge": return new String[] { "17/10/1980", "01/01/1990", "29/02/2000", "31/12/1999" };
+            default: throw new IllegalArgumentException("Unknown rule: " + name);
+        }
+    }
+
+    public static String[] invalid(String name) {
+        switch (name) {
+            case "required": return new String[] { "", "", "", "" };
+            case "length": return new String[] { "ab", "a", "Maria da Silva Pereira Santos", "xy" };
+            case "onlyNumber": return new String[] { "12a45", "abc", "11-98765-4321", "2026!" };
+            case "pattern": return new String[] { "John1", "Jane Doe!", "123", "a_b" };
+            case "email": return new String[] {
+                    "john@example", "jane.doe@", "@test.io", "user@domain.c"
+            };
+            case "password":
+            case "passwordPolicy": return new String[] { "secret", "abcdefgh", "PASSWORD1", "Short1" };
+            case "cpf": return new String[] { "111.444.777-36", "11111111111", "123.456.789", "529.982.247-2A" };
+            case "cnpj": return new String[] {
+                    "11.222.333/0001-82", "00000000000000", "11.222.333/0001", "45.723.174/0001-1X"
+            };
+            case "creditCard": return new String[] {
+                    "4111 1111 1111 1112", "1234 5678 9012 3456", "4111 1111", "5500 0000 0000 000A"
+            };
+            case "url": return new String[] { "github", "http//example.com", "https://", "htp://example.com" };
+            case "isbn": return new String[] { "9780306406158", "0306406153", "978-0-306", "abcdefghij" };
+            case "ipv4": return new String[] { "192.168.0.256", "10.0.0", "8.8.8.8.8", "a.b.c.d" };
+            case "ipv6": return new String[] { "::g", "2001:db8:::1", "fe80::1::2", "12345::" };
+            case "numericLimit": return new String[] { "-1", "150.01", "abc", "1e3" };
+            case "pastDate": return new String[] { "31/12/1899", "01/01/1800", "1/1/1899", "not a date" };
+            case "futureDate": return new String[] { "01/01/2100", "31/12/2199", "01/01/2200", "not a date" };
+            case "adultAge": return new String[] { "01/01/2030", "17/10/2026", "1/1/2010", "not a date" };
+            default: throw new IllegalArgumentException("Unknown rule: " + name);
+        }
+    }
+
+    public static CharSequence[] inputs(String name, boolean valid) {
+        String[] values = valid ? valid(name) : invalid(name);
+        CharSequence[] inputs = new CharSequence[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            inputs[i] = new StringBuilder(values[i]);
+        }
+
+        return inputs;
+    }
+
+}
@@ -0,0 +1,1006 @@
+package convalida.compiler.internal;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the constructs of a regular expression which make a backtracking matcher, such as
+ * {@link Pattern} or the ICU based matcher of Android, take exponential or polynomial time on
+ * values which do not match. Recent JDKs memoize some of these shapes, ICU does not, so they
+ * are reported whatever the JVM running the analysis does with them.
+ *
+ * The pattern is parsed into a tree and four shapes are looked for:
+ *
+ * - a repeated expression whose body is itself a variable repetition, with nothing else that
+ *   must match around it, as in {@code (a+)+} or {@code (\w+\s?)*};
+ * - a repeated alternation whose alternatives can match the same text, as in
+ *   {@code (\w|\d)+}, or, when the alternation is the whole repeated expression, whose
+ *   alternatives can match text made of other alternatives, as in {@code (a|aa)+} or
+ *   {@code (\d|\d\d)+};
+ * - a repeated expression with a variable repetition followed by something which can match
+ *   the same chars, so that the end of the repetition is ambiguous, as in
+ *   {@code ([a-z]+.)+} or {@code (\d+,\d+)+}, where the next repetition starts with a
+ *   digit;
+ * - consecutive unbounded repetitions, separated by optional expressions only, where the
+ *   second can start with a char the first can match, as in {@code \d+\.?\d+}.
+ *
+ * Under an unbounded repetition, the shapes make the matcher try exponentially many ways
+ * of splitting a value before it fails. Under a bounded one, as in {@code (.*a){12}}, the
+ * first and the third cost polynomial time, and so does the last anywhere. Possessive quantifiers and atomic groups do not backtrack into what they
+ * matched, and are not reported.
+ *
+ * The analysis is syntactic and conservative: it reports shapes which can backtrack, not
+ * proofs of slow inputs. Patterns are expected to compile with {@link Pattern}.
+ */
+public final class RegexAnalyzer {
+
+    public enum Risk { NONE, POLYNOMIAL, EXPONENTIAL }
+
+    public static final class Finding {
+
+        public final Risk risk;
+
+        /** Part of the pattern which backtracks. */
+        public final String construct;
+
+        /** Why it backtracks, completing a sentence about the construct. */
+        public final String reason;
+
+        Finding(Risk risk, String construct, String reason) {
+            this.risk = risk;
+            this.construct = construct;
+            this.reason = reason;
+        }
+    }
+
+    private static final Finding SAFE = new Finding(Risk.NONE, "", "");
+
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    // Bit of the char sets standing for every supplementary code point.
+    private static final int SUPPLEMENTARY = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+
+    private static final BitSet ANY = new BitSet(SUPPLEMENTARY + 1);
+
+    private static final BitSet NOTHING = new BitSet();
+
+    static {
+        ANY.set(0, SUPPLEMENTARY + 1);
+    }
+
+    // Longest run of chars compared when looking for alternatives made of other ones.
+    private static final int MAX_FIXED_LENGTH = 16;
+
+    // Chars of the classes and escapes, by flags and text, shared between analyses.
+    private static final Map<String, BitSet> CLASSES = new ConcurrentHashMap<>();
+
+    private final String regex;
+    private int position;
+    private int flags;
+
+    private RegexAnalyzer(String regex, int flags) {
+        this.regex = regex;
+        this.flags = flags;
+    }
+
+    public static Finding analyze(String regex) {
+        return analyze(regex, 0);
+    }
+
+    /**
+     * @return the worst construct of the pattern, or a finding of {@link Risk#NONE}.
+     */
+    public static Finding analyze(String regex, int flags) {
+        RegexAnalyzer analyzer = new RegexAnalyzer(regex, flags);
+
+        try {
+            Node root = analyzer.parseAlternation();
+
+            if (analyzer.position != regex.length()) return SAFE;
+
+            return analyzer.find(root, SAFE);
+        } catch (Unknown e) {
+            return SAFE;
+        }
+    }
+
+    // Analysis
+
+    private Finding find(Node node, Finding worst) {
+        Finding finding = check(node);
+
+        if (finding.risk.compareTo(worst.risk) > 0) worst = finding;
+
+        if (worst.risk == Risk.EXPONENTIAL || node.children == null) return worst;
+
+        for (Node child : node.children) {
+            worst = find(child, worst);
+
+            if (worst.risk == Risk.EXPONENTIAL) break;
+        }
+
+        return worst;
+    }
+
+    private Finding check(Node node) {
+        if (node.type == Node.REPEAT && !node.possessive && node.max >= 2
+                && !chars(node.body()).isEmpty()) {
+            boolean loop = node.max == UNBOUNDED;
+            Risk risk = loop ? Risk.EXPONENTIAL : Risk.POLYNOMIAL;
+
+            if (freeRepetition(node.body()) != null) {
+                return finding(risk, node, "repeats an expression which is itself repeated");
+            }
+
+            if (loop && overlappingAlternation(node.body(), true) != null) {
+                return finding(risk, node, "repeats alternatives which can match the same text");
+            }
+
+            if (ambiguousEnd(node.body())) {
+                return finding(risk, node, "repeats a repetition whose end is ambiguous");
+            }
+        }
+
+        if (node.type == Node.SEQUENCE) {
+            Node[] pair = overlappingPair(node);
+
+            if (pair != null) {
+                return new Finding(Risk.POLYNOMIAL,
+                        regex.substring(pair[0].start, pair[1].end),
+                        "has consecutive repetitions which can match the same chars");
+            }
+        }
+
+        return SAFE;
+    }
+
+    private Finding finding(Risk risk, Node node, String reason) {
+        return new Finding(risk, regex.substring(node.start, node.end), reason);
+    }
+
+    /**
+     * @return a repetition of variable count which can match the node on its own, as
+     * everything else in the node can match nothing, or null.
+     */
+    private Node freeRepetition(Node node) {
+        switch (node.type) {
+            case Node.REPEAT:
+                if (node.possessive) return null;
+
+                return isVariable(node) ? node : freeRepetition(node.body());
+            case Node.GROUP:
+                return freeRepetition(node.body());
+            case Node.SEQUENCE:
+                for (Node item : node.children) {
+                    if (othersNullable(node, item)) {
+                        Node repetition = freeRepetition(item);
+
+                        if (repetition != null) return repetition;
+                    }
+                }
+
+                return null;
+            case Node.ALTERNATION:
+                for (Node alternative : node.children) {
+                    Node repetition = freeRepetition(alternative);
+
+                    if (repetition != null) return repetition;
+                }
+
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param whole true when the node is the whole body of the repetition, so that an
+     * alternative may also be split into the next iterations.
+     * @return an alternation of the node with two alternatives which can match the same
+     * text, or null.
+     */
+    private Node overlappingAlternation(Node node, boolean whole) {
+        if (node.type == Node.LOOKAROUND || node.children == null) return null;
+
+        if (node.type == Node.GROUP) return overlappingAlternation(node.body(), whole);
+
+        if (node.type == Node.ALTERNATION) {
+            List<Node> alternatives = node.children;
+            List<List<BitSet>> fixed = new ArrayList<>();
+
+            for (Node alternative : alternatives) fixed.add(fixed(alternative));
+
+            for (int i = 0; i < alternatives.size(); i++) {
+                for (int j = i + 1; j < alternatives.size(); j++) {
+                    if (overlap(alternatives.get(i), alternatives.get(j))) return node;
+
+                    if (whole && (splits(fixed.get(i), fixed.get(j), fixed)
+                            || splits(fixed.get(j), fixed.get(i), fixed))) {
+                        return node;
+                    }
+                }
+            }
+        }
+
+        for (Node child : node.children) {
+            Node alternation = overlappingAlternation(child, false);
+
+            if (alternation != null) return alternation;
+        }
+
+        return null;
+    }
+
+    private boolean overlap(Node a, Node b) {
+        String textA = regex.substring(a.start, a.end);
+        String textB = regex.substring(b.start, b.end);
+
+        if (!textA.isEmpty() && textA.equals(textB) || singles(a).intersects(singles(b))) {
+            return true;
+        }
+
+        List<BitSet> fixedA = fixed(a);
+        List<BitSet> fixedB = fixed(b);
+
+        return fixedA != null && fixedB != null && !fixedA.isEmpty()
+                && fixedA.size() == fixedB.size() && matchesAt(fixedA, fixedB, 0);
+    }
+
+    /**
+     * @return true when some text of the longer alternative can also be matched by the
+     * shorter one followed by other alternatives, as {@code aa} by {@code a} twice in
+     * {@code (a|aa)+}.
+     */
+    private static boolean splits(List<BitSet> shorter, List<BitSet> longer,
+            List<List<BitSet>> alternatives) {
+        if (shorter == null || longer == null || shorter.isEmpty()
+                || shorter.size() >= longer.size()) {
+            return false;
+        }
+
+        return matchesAt(shorter, longer, 0) && covers(longer, shorter.size(), alternatives);
+    }
+
+    /**
+     * @return true when the chars of the longer run from the offset can be matched by a
+     * concatenation of the alternatives.
+     */
+    private static boolean covers(List<BitSet> run, int offset, List<List<BitSet>> alternatives) {
+        if (offset == run.size()) return true;
+
+        for (List<BitSet> alternative : alternatives) {
+            if (alternative == null || alternative.isEmpty()
+                    || offset + alternative.size() > run.size()) {
+                continue;
+            }
+
+            if (matchesAt(alternative, run, offset)
+                    && covers(run, offset + alternative.size(), alternatives)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true when each char of the part can match the char of the run at the same
+     * position from the offset.
+     */
+    private static boolean matchesAt(List<BitSet> part, List<BitSet> run, int offset) {
+        for (int i = 0; i < part.size(); i++) {
+            if (!part.get(i).intersects(run.get(offset + i))) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the chars matched at each position by a node which always matches the same
+     * number of chars, or null when the number varies or is too large.
+     */
+    private static List<BitSet> fixed(Node node) {
+        List<BitSet> run = new ArrayList<>();
+        return appendFixed(node, run) ? run : null;
+    }
+
+    private static boolean appendFixed(Node node, List<BitSet> run) {
+        switch (node.type) {
+            case Node.CHARS:
+                run.add(node.set);
+                return run.size() <= MAX_FIXED_LENGTH;
+            case Node.LOOKAROUND:
+            case Node.ANCHOR:
+                return true;
+            case Node.GROUP:
+            case Node.ATOMIC:
+                return appendFixed(node.body(), run);
+            case Node.SEQUENCE:
+                for (Node item : node.children) {
+                    if (!appendFixed(item, run)) return false;
+                }
+
+                return true;
+            case Node.REPEAT:
+                if (node.min != node.max || node.min > MAX_FIXED_LENGTH) return false;
+
+                for (int i = 0; i < node.min; i++) {
+                    if (!appendFixed(node.body(), run)) return false;
+                }
+
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return true when the body of a repetition has a variable repetition
+     * followed, possibly after optional items, by an item or a next iteration of the body
+     * which can match the same chars.
+     */
+    private boolean ambiguousEnd(Node body) {
+        Node sequence = unwrap(body);
+
+        if (sequence.type != Node.SEQUENCE) return false;
+
+        List<Node> items = sequence.children;
+
+        for (int i = 0; i < items.size(); i++) {
+            Node repetition = unwrap(items.get(i));
+
+            if (!isVariable(repetition)) continue;
+
+            BitSet chars = chars(repetition);
+            int j = i + 1;
+
+            for (; j < items.size(); j++) {
+                if (first(items.get(j)).intersects(chars)) return true;
+
+                if (!nullable(items.get(j))) break;
+            }
+
+            if (j == items.size() && first(sequence).intersects(chars)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return two unbounded repetitions of the sequence, separated by items which can match
+     * nothing, where the second can start with a char the first can match, or null.
+     */
+    private Node[] overlappingPair(Node sequence) {
+        List<Node> items = sequence.children;
+
+        for (int i = 0; i < items.size(); i++) {
+            Node first = unwrap(items.get(i));
+
+            if (!isUnbounded(first)) continue;
+
+            for (int j = i + 1; j < items.size(); j++) {
+                Node second = unwrap(items.get(j));
+
+                if (isUnbounded(second) && chars(first).intersects(first(second))) {
+                    return new Node[] { items.get(i), items.get(j) };
+                }
+
+                if (!nullable(items.get(j))) break;
+            }
+        }
+
+        return null;
+    }
+
+    private static Node unwrap(Node node) {
+        while (node.type == Node.GROUP) node = node.body();
+        return node;
+    }
+
+    private static boolean isUnbounded(Node node) {
+        return node.type == Node.REPEAT && node.max == UNBOUNDED && !node.possessive;
+    }
+
+    private static boolean isVariable(Node node) {
+        return node.type == Node.REPEAT && !node.possessive && node.max > node.min
+                && node.max >= 2 && !chars(node.body()).isEmpty();
+    }
+
+    private static boolean othersNullable(Node sequence, Node item) {
+        for (Node other : sequence.children) {
+            if (other != item && !nullable(other)) return false;
+        }
+
+        return true;
+    }
+
+    private static boolean nullable(Node node) {
+        switch (node.type) {
+            case Node.CHARS:
+            case Node.BACKREFERENCE:
+                return false;
+            case Node.LOOKAROUND:
+            case Node.ANCHOR:
+                return true;
+            case Node.SEQUENCE:
+                for (Node item : node.children) {
+                    if (!nullable(item)) return false;
+                }
+
+                return true;
+            case Node.ALTERNATION:
+                for (Node alternative : node.children) {
+                    if (nullable(alternative)) return true;
+                }
+
+                return false;
+            case Node.REPEAT:
+                return node.min == 0 || nullable(node.body());
+            default:
+                return nullable(node.body());
+        }
+    }
+
+    /**
+     * @return the chars the node can match anywhere in a value.
+     */
+    private static BitSet chars(Node node) {
+        switch (node.type) {
+            case Node.CHARS:
+                return node.set;
+            case Node.BACKREFERENCE:
+                return ANY;
+            case Node.LOOKAROUND:
+            case Node.ANCHOR:
+                return NOTHING;
+            case Node.REPEAT:
+                return node.max == 0 ? NOTHING : childrenChars(node);
+            default:
+                return childrenChars(node);
+        }
+    }
+
+    private static BitSet childrenChars(Node node) {
+        BitSet chars = new BitSet();
+
+        for (Node child : node.children) chars.or(chars(child));
+
+        return chars;
+    }
+
+    /**
+     * @return the chars the node can match first.
+     */
+    private static BitSet first(Node node) {
+        switch (node.type) {
+            case Node.CHARS:
+                return node.set;
+            case Node.BACKREFERENCE:
+                return ANY;
+            case Node.LOOKAROUND:
+            case Node.ANCHOR:
+                return NOTHING;
+            case Node.SEQUENCE: {
+                BitSet first = new BitSet();
+
+                for (Node item : node.children) {
+                    first.or(first(item));
+
+                    if (!nullable(item)) break;
+                }
+
+                return first;
+            }
+            case Node.ALTERNATION: {
+                BitSet first = new BitSet();
+
+                for (Node alternative : node.children) first.or(first(alternative));
+
+                return first;
+            }
+            case Node.REPEAT:
+                return node.max == 0 ? NOTHING : first(node.body());
+            default:
+                return first(node.body());
+        }
+    }
+
+    /**
+     * @return the chars the node can match as a value of one char.
+     */
+    private static BitSet singles(Node node) {
+        switch (node.type) {
+            case Node.CHARS:
+                return node.set;
+            case Node.SEQUENCE: {
+                BitSet singles = new BitSet();
+
+                for (Node item : node.children) {
+                    if (othersNullable(node, item)) singles.or(singles(item));
+                }
+
+                return singles;
+            }
+            case Node.ALTERNATION: {
+                BitSet singles = new BitSet();
+
+                for (Node alternative : node.children) singles.or(singles(alternative));
+
+                return singles;
+            }
+            case Node.REPEAT:
+                return node.min <= 1 && node.max >= 1 ? singles(node.body()) : NOTHING;
+            case Node.GROUP:
+                return singles(node.body());
+            default:
+                return NOTHING;
+        }
+    }
+
+    // Parser
+
+    private Node parseAlternation() {
+        int start = position;
+        List<Node> alternatives = new ArrayList<>();
+        alternatives.add(parseSequence());
+
+        while (peek('|')) {
+            position++;
+            alternatives.add(parseSequence());
+        }
+
+        return alternatives.size() == 1
+                ? alternatives.get(0)
+                : new Node(Node.ALTERNATION, start, position, alternatives);
+    }
+
+    private Node parseSequence() {
+        int start = position;
+        List<Node> items = new ArrayList<>();
+
+        while (true) {
+            skipComments();
+
+            if (position == regex.length() || peek('|') || peek(')')) break;
+
+            Node atom = parseAtom();
+
+            // Inline flags match nothing and only change the flags.
+            if (atom != null) items.add(parseQuantifiers(atom));
+        }
+
+        return items.size() == 1
+                ? items.get(0)
+                : new Node(Node.SEQUENCE, start, position, items);
+    }
+
+    private Node parseAtom() {
+        int start = position;
+        char c = regex.charAt(position);
+
+        switch (c) {
+            case '(':
+                return parseGroup();
+            case '[':
+                skipClass();
+                return chars(start, classSet(regex.substring(start, position)));
+            case '.':
+                position++;
+                return chars(start, classSet("."));
+            case '^':
+            case '$':
+                position++;
+                return new Node(Node.ANCHOR, start, position, null);
+            case '\\':
+                return parseEscape();
+            default:
+                int codePoint = regex.codePointAt(position);
+                position += Character.charCount(codePoint);
+                return chars(start, literal(codePoint));
+        }
+    }
+
+    private Node parseGroup() {
+        int start = position++;
+        int type = Node.GROUP;
+        int saved = flags;
+
+        if (peek('?')) {
+            position++;
+
+            if (position == regex.length()) throw new Unknown();
+
+            char c = regex.charAt(position);
+
+            if (c == ':') {
+                position++;
+            } else if (c == '>') {
+                position++;
+                type = Node.ATOMIC;
+            } else if (c == '=' || c == '!') {
+                position++;
+                type = Node.LOOKAROUND;
+            } else if (c == '<' && position + 1 < regex.length()
+                    && (regex.charAt(position + 1) == '=' || regex.charAt(position + 1) == '!')) {
+                position += 2;
+                type = Node.LOOKAROUND;
+            } else if (c == '<') {
+                int end = regex.indexOf('>', position);
+
+                if (end < 0) throw new Unknown();
+
+                position = end + 1;
+            } else {
+                parseFlags();
+
+                if (peek(')')) {
+                    // The flags apply to the rest of the enclosing group.
+                    position++;
+                    return null;
+                }
+
+                expect(':');
+            }
+        }
+
+        Node body = parseAlternation();
+        expect(')');
+        flags = saved;
+
+        List<Node> children = new ArrayList<>();
+        children.add(body);
+
+        return new Node(type, start, position, children);
+    }
+
+    private void parseFlags() {
+        boolean on = true;
+
+        while (position < regex.length()) {
+            char c = regex.charAt(position);
+            int flag;
+
+            switch (c) {
+                case 'i': flag = Pattern.CASE_INSENSITIVE; break;
+                case 'd': flag = Pattern.UNIX_LINES; break;
+                case 'm': flag = Pattern.MULTILINE; break;
+                case 's': flag = Pattern.DOTALL; break;
+                case 'u': flag = Pattern.UNICODE_CASE; break;
+                case 'x': flag = Pattern.COMMENTS; break;
+                case 'U': flag = Pattern.UNICODE_CHARACTER_CLASS; break;
+                case '-':
+                    on = false;
+                    position++;
+                    continue;
+                default:
+                    return;
+            }
+
+            flags = on ? flags | flag : flags & ~flag;
+            position++;
+        }
+    }
+
+    private Node parseEscape() {
+        int start = position++;
+
+        if (position == regex.length()) throw new Unknown();
+
+        char c = regex.charAt(position++);
+
+        switch (c) {
+            case 'Q':
+                return parseQuote(start);
+            case 'b':
+            case 'B':
+                if (peek('{')) skipBraces();
+
+                return new Node(Node.ANCHOR, start, position, null);
+            case 'A':
+            case 'G':
+            case 'Z':
+            case 'z':
+                return new Node(Node.ANCHOR, start, position, null);
+            case 'k':
+                skipPast('>');
+                return new Node(Node.BACKREFERENCE, start, position, null);
+            case 'R':
+                return chars(start, classSet("[\\n\\x0B\\f\\r\\x85\\u2028\\u2029]"));
+            case 'X':
+                return chars(start, ANY);
+            case 'p':
+            case 'P':
+            case 'x':
+            case 'N':
+                if (peek('{')) {
+                    skipBraces();
+                } else {
+                    position += c == 'x' ? 2 : 1;
+                }
+                break;
+            case 'u':
+                position += 4;
+                break;
+            case 'c':
+                position++;
+                break;
+            case '0':
+                for (int i = 0; i < 3 && position < regex.length()
+                        && regex.charAt(position) >= '0' && regex.charAt(position) <= '7'; i++) {
+                    position++;
+                }
+                break;
+            default:
+                if (c >= '1' && c <= '9') {
+                    while (position < regex.length() && Character.isDigit(regex.charAt(position))) {
+                        position++;
+                    }
+
+                    return new Node(Node.BACKREFERENCE, start, position, null);
+                }
+        }
+
+        if (position > regex.length()) throw new Unknown();
+
+        return chars(start, classSet(regex.substring(start, position)));
+    }
+
+    private Node parseQuote(int start) {
+        int end = regex.indexOf("\\E", position);
+        int last = end < 0 ? regex.length() : end;
+        List<Node> items = new ArrayList<>();
+
+        while (position < last) {
+            int codePoint = regex.codePointAt(position);
+            int charStart = position;
+            position += Character.charCount(codePoint);
+            items.add(chars(charStart, literal(codePoint)));
+        }
+
+        if (end >= 0) position += 2;
+
+        return new Node(Node.SEQUENCE, start, position, items);
+    }
+
+    private Node parseQuantifiers(Node atom) {
+        while (true) {
+            skipComments();
+
+            if (position == regex.length()) return atom;
+
+            char c = regex.charAt(position);
+            int min;
+            int max;
+
+            if (c == '*') {
+                min = 0;
+                max = UNBOUNDED;
+            } else if (c == '+') {
+                min = 1;
+                max = UNBOUNDED;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+            } else if (c == '{') {
+                int end = regex.indexOf('}', position);
+
+                if (end < 0) throw new Unknown();
+
+                String[] counts = regex.substring(position + 1, end).split(",", -1);
+
+                try {
+                    min = Integer.parseInt(counts[0].trim());
+                    max = counts.length == 1 ? min
+                            : counts[1].trim().isEmpty() ? UNBOUNDED
+                            : Integer.parseInt(counts[1].trim());
+                } catch (NumberFormatException e) {
+                    throw new Unknown();
+                }
+
+                position = end;
+            } else {
+                return atom;
+            }
+
+            position++;
+
+            boolean possessive = false;
+
+            if (peek('?')) {
+                position++;
+            } else if (peek('+')) {
+                position++;
+                possessive = true;
+            }
+
+            List<Node> children = new ArrayList<>();
+            children.add(atom);
+
+            Node repeat = new Node(Node.REPEAT, atom.start, position, children);
+            repeat.min = min;
+            repeat.max = max;
+            repeat.possessive = possessive;
+
+            atom = repeat;
+        }
+    }
+
+    private void skipClass() {
+        int depth = 0;
+
+        while (position < regex.length()) {
+            char c = regex.charAt(position++);
+
+            if (c == '\\') {
+                if (peek('Q')) {
+                    int end = regex.indexOf("\\E", position);
+                    position = end < 0 ? regex.length() : end + 2;
+                } else {
+                    position++;
+                }
+            } else if (c == '[') {
+                depth++;
+
+                if (peek('^')) position++;
+
+                // A bracket right after the opening one is a literal.
+                if (peek(']')) position++;
+            } else if (c == ']' && --depth == 0) {
+                return;
+            }
+        }
+
+        throw new Unknown();
+    }
+
+    private void skipBraces() {
+        skipPast('}');
+    }
+
+    private void skipPast(char c) {
+        int end = regex.indexOf(c, position);
+
+        if (end < 0) throw new Unknown();
+
+        position = end + 1;
+    }
+
+    private void skipComments() {
+        if ((flags & Pattern.COMMENTS) == 0) return;
+
+        while (position < regex.length()) {
+            char c = regex.charAt(position);
+
+            if (Character.isWhitespace(c)) {
+                position++;
+            } else if (c == '#') {
+                while (position < regex.length() && regex.charAt(position) != '\n') position++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private Node chars(int start, BitSet set) {
+        Node node = new Node(Node.CHARS, start, position, null);
+        node.set = set;
+        return node;
+    }
+
+    private BitSet literal(int codePoint) {
+        BitSet set = new BitSet();
+        set.set(Math.min(codePoint, SUPPLEMENTARY));
+
+        if ((flags & Pattern.CASE_INSENSITIVE) != 0
+                && ((flags & Pattern.UNICODE_CASE) != 0 || codePoint < 0x80)) {
+            set.set(Math.min(Character.toLowerCase(codePoint), SUPPLEMENTARY));
+            set.set(Math.min(Character.toUpperCase(codePoint), SUPPLEMENTARY));
+        }
+
+        return set;
+    }
+
+    /**
+     * @return the chars matched by a class, an escape or the dot, found by matching each
+     * char of the Basic Multilingual Plane, and a few supplementary ones, with the flags of
+     * the pattern.
+     */
+    private BitSet classSet(String text) {
+        String key = flags + ":" + text;
+        BitSet set = CLASSES.get(key);
+
+        if (set != null) return set;
+
+        Matcher matcher;
+
+        try {
+            matcher = Pattern.compile(text, flags).matcher("");
+        } catch (RuntimeException e) {
+            throw new Unknown();
+        }
+
+        set = new BitSet(SUPPLEMENTARY + 1);
+        char[] chars = new char[2];
+        CharBuffer buffer = CharBuffer.wrap(chars);
+
+        for (int c = 0; c < SUPPLEMENTARY; c++) {
+            chars[0] = (char) c;
+            buffer.clear().limit(1);
+
+            if (matcher.reset(buffer).matches()) set.set(c);
+        }
+
+        for (int codePoint : new int[] { 0x10000, 0x1D400, 0x1F600, 0x20000 }) {
+            Character.toChars(codePoint, chars, 0);
+            buffer.clear();
+
+            if (matcher.reset(buffer).matches()) set.set(SUPPLEMENTARY);
+        }
+
+        CLASSES.put(key, set);
+
+        return set;
+    }
+
+    private boolean peek(char c) {
+        return position < regex.length() && regex.charAt(position) == c;
+    }
+
+    private void expect(char c) {
+        if (!peek(c)) throw new Unknown();
+        position++;
+    }
+
+    private static final class Node {
+
+        static final int CHARS = 0;
+        static final int SEQUENCE = 1;
+        static final int ALTERNATION = 2;
+        static final int REPEAT = 3;
+        static final int GROUP = 4;
+        static final int LOOKAROUND = 5;
+        static final int ANCHOR = 6;
+        static final int BACKREFERENCE = 7;
+        static final int ATOMIC = 8;
+
+        final int type;
+        final int start;
+        final int end;
+        final List<Node> children;
+        BitSet set;
+        int min;
+        int max;
+        boolean possessive;
+
+        Node(int type, int start, int end, List<Node> children) {
+            this.type = type;
+            this.start = start;
+            this.end = end;
+            this.children = children;
+        }
+
+        Node body() {
+            return children.get(0);
+        }
+    }
+
+    /**
+     * Aborts the analysis of a pattern the parser does not understand.
+     */
+    private static final class Unknown extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        // Caught by analyze(), the stack trace is never needed.
+        @Override public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+}
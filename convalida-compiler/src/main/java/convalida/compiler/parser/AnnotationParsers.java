@@ -36,6 +36,8 @@ import convalida.annotations.ValidateOnClick;
 import convalida.compiler.internal.QualifiedId;
 import convalida.compiler.model.CommonValidationParameters;
 import convalida.compiler.model.ValidationField;
+import convalida.core.engine.Dfa;
+import convalida.core.engine.PasswordPolicy;
 
 import static convalida.compiler.internal.AndroidResourceSanner.elementToQualifiedId;
 import static convalida.compiler.internal.AndroidResourceSanner.getId;
@@ -44,6 +46,7 @@ import static convalida.compiler.util.Messager.error;
 import static convalida.compiler.util.Messager.logParsingError;
 import static convalida.compiler.util.Preconditions.confirmValidationElementsHasError;
 import static convalida.compiler.util.Preconditions.hasMoreThanOneMethodsAnnotatedWith;
+import static convalida.compiler.util.Preconditions.hasUnsafePattern;
 import static convalida.compiler.util.Preconditions.isInaccessible;
 import static convalida.compiler.util.Preconditions.isInvalid;
 import static convalida.compiler.util.Preconditions.methodHasZeroOrOneParameterOfType;
@@ -512,6 +515,15 @@ public class AnnotationParsers {
             Set<Element> parents,
             List<ValidationField> fields
     ) {
+        String pattern = element.getAnnotation(Pattern.class).pattern();
+
+        // Patterns in the regular subset run on an automaton, which does not backtrack. Skipping
+        // the analysis for them is only sound because PatternRule compiles the same pattern with
+        // Dfa.compile at runtime and matches it on the automaton; keep both in step.
+        if (hasUnsafePattern(Pattern.class, element, pattern, Dfa.compile(pattern) == null)) {
+            return;
+        }
+
         CommonValidationParameters parameters = new CommonValidationParameters(
                 Pattern.class,
                 element,
@@ -557,6 +569,20 @@ public class AnnotationParsers {
             Set<Element> parents,
             List<ValidationField> fields
     ) {
+        String pattern = element.getAnnotation(Password.class).pattern();
+
+        // Known password patterns are checked by a policy, without a regex. Skipping the analysis
+        // for them is only sound because PasswordRule picks PasswordPolicy.forPattern at runtime
+        // too; keep both in step.
+        boolean hasError = !pattern.isEmpty() && hasUnsafePattern(
+                Password.class,
+                element,
+                pattern,
+                PasswordPolicy.forPattern(pattern) == null
+        );
+
+        if (hasError) return;
+
         CommonValidationParameters parameters = new CommonValidationParameters(
                 Password.class,
                 element,
@@ -43,6 +43,14 @@ public class Messager {
     }
 
     public static void error(Element element, String message, Object... args) {
+        print(Diagnostic.Kind.ERROR, element, message, args);
+    }
+
+    public static void warning(Element element, String message, Object... args) {
+        print(Diagnostic.Kind.WARNING, element, message, args);
+    }
+
+    private static void print(Diagnostic.Kind kind, Element element, String message, Object... args) {
         if (args.length > 0) {
             message = String.format(message, args);
         }
@@ -51,7 +59,7 @@ public class Messager {
                 "javax.annotation.processing.Messager messager property is not initialized."
         );
 
-        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+        messager.printMessage(kind, message, element);
     }
 
 }
@@ -5,9 +5,14 @@ import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import convalida.compiler.internal.RegexAnalyzer;
 
 import static convalida.compiler.util.Constants.EDIT_TEXT;
 import static convalida.compiler.util.Messager.error;
+import static convalida.compiler.util.Messager.warning;
 import static javax.lang.model.element.ElementKind.CLASS;
 import static javax.lang.model.element.ElementKind.FIELD;
 import static javax.lang.model.element.Modifier.PRIVATE;
@@ -248,4 +253,73 @@ public class Preconditions {
         return hasError;
     }
 
+    /**
+     * Verifies that the pattern of a validation compiles, and looks for constructs which make
+     * the regex engine backtrack on values which do not match, freezing the UI thread. The
+     * exponential ones are errors and the polynomial ones are warnings.
+     *
+     * @param backtracks false when the pattern does not run on a backtracking regex engine at
+     * runtime, so only its syntax is verified. Callers must decide it the way the runtime
+     * picks its engine, otherwise unsafe patterns go unreported.
+     */
+    public static boolean hasUnsafePattern(
+            Class<? extends Annotation> annotationClass,
+            Element element,
+            String pattern,
+            boolean backtracks
+    ) {
+        TypeElement enclosingElement = (TypeElement) element.getEnclosingElement();
+
+        try {
+            Pattern.compile(pattern);
+        } catch (PatternSyntaxException e) {
+            error(
+                    element,
+                    "@%s has an invalid pattern: %s (%s.%s)",
+                    annotationClass.getSimpleName(),
+                    e.getMessage(),
+                    enclosingElement.getQualifiedName(),
+                    element.getSimpleName()
+            );
+
+            return true;
+        }
+
+        if (!backtracks) return false;
+
+        RegexAnalyzer.Finding finding = RegexAnalyzer.analyze(pattern);
+
+        switch (finding.risk) {
+            case EXPONENTIAL:
+                error(
+                        element,
+                        "The pattern of @%s can take exponential time on values which do not match, "
+                                + "as \"%s\" %s. Make each char match in one way only, or use a "
+                                + "possessive quantifier. (%s.%s)",
+                        annotationClass.getSimpleName(),
+                        finding.construct,
+                        finding.reason,
+                        enclosingElement.getQualifiedName(),
+                        element.getSimpleName()
+                );
+
+                return true;
+            case POLYNOMIAL:
+                warning(
+                        element,
+                        "The pattern of @%s can take polynomial time on values which do not match, "
+                                + "as \"%s\" %s. (%s.%s)",
+                        annotationClass.getSimpleName(),
+                        finding.construct,
+                        finding.reason,
+                        enclosingElement.getQualifiedName(),
+                        element.getSimpleName()
+                );
+
+                return false;
+            default:
+                return false;
+        }
+    }
+
 }
@@ -0,0 +1,130 @@
+package convalida.compiler;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import static com.google.testing.compile.Compiler.javac;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PatternAnalysisTest {
+
+    private static Compilation compilation;
+
+    /**
+     * The processor keeps static state, so all the cases are fields of a single form compiled
+     * once. The generated code does not compile without the validators, only the diagnostics
+     * about the patterns are checked.
+     */
+    @BeforeClass public static void compile() {
+        // Word boundaries keep the patterns off the automaton, so they are analyzed.
+        JavaFileObject form = JavaFileObjects.forSourceLines("test.Form",
+                "package test;",
+                "",
+                "import android.widget.Button;",
+                "import android.widget.EditText;",
+                "import convalida.annotations.OnValidationError;",
+                "import convalida.annotations.OnValidationSuccess;",
+                "import convalida.annotations.Pattern;",
+                "import convalida.annotations.ValidateOnClick;",
+                "",
+                "public class Form {",
+                field("repeatedRepetition", "\\b(a+)+$"),
+                field("possessiveRepetition", "\\b(a++)+$"),
+                field("overlappingAlternatives", "\\b(a|aa)+$"),
+                field("distinctAlternatives", "\\b(a|ab)+$"),
+                field("ambiguousEnd", "\\b(\\d+,\\d+)+$"),
+                field("delimitedEnd", "\\b(\\d+,)+$"),
+                field("overlappingPair", "\\b\\d+\\.?\\d+"),
+                field("delimitedPair", "\\b\\d+\\.\\d+"),
+                field("automaton", "(a|aa)+"),
+                field("invalid", "(a"),
+                "    @ValidateOnClick Button button;",
+                "    @OnValidationSuccess public void onValidationSuccess() { }",
+                "    @OnValidationError public void onValidationError() { }",
+                "}");
+
+        compilation = javac()
+                .withOptions("-Aandroid.databinding.enableV2=0")
+                .withProcessors(new ConvalidaProcessor())
+                .compile(form);
+    }
+
+    @Test public void repeatedRepetitions() {
+        assertError("repeatedRepetition", "\"(a+)+\" repeats an expression which is itself repeated");
+        assertClean("possessiveRepetition");
+    }
+
+    @Test public void repeatedOverlappingAlternatives() {
+        assertError("overlappingAlternatives", "\"(a|aa)+\" repeats alternatives which can match the same text");
+        assertClean("distinctAlternatives");
+    }
+
+    @Test public void repeatedRepetitionsWithAmbiguousEnds() {
+        assertError("ambiguousEnd", "\"(\\d+,\\d+)+\" repeats a repetition whose end is ambiguous");
+        assertClean("delimitedEnd");
+    }
+
+    @Test public void consecutiveOverlappingRepetitions() {
+        List<String> warnings = messagesAbout("overlappingPair", Diagnostic.Kind.WARNING);
+
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0), warnings.get(0).contains("polynomial time"));
+        assertTrue(messagesAbout("overlappingPair", Diagnostic.Kind.ERROR).isEmpty());
+        assertClean("delimitedPair");
+    }
+
+    @Test public void patternsRunOnTheAutomatonAreNotAnalyzed() {
+        assertClean("automaton");
+    }
+
+    @Test public void invalidPatterns() {
+        List<String> errors = messagesAbout("invalid", Diagnostic.Kind.ERROR);
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).contains("@Pattern has an invalid pattern"));
+    }
+
+    private static String field(String name, String pattern) {
+        return "    @Pattern(pattern = \"" + pattern.replace("\\", "\\\\")
+                + "\", errorMessage = \"Invalid\") EditText " + name + ";";
+    }
+
+    private static void assertError(String field, String reason) {
+        List<String> errors = messagesAbout(field, Diagnostic.Kind.ERROR);
+
+        assertEquals(field, 1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).contains("exponential time"));
+        assertTrue(errors.get(0), errors.get(0).contains(reason));
+    }
+
+    private static void assertClean(String field) {
+        assertEquals(field, new ArrayList<String>(), messagesAbout(field, Diagnostic.Kind.ERROR));
+        assertEquals(field, new ArrayList<String>(), messagesAbout(field, Diagnostic.Kind.WARNING));
+    }
+
+    private static List<String> messagesAbout(String field, Diagnostic.Kind kind) {
+        List<String> messages = new ArrayList<>();
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : compilation.diagnostics()) {
+            String message = diagnostic.getMessage(Locale.ROOT);
+
+            if (diagnostic.getKind() == kind && message.contains("(test.Form." + field + ")")) {
+                messages.add(message);
+            }
+        }
+
+        return messages;
+    }
+
+}
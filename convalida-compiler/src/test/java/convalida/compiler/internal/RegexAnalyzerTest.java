@@ -0,0 +1,80 @@
+package convalida.compiler.internal;
+
+import org.junit.Test;
+
+import convalida.compiler.internal.RegexAnalyzer.Risk;
+
+import static org.junit.Assert.assertEquals;
+
+public class RegexAnalyzerTest {
+
+    @Test public void repeatedRepetitions() {
+        assertRisk(Risk.EXPONENTIAL, "(a+)+b", "(a+)+");
+        assertRisk(Risk.EXPONENTIAL, "^(\\w+\\s?)*$", "(\\w+\\s?)*");
+        assertRisk(Risk.EXPONENTIAL, "(?:x?a*)+y", "(?:x?a*)+");
+        assertRisk(Risk.POLYNOMIAL, "(a+){2,5}b", "(a+){2,5}");
+
+        assertRisk(Risk.NONE, "(a+b)+");
+        assertRisk(Risk.NONE, "(a++)+b");
+        assertRisk(Risk.NONE, "(?>a+)+b");
+        assertRisk(Risk.NONE, "(a{3})+b");
+    }
+
+    @Test public void repeatedOverlappingAlternatives() {
+        assertRisk(Risk.EXPONENTIAL, "(\\w|\\d)+$", "(\\w|\\d)+");
+        assertRisk(Risk.EXPONENTIAL, "(a|a)*b", "(a|a)*");
+        assertRisk(Risk.EXPONENTIAL, "(ab|a\\w)+c", "(ab|a\\w)+");
+        assertRisk(Risk.EXPONENTIAL, "(a|aa)+", "(a|aa)+");
+        assertRisk(Risk.EXPONENTIAL, "(\\d|\\d\\d)+$", "(\\d|\\d\\d)+");
+        assertRisk(Risk.EXPONENTIAL, "(?:ab|c|abc)+d", "(?:ab|c|abc)+");
+
+        assertRisk(Risk.NONE, "(a|b)+");
+        assertRisk(Risk.NONE, "(ab|ac)+");
+        assertRisk(Risk.NONE, "(a|ab)+");
+        assertRisk(Risk.NONE, "(x(a|aa))+");
+        assertRisk(Risk.NONE, "(\\d|\\d\\d)?$");
+    }
+
+    @Test public void repeatedRepetitionsWithAmbiguousEnds() {
+        assertRisk(Risk.EXPONENTIAL, "(([a-z])+.)+[A-Z]", "(([a-z])+.)+");
+        assertRisk(Risk.EXPONENTIAL, "(\\d+,\\d+)+$", "(\\d+,\\d+)+");
+        assertRisk(Risk.EXPONENTIAL, "(a+x?a)+b", "(a+x?a)+");
+        assertRisk(Risk.POLYNOMIAL, "^(?=\\w)(.*a){12}$", "(.*a){12}");
+        assertRisk(Risk.POLYNOMIAL, "^(?=\\w)(.*,){8}x$", "(.*,){8}");
+
+        assertRisk(Risk.NONE, "([a-z]+;)+");
+        assertRisk(Risk.NONE, "(\\d+,)+$");
+        assertRisk(Risk.NONE, "(a+x)+b");
+    }
+
+    @Test public void consecutiveOverlappingRepetitions() {
+        assertRisk(Risk.POLYNOMIAL, "\\d+\\.?\\d+", "\\d+\\.?\\d+");
+        assertRisk(Risk.POLYNOMIAL, "^\\w*\\d*$", "\\w*\\d*");
+        assertRisk(Risk.POLYNOMIAL, "\\s*\\w*\\s*=", "\\s*\\w*\\s*");
+
+        assertRisk(Risk.NONE, "\\d+\\.\\d+");
+        assertRisk(Risk.NONE, "[a-z]+\\d+");
+        assertRisk(Risk.NONE, "\\d++\\.?\\d+");
+        assertRisk(Risk.NONE, "[a-z]+(\\.[a-z]+)*");
+    }
+
+    @Test public void safePatterns() {
+        assertRisk(Risk.NONE, "[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}");
+        assertRisk(Risk.NONE, "^\\(\\d{2}\\) \\d{4,5}-\\d{4}$");
+        assertRisk(Risk.NONE, "(?i)[a-z]+");
+        assertRisk(Risk.NONE, "\\Q(a+)+\\E");
+        assertRisk(Risk.NONE, "(");
+    }
+
+    private static void assertRisk(Risk risk, String regex) {
+        assertEquals(regex, risk, RegexAnalyzer.analyze(regex).risk);
+    }
+
+    private static void assertRisk(Risk risk, String regex, String construct) {
+        RegexAnalyzer.Finding finding = RegexAnalyzer.analyze(regex);
+
+        assertEquals(regex, risk, finding.risk);
+        assertEquals(regex, construct, finding.construct);
+    }
+
+}
@@ -0,0 +1,13 @@
+package convalida.core;
+
+/**
+ * Check of a single text value, independent of any view.
+ *
+ * Implementations are immutable and can be shared between threads, so the same rule can
+ * validate the fields of an Android form and the requests of a server.
+ */
+public interface Rule {
+
+    boolean isValid(CharSequence value);
+
+}
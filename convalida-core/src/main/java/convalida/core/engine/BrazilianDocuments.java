@@ -0,0 +1,184 @@
+package convalida.core.engine;
+
+/**
+ * Single pass checksum engine for Brazilian CPF and CNPJ numbers.
+ *
+ * Documents are read straight from the {@link CharSequence}, skipping the mask separators,
+ * and both check digits are accumulated while reading, so validating a document does not
+ * allocate.
+ *
+ * CNPJ numbers may use the alphanumeric format: the first twelve chars are digits or letters,
+ * valued by their ASCII code minus 48, and the two check digits stay numeric. Lower case
+ * letters are read as upper case.
+ */
+public final class BrazilianDocuments {
+
+    public static final int CPF_LENGTH = 11;
+    public static final int CNPJ_LENGTH = 14;
+
+    public static final String CPF_SEPARATORS = ".- ";
+    public static final String CNPJ_SEPARATORS = "./- ";
+
+    private static final int INVALID = -1;
+
+    // Weights of the first and the second check digit, by position.
+    private static final int[] CNPJ_WEIGHTS_1 = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+    private static final int[] CNPJ_WEIGHTS_2 = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+
+    // Can not be instantiated
+    private BrazilianDocuments() { }
+
+    public static boolean isValidCpf(CharSequence value) {
+        int count = 0;
+        int sum1 = 0;
+        int sum2 = 0;
+        int first = 0;
+        int dv1 = 0;
+        int dv2 = 0;
+        boolean repeated = true;
+        boolean sequence = true;
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c == '.' || c == '-' || c == ' ') continue;
+            if (c < '0' || c > '9' || count == CPF_LENGTH) return false;
+
+            int digit = c - '0';
+
+            if (count == 0) {
+                first = digit;
+            } else if (digit != first) {
+                repeated = false;
+            }
+
+            // 123.456.789-09 passes the checksum but is a well known fake number.
+            if (count < 9 ? digit != count + 1 : digit != (count == 9 ? 0 : 9)) {
+                sequence = false;
+            }
+
+            if (count < 9) {
+                sum1 += digit * (10 - count);
+                sum2 += digit * (11 - count);
+            } else if (count == 9) {
+                dv1 = digit;
+                sum2 += digit * 2;
+            } else {
+                dv2 = digit;
+            }
+
+            count++;
+        }
+
+        return count == CPF_LENGTH
+                && !repeated
+                && !sequence
+                && dv1 == checkDigit(sum1)
+                && dv2 == checkDigit(sum2);
+    }
+
+    public static boolean isValidCnpj(CharSequence value) {
+        int count = 0;
+        int sum1 = 0;
+        int sum2 = 0;
+        int first = 0;
+        int dv1 = 0;
+        int dv2 = 0;
+        boolean repeated = true;
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c == '.' || c == '/' || c == '-' || c == ' ') continue;
+            if (count == CNPJ_LENGTH) return false;
+
+            int charValue = count < 12 ? alphanumericValue(c) : digitValue(c);
+
+            if (charValue == INVALID) return false;
+
+            if (count == 0) {
+                first = charValue;
+            } else if (charValue != first) {
+                repeated = false;
+            }
+
+            if (count < 12) {
+                sum1 += charValue * CNPJ_WEIGHTS_1[count];
+                sum2 += charValue * CNPJ_WEIGHTS_2[count];
+            } else if (count == 12) {
+                dv1 = charValue;
+                sum2 += charValue * CNPJ_WEIGHTS_2[count];
+            } else {
+                dv2 = charValue;
+            }
+
+            count++;
+        }
+
+        return count == CNPJ_LENGTH
+                && !repeated
+                && dv1 == checkDigit(sum1)
+                && dv2 == checkDigit(sum2);
+    }
+
+    /**
+     * Validates many CPF numbers at once.
+     *
+     * @param results receives the result of each document, at the same index.
+     * @return the number of valid documents.
+     */
+    public static int validateCpfs(CharSequence[] documents, boolean[] results) {
+        checkBatch(documents, results);
+
+        int valid = 0;
+
+        for (int i = 0; i < documents.length; i++) {
+            results[i] = isValidCpf(documents[i]);
+            if (results[i]) valid++;
+        }
+
+        return valid;
+    }
+
+    /**
+     * Validates many CNPJ numbers at once.
+     *
+     * @param results receives the result of each document, at the same index.
+     * @return the number of valid documents.
+     */
+    public static int validateCnpjs(CharSequence[] documents, boolean[] results) {
+        checkBatch(documents, results);
+
+        int valid = 0;
+
+        for (int i = 0; i < documents.length; i++) {
+            results[i] = isValidCnpj(documents[i]);
+            if (results[i]) valid++;
+        }
+
+        return valid;
+    }
+
+    private static void checkBatch(CharSequence[] documents, boolean[] results) {
+        if (results.length < documents.length) {
+            throw new IllegalArgumentException("results must have room for every document.");
+        }
+    }
+
+    private static int checkDigit(int sum) {
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+
+    private static int digitValue(char c) {
+        return c >= '0' && c <= '9' ? c - '0' : INVALID;
+    }
+
+    private static int alphanumericValue(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'A' && c <= 'Z') return c - '0';
+        if (c >= 'a' && c <= 'z') return c - 'a' + 'A' - '0';
+        return INVALID;
+    }
+
+}
@@ -0,0 +1,20 @@
+package convalida.core.engine;
+
+/**
+ * Thrown when a match goes over its {@link MatchBudget}. The value is neither valid nor
+ * invalid: the validation was aborted.
+ */
+public class BudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BudgetExceededException(String message) {
+        super(message);
+    }
+
+    // Thrown to abort a match, the stack trace is never needed.
+    @Override public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
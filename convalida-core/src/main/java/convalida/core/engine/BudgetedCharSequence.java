@@ -0,0 +1,77 @@
+package convalida.core.engine;
+
+/**
+ * View of a value which counts the chars a matcher reads, and aborts the match with a
+ * {@link BudgetExceededException} once it reads more than its {@link MatchBudget} allows or
+ * runs for longer. The clock is only read every {@value #CLOCK_INTERVAL} chars.
+ *
+ * Instances are reset for each match and are not thread safe.
+ */
+public final class BudgetedCharSequence implements CharSequence {
+
+    static final int CLOCK_INTERVAL = 1024;
+
+    private CharSequence value = "";
+    private long steps;
+    private long maxSteps;
+    private long nextClockCheck;
+    private long deadline;
+    private boolean timed;
+
+    /**
+     * Starts a new match of the value. The length is not checked here, see
+     * {@link MatchBudget#checkLength(CharSequence)}.
+     */
+    public BudgetedCharSequence reset(CharSequence value, MatchBudget budget) {
+        this.value = value;
+        this.steps = 0;
+        this.maxSteps = budget.getMaxSteps();
+        this.nextClockCheck = CLOCK_INTERVAL;
+        this.timed = budget.getMaxNanos() != MatchBudget.UNLIMITED;
+        this.deadline = timed ? System.nanoTime() + budget.getMaxNanos() : 0;
+        return this;
+    }
+
+    /**
+     * Drops the reference to the value of the last match.
+     */
+    public void release() {
+        this.value = "";
+    }
+
+    /**
+     * @return the chars read since the last reset.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    @Override public int length() {
+        return value.length();
+    }
+
+    @Override public char charAt(int index) {
+        if (++steps > maxSteps) {
+            throw new BudgetExceededException("The match read more than " + maxSteps + " chars.");
+        }
+
+        if (steps == nextClockCheck) {
+            nextClockCheck += CLOCK_INTERVAL;
+
+            if (timed && System.nanoTime() - deadline > 0) {
+                throw new BudgetExceededException("The match ran out of time.");
+            }
+        }
+
+        return value.charAt(index);
+    }
+
+    @Override public CharSequence subSequence(int start, int end) {
+        return value.subSequence(start, end);
+    }
+
+    @Override public String toString() {
+        return value.toString();
+    }
+
+}
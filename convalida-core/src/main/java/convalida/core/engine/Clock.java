@@ -0,0 +1,53 @@
+package convalida.core.engine;
+
+import java.util.TimeZone;
+
+/**
+ * Source of the current instant and time zone, read by relative date limits to find out
+ * which day is today. Replace it to pin today in tests.
+ */
+public abstract class Clock {
+
+    private static final Clock SYSTEM = new Clock() {
+        @Override public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override public TimeZone getTimeZone() {
+            return TimeZone.getDefault();
+        }
+    };
+
+    /**
+     * @return the clock of the device, in its default time zone.
+     */
+    public static Clock system() {
+        return SYSTEM;
+    }
+
+    /**
+     * @return a clock which is always at the given instant.
+     */
+    public static Clock fixed(final long millis, final TimeZone timeZone) {
+        return new Clock() {
+            @Override public long currentTimeMillis() {
+                return millis;
+            }
+
+            @Override public TimeZone getTimeZone() {
+                return timeZone;
+            }
+        };
+    }
+
+    /**
+     * @return milliseconds since 1970-01-01T00:00Z.
+     */
+    public abstract long currentTimeMillis();
+
+    /**
+     * @return the zone which tells where each day starts. Only read when the day changes.
+     */
+    public abstract TimeZone getTimeZone();
+
+}
@@ -0,0 +1,122 @@
+package convalida.core.engine;
+
+import java.util.Arrays;
+
+/**
+ * Sets of code points kept as sorted, disjoint and non adjacent ranges, flattened into
+ * {@code [first0, last0, first1, last1, ...]} arrays. Used while compiling patterns only.
+ */
+final class CodePointSet {
+
+    static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+
+    static final int[] EMPTY = {};
+
+    static final int[] DIGITS = { '0', '9' };
+
+    static final int[] WORD_CHARS = { '0', '9', 'A', 'Z', '_', '_', 'a', 'z' };
+
+    static final int[] SPACES = { '\t', '\r', ' ', ' ' };
+
+    // Chars which the dot does not match.
+    static final int[] LINE_TERMINATORS = {
+            '\n', '\n', '\r', '\r', '\u0085', '\u0085', '\u2028', '\u2029'
+    };
+
+    // Can not be instantiated
+    private CodePointSet() { }
+
+    static int[] of(int codePoint) {
+        return new int[] { codePoint, codePoint };
+    }
+
+    static int[] range(int first, int last) {
+        return new int[] { first, last };
+    }
+
+    static boolean isSingle(int[] set) {
+        return set.length == 2 && set[0] == set[1];
+    }
+
+    static int[] union(int[] a, int[] b) {
+        int[] ranges = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, ranges, a.length, b.length);
+        return normalize(ranges);
+    }
+
+    static int[] complement(int[] set) {
+        int[] result = new int[set.length + 2];
+        int size = 0;
+        int next = 0;
+
+        for (int i = 0; i < set.length; i += 2) {
+            if (set[i] > next) {
+                result[size++] = next;
+                result[size++] = set[i] - 1;
+            }
+
+            next = set[i + 1] + 1;
+        }
+
+        if (next <= MAX_CODE_POINT) {
+            result[size++] = next;
+            result[size++] = MAX_CODE_POINT;
+        }
+
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Adds the other case of the ASCII letters of the set, as the case insensitive flag
+     * does without Unicode case folding.
+     */
+    static int[] foldAsciiCase(int[] set) {
+        int[] folded = set;
+
+        for (int i = 0; i < set.length; i += 2) {
+            folded = union(folded, shift(set[i], set[i + 1], 'a', 'z', 'A' - 'a'));
+            folded = union(folded, shift(set[i], set[i + 1], 'A', 'Z', 'a' - 'A'));
+        }
+
+        return folded;
+    }
+
+    private static int[] shift(int first, int last, int from, int to, int offset) {
+        int start = Math.max(first, from);
+        int end = Math.min(last, to);
+
+        return start > end ? EMPTY : range(start + offset, end + offset);
+    }
+
+    /**
+     * Sorts the ranges and merges the overlapping and adjacent ones.
+     */
+    private static int[] normalize(int[] ranges) {
+        int count = ranges.length / 2;
+        long[] packed = new long[count];
+
+        for (int i = 0; i < count; i++) {
+            packed[i] = (long) ranges[2 * i] << 32 | ranges[2 * i + 1];
+        }
+
+        Arrays.sort(packed);
+
+        int[] result = new int[ranges.length];
+        int size = 0;
+
+        for (long range : packed) {
+            int first = (int) (range >>> 32);
+            int last = (int) range;
+
+            if (size > 0 && first <= result[size - 1] + 1) {
+                result[size - 1] = Math.max(result[size - 1], last);
+            } else {
+                result[size++] = first;
+                result[size++] = last;
+            }
+        }
+
+        return Arrays.copyOf(result, size);
+    }
+
+}
@@ -0,0 +1,208 @@
+package convalida.core.engine;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Limit of a date rule, as an epoch day. The limit is either a fixed date written in the
+ * date format, such as {@code 01/01/2000}, or an expression relative to today, such as
+ * {@code today}, {@code today-18y} or {@code today+90d}.
+ *
+ * Relative expressions add or subtract amounts of days ({@code d}), weeks ({@code w}),
+ * months ({@code m}) and years ({@code y}), like {@code today-1y+6m}. Months and years are
+ * applied first, keeping the day of month when it exists and otherwise moving to the last
+ * day of the month, then weeks and days.
+ *
+ * Today is read from a {@link Clock} and cached with the limit until the day changes in the
+ * clock's time zone, so reading the limit is a comparison of the clock with the cached
+ * bounds of the day.
+ */
+public abstract class DateLimit {
+
+    public static final String TODAY = "today";
+
+    private static final long MILLIS_PER_DAY = 86400000;
+
+    private static final int MAX_AMOUNT_DIGITS = 6;
+
+    /**
+     * @param parser parser of the date format, used for fixed limits.
+     * @throws IllegalArgumentException when the limit is neither a date in the format nor a
+     * valid relative expression.
+     */
+    public static DateLimit parse(String limitDate, String dateFormat, DateParser parser, Clock clock) {
+        if (isRelative(limitDate)) return Relative.parse(limitDate, clock);
+
+        return new Fixed(parseFixed(limitDate, dateFormat, parser));
+    }
+
+    /**
+     * @return true when the limit is an expression relative to today, valid or not.
+     */
+    public static boolean isRelative(String limitDate) {
+        return limitDate.startsWith(TODAY);
+    }
+
+    /**
+     * @return the epoch day of the limit.
+     */
+    public abstract long epochDay();
+
+    /**
+     * Limits are written by developers, so they are also read leniently, as they were
+     * before typed dates became strict, in the locale of the parser.
+     */
+    private static long parseFixed(String limitDate, String dateFormat, DateParser parser) {
+        long limit = parser.parseEpochDay(limitDate);
+
+        if (limit != DateParser.INVALID) return limit;
+
+        SimpleDateFormat format = new SimpleDateFormat(dateFormat, parser.locale);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        Date date = format.parse(limitDate, new ParsePosition(0));
+
+        if (date == null) {
+            throw new IllegalArgumentException(
+                    "limitDate \"" + limitDate + "\" does not match the format " + dateFormat);
+        }
+
+        return DateParser.epochDayOf(date.getTime());
+    }
+
+    private static final class Fixed extends DateLimit {
+
+        private final long epochDay;
+
+        Fixed(long epochDay) {
+            this.epochDay = epochDay;
+        }
+
+        @Override public long epochDay() {
+            return epochDay;
+        }
+    }
+
+    private static final class Relative extends DateLimit {
+
+        private final Clock clock;
+        private final long months;
+        private final long days;
+
+        private volatile Day day;
+
+        private Relative(Clock clock, long months, long days) {
+            this.clock = clock;
+            this.months = months;
+            this.days = days;
+        }
+
+        static Relative parse(String expression, Clock clock) {
+            long months = 0;
+            long days = 0;
+            int length = expression.length();
+            int i = TODAY.length();
+
+            while (i < length) {
+                char sign = expression.charAt(i++);
+                long amount = 0;
+                int digitsStart = i;
+
+                while (i < length && expression.charAt(i) >= '0' && expression.charAt(i) <= '9') {
+                    amount = amount * 10 + expression.charAt(i++) - '0';
+                }
+
+                int digits = i - digitsStart;
+
+                if (sign != '+' && sign != '-' || digits == 0 || digits > MAX_AMOUNT_DIGITS
+                        || i == length) {
+                    throw invalidExpression(expression);
+                }
+
+                if (sign == '-') amount = -amount;
+
+                switch (expression.charAt(i++)) {
+                    case 'd': days += amount; break;
+                    case 'w': days += 7 * amount; break;
+                    case 'm': months += amount; break;
+                    case 'y': months += 12 * amount; break;
+                    default: throw invalidExpression(expression);
+                }
+            }
+
+            return new Relative(clock, months, days);
+        }
+
+        @Override public long epochDay() {
+            long now = clock.currentTimeMillis();
+            Day cached = day;
+
+            if (cached == null || now < cached.start || now >= cached.end) {
+                cached = new Day(now, clock.getTimeZone(), months, days);
+                day = cached;
+            }
+
+            return cached.limit;
+        }
+
+        private static IllegalArgumentException invalidExpression(String expression) {
+            return new IllegalArgumentException("limitDate \"" + expression
+                    + "\" is not a valid expression such as today, today-18y or today+90d");
+        }
+    }
+
+    /**
+     * Today in a time zone, bounded by the instants where it starts and ends, with the limit
+     * relative to it.
+     */
+    private static final class Day {
+
+        final long start;
+        final long end;
+        final long limit;
+
+        Day(long now, TimeZone timeZone, long months, long days) {
+            int offset = timeZone.getOffset(now);
+            long epochDay = DateParser.epochDayOf(now + offset);
+
+            this.limit = plusMonths(epochDay, months) + days;
+
+            // Offsets are read again at the bounds, which may be on the other side of a
+            // daylight saving change.
+            long localStart = epochDay * MILLIS_PER_DAY;
+            long localEnd = localStart + MILLIS_PER_DAY;
+
+            this.start = localStart - timeZone.getOffset(localStart - offset);
+            this.end = localEnd - timeZone.getOffset(localEnd - offset);
+        }
+    }
+
+    /**
+     * Adds months to an epoch day, clamping the day of month to the length of the resulting
+     * month.
+     */
+    private static long plusMonths(long epochDay, long months) {
+        if (months == 0) return epochDay;
+
+        // Civil date from days, with years starting in March so leap days come last.
+        long z = epochDay + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int dayOfMonth = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        long total = year * 12 + month - 1 + months;
+        int newYear = (int) (total >= 0 ? total / 12 : (total - 11) / 12);
+        int newMonth = (int) (total - newYear * 12L) + 1;
+
+        return DateParser.toEpochDay(newYear, newMonth,
+                Math.min(dayOfMonth, DateParser.lengthOfMonth(newYear, newMonth)));
+    }
+
+}
@@ -0,0 +1,240 @@
+package convalida.core.engine;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Parses dates typed in a pattern into epoch days, the number of days since 1970-01-01, so
+ * rules compare plain longs instead of {@link Date}s.
+ *
+ * Patterns made only of {@code dd}, {@code MM}, {@code yyyy} and literal separators, such as
+ * {@code dd/MM/yyyy}, are parsed by a digit parser which does not allocate. Like
+ * {@link SimpleDateFormat}, it accepts days and months of one or two digits, such as
+ * {@code 1/1/2000}, unless the field is directly followed by another one. Other patterns fall
+ * back to a strict {@link SimpleDateFormat} per thread.
+ *
+ * Incomplete or impossible dates, such as {@code 01/1} or {@code 31/02/2000}, are rejected
+ * by returning {@link #INVALID}, never by throwing.
+ */
+public abstract class DateParser {
+
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long DAYS_0000_TO_1970 = 719528;
+
+    private static final long MILLIS_PER_DAY = 86400000;
+
+    private static final int MAX_YEAR = 9999;
+
+    /**
+     * Locale the pattern was compiled with, also used to read the limits written in it.
+     */
+    final Locale locale;
+
+    DateParser(Locale locale) {
+        this.locale = locale;
+    }
+
+    public static DateParser compile(String pattern) {
+        return compile(pattern, Locale.getDefault());
+    }
+
+    /**
+     * @param locale used by patterns with text fields, such as month names.
+     */
+    public static DateParser compile(String pattern, Locale locale) {
+        DateParser parser = FixedWidth.tryCompile(pattern, locale);
+        return parser != null ? parser : new General(pattern, locale);
+    }
+
+    /**
+     * @return the epoch day of the value, or {@link #INVALID}.
+     */
+    public abstract long parseEpochDay(CharSequence value);
+
+    /**
+     * @return true when values are parsed without allocating.
+     */
+    public abstract boolean isFixedWidth();
+
+    /**
+     * @return the epoch day of a valid date of the proleptic Gregorian calendar.
+     */
+    public static long toEpochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+
+        total += (367 * month - 362) / 12 + day - 1;
+
+        if (month > 2) total -= isLeapYear(year) ? 1 : 2;
+
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * @return the epoch day holding the given instant in UTC.
+     */
+    public static long epochDayOf(long millis) {
+        long day = millis / MILLIS_PER_DAY;
+        return millis < 0 && millis % MILLIS_PER_DAY != 0 ? day - 1 : day;
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2: return isLeapYear(year) ? 29 : 28;
+            case 4: case 6: case 9: case 11: return 30;
+            default: return 31;
+        }
+    }
+
+    private static final class FixedWidth extends DateParser {
+
+        private final String pattern;
+
+        private FixedWidth(String pattern, Locale locale) {
+            super(locale);
+            this.pattern = pattern;
+        }
+
+        /**
+         * @return the parser, or null when the pattern has other fields than two digit
+         * days and months and four digit years, or lacks one of them.
+         */
+        static FixedWidth tryCompile(String pattern, Locale locale) {
+            boolean day = false;
+            boolean month = false;
+            boolean year = false;
+
+            for (int i = 0, length = pattern.length(); i < length; ) {
+                char c = pattern.charAt(i);
+                int run = 1;
+
+                while (i + run < length && pattern.charAt(i + run) == c) run++;
+
+                if (c == 'd' && run == 2 && !day) {
+                    day = true;
+                } else if (c == 'M' && run == 2 && !month) {
+                    month = true;
+                } else if (c == 'y' && run == 4 && !year) {
+                    year = true;
+                } else if (Character.isLetter(c) || c == '\'') {
+                    return null;
+                }
+
+                i += run;
+            }
+
+            if (!day || !month || !year) return null;
+
+            return new FixedWidth(pattern, locale);
+        }
+
+        @Override public long parseEpochDay(CharSequence value) {
+            int patternLength = pattern.length();
+            int length = value.length();
+
+            if (length > patternLength || length < patternLength - 2) return INVALID;
+
+            int day = 0;
+            int month = 0;
+            int year = 0;
+            int at = 0;
+
+            for (int i = 0; i < patternLength; ) {
+                char field = pattern.charAt(i);
+
+                if (!isField(field)) {
+                    if (at == length || value.charAt(at) != field) return INVALID;
+                    at++;
+                    i++;
+                    continue;
+                }
+
+                int width = field == 'y' ? 4 : 2;
+                boolean abutting = i + width < patternLength && isField(pattern.charAt(i + width));
+                int minimum = field == 'y' || abutting ? width : 1;
+                int result = 0;
+                int count = 0;
+
+                while (count < width && at < length) {
+                    char c = value.charAt(at);
+
+                    if (c < '0' || c > '9') break;
+
+                    result = result * 10 + c - '0';
+                    at++;
+                    count++;
+                }
+
+                if (count < minimum) return INVALID;
+
+                if (field == 'd') {
+                    day = result;
+                } else if (field == 'M') {
+                    month = result;
+                } else {
+                    year = result;
+                }
+
+                i += width;
+            }
+
+            if (at != length) return INVALID;
+
+            if (year < 1 || year > MAX_YEAR || month < 1 || month > 12) return INVALID;
+            if (day < 1 || day > lengthOfMonth(year, month)) return INVALID;
+
+            return toEpochDay(year, month, day);
+        }
+
+        @Override public boolean isFixedWidth() {
+            return true;
+        }
+
+        private static boolean isField(char c) {
+            return c == 'd' || c == 'M' || c == 'y';
+        }
+    }
+
+    private static final class General extends DateParser {
+
+        private final ThreadLocal<SimpleDateFormat> format;
+
+        General(final String pattern, final Locale locale) {
+            super(locale);
+
+            // Fails on invalid patterns now rather than on the first typed value.
+            new SimpleDateFormat(pattern, locale);
+
+            this.format = new ThreadLocal<SimpleDateFormat>() {
+                @Override protected SimpleDateFormat initialValue() {
+                    SimpleDateFormat format = new SimpleDateFormat(pattern, locale);
+                    format.setLenient(false);
+                    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+                    return format;
+                }
+            };
+        }
+
+        @Override public long parseEpochDay(CharSequence value) {
+            String text = value.toString();
+            ParsePosition position = new ParsePosition(0);
+            Date date = format.get().parse(text, position);
+
+            if (date == null || position.getIndex() != text.length()) return INVALID;
+
+            return epochDayOf(date.getTime());
+        }
+
+        @Override public boolean isFixedWidth() {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package convalida.core.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable decimal number filled by a {@link DecimalParser}, so parsing the text of a field
+ * does not allocate.
+ *
+ * Numbers with up to 18 significant digits are kept as an unscaled long and a scale, and
+ * compared exactly with long arithmetic. Longer numbers fall back to a {@link BigDecimal}.
+ *
+ * Instances are not thread safe: each thread parses into its own.
+ */
+public final class Decimal {
+
+    static final int MAX_COMPACT_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_COMPACT_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final long OVERFLOW = Long.MIN_VALUE;
+
+    private long unscaled;
+    private int scale;
+    private BigDecimal big;
+
+    void set(long unscaled, int scale) {
+        this.unscaled = unscaled;
+        this.scale = scale;
+        this.big = null;
+    }
+
+    void set(BigDecimal big) {
+        this.big = big;
+    }
+
+    /**
+     * @return true when the number is held in a long, without a {@link BigDecimal}.
+     */
+    public boolean isCompact() {
+        return big == null;
+    }
+
+    public int signum() {
+        return big != null ? big.signum() : Long.signum(unscaled);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return big != null ? big : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Compares the values, ignoring the scale, like {@link BigDecimal#compareTo(BigDecimal)}.
+     */
+    public int compareTo(Decimal other) {
+        if (big != null || other.big != null) return toBigDecimal().compareTo(other.toBigDecimal());
+
+        int sign = Long.signum(unscaled);
+        int otherSign = Long.signum(other.unscaled);
+
+        if (sign != otherSign) return sign < otherSign ? -1 : 1;
+        if (sign == 0 || scale == other.scale) return compare(unscaled, other.unscaled);
+
+        // The value with the smaller scale is scaled up. When it overflows, its magnitude is
+        // the larger one.
+        if (scale < other.scale) {
+            long scaled = scaleUp(unscaled, (long) other.scale - scale);
+            return scaled != OVERFLOW ? compare(scaled, other.unscaled) : sign;
+        }
+
+        long scaled = scaleUp(other.unscaled, (long) scale - other.scale);
+        return scaled != OVERFLOW ? compare(unscaled, scaled) : -sign;
+    }
+
+    @Override public String toString() {
+        return toBigDecimal().toString();
+    }
+
+    private static long scaleUp(long value, long digits) {
+        if (digits > MAX_COMPACT_DIGITS) return OVERFLOW;
+
+        long power = POWERS_OF_TEN[(int) digits];
+
+        if (Math.abs(value) > Long.MAX_VALUE / power) return OVERFLOW;
+
+        return value * power;
+    }
+
+    private static int compare(long a, long b) {
+        return a < b ? -1 : a == b ? 0 : 1;
+    }
+
+}
@@ -0,0 +1,39 @@
+package convalida.core.engine;
+
+import static convalida.core.util.CharSequences.contentEquals;
+
+/**
+ * Remembers the last text it parsed and its number, so a field compared with others many
+ * times is parsed again only when its text changes. Checking the text costs a scan of its
+ * chars, without allocating.
+ *
+ * Instances are not thread safe, and are meant to be owned by a single validator.
+ */
+public final class DecimalCache {
+
+    private final DecimalParser parser;
+    private final StringBuilder text = new StringBuilder();
+    private final Decimal decimal = new Decimal();
+    private boolean parsed;
+    private boolean valid;
+
+    public DecimalCache(DecimalParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * @return the number of the value, or null when it is not a number. The returned
+     * instance is reused by the next call.
+     */
+    public Decimal get(CharSequence value) {
+        if (!parsed || !contentEquals(text, value)) {
+            text.setLength(0);
+            text.append(value);
+            valid = parser.parse(value, decimal);
+            parsed = true;
+        }
+
+        return valid ? decimal : null;
+    }
+
+}
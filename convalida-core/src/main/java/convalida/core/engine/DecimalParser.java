@@ -0,0 +1,222 @@
+package convalida.core.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Single pass parser of decimal numbers into a {@link Decimal}. Malformed numbers are
+ * rejected by returning false, never by throwing.
+ *
+ * The {@link #plain()} parser accepts what {@link BigDecimal#BigDecimal(String)} accepts:
+ * an optional sign, digits with an optional dot and an optional exponent, as in
+ * {@code -1.5} or {@code 2e3}. Locale parsers accept the decimal separator, grouping
+ * separator and minus sign of the locale instead, as in {@code 1.234,5} for pt-BR. Grouping
+ * separators are optional, but when used they must split the integer digits in groups of
+ * three.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class DecimalParser {
+
+    private static final DecimalParser PLAIN = new DecimalParser('.', "", '-', true);
+
+    private static final int GROUP_DIGITS = 3;
+
+    private final char decimalSeparator;
+    private final String groupingSeparators;
+    private final char minusSign;
+    private final boolean exponents;
+
+    private DecimalParser(
+            char decimalSeparator,
+            String groupingSeparators,
+            char minusSign,
+            boolean exponents
+    ) {
+        this.decimalSeparator = decimalSeparator;
+        this.groupingSeparators = groupingSeparators;
+        this.minusSign = minusSign;
+        this.exponents = exponents;
+    }
+
+    public static DecimalParser plain() {
+        return PLAIN;
+    }
+
+    /**
+     * Locales grouping with a no-break space also accept a plain space, which is what
+     * keyboards type.
+     */
+    public static DecimalParser forLocale(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        char grouping = symbols.getGroupingSeparator();
+        String groupingSeparators = String.valueOf(grouping);
+
+        if (grouping == '\u00a0' || grouping == '\u202f') groupingSeparators += ' ';
+
+        return new DecimalParser(
+                symbols.getDecimalSeparator(),
+                groupingSeparators,
+                symbols.getMinusSign(),
+                false
+        );
+    }
+
+    /**
+     * Parses a number written by a developer, such as a limit of a rule.
+     *
+     * @throws IllegalArgumentException when the value is not a number.
+     */
+    public Decimal valueOf(String value) {
+        Decimal decimal = new Decimal();
+
+        if (!parse(value, decimal)) {
+            throw new IllegalArgumentException("\"" + value + "\" is not a number");
+        }
+
+        return decimal;
+    }
+
+    /**
+     * @param into receives the number, and is left in an unspecified state when the value
+     * is not a number.
+     * @return true when the whole value is a number.
+     */
+    public boolean parse(CharSequence value, Decimal into) {
+        int length = value.length();
+        int i = 0;
+
+        if (length == 0) return false;
+
+        char first = value.charAt(0);
+        boolean negative = first == '-' || first == minusSign;
+
+        if (negative || first == '+') i++;
+
+        int mantissaStart = i;
+        long unscaled = 0;
+        int significantDigits = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        int groupDigits = -1;
+        boolean fraction = false;
+        long exponent = 0;
+
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            int digit = digitValue(c);
+
+            if (digit >= 0) {
+                digits++;
+
+                if (fraction) {
+                    fractionDigits++;
+                } else if (groupDigits >= 0) {
+                    groupDigits++;
+                }
+
+                // Leading zeros are not significant.
+                if (unscaled != 0 || digit != 0) {
+                    if (++significantDigits <= Decimal.MAX_COMPACT_DIGITS) {
+                        unscaled = unscaled * 10 + digit;
+                    }
+                }
+            } else if (c == decimalSeparator && !fraction) {
+                if (groupDigits >= 0 && groupDigits != GROUP_DIGITS) return false;
+
+                fraction = true;
+            } else if (groupingSeparators.indexOf(c) >= 0 && !fraction && digits > 0) {
+                if (groupDigits >= 0 ? groupDigits != GROUP_DIGITS : digits > GROUP_DIGITS) {
+                    return false;
+                }
+
+                groupDigits = 0;
+            } else if ((c == 'e' || c == 'E') && exponents && digits > 0) {
+                exponent = parseExponent(value, i + 1, length);
+
+                if (exponent == Long.MIN_VALUE) return false;
+
+                break;
+            } else {
+                return false;
+            }
+        }
+
+        if (digits == 0 || !fraction && groupDigits >= 0 && groupDigits != GROUP_DIGITS) {
+            return false;
+        }
+
+        long scale = fractionDigits - exponent;
+
+        if (scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) return false;
+
+        if (significantDigits > Decimal.MAX_COMPACT_DIGITS) {
+            into.set(toBigDecimal(value, mantissaStart, i, negative, (int) scale));
+        } else {
+            into.set(negative ? -unscaled : unscaled, (int) scale);
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the signed exponent, or {@link Long#MIN_VALUE} when it is missing or does not
+     * fit an int.
+     */
+    private static long parseExponent(CharSequence value, int start, int end) {
+        int i = start;
+        boolean negative = false;
+
+        if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            negative = value.charAt(i++) == '-';
+        }
+
+        if (i == end) return Long.MIN_VALUE;
+
+        long exponent = 0;
+
+        for (; i < end; i++) {
+            int digit = digitValue(value.charAt(i));
+
+            if (digit < 0) return Long.MIN_VALUE;
+
+            exponent = exponent * 10 + digit;
+
+            if (exponent > Integer.MAX_VALUE) return Long.MIN_VALUE;
+        }
+
+        return negative ? -exponent : exponent;
+    }
+
+    /**
+     * Slow path for numbers with too many significant digits for a long.
+     */
+    private static BigDecimal toBigDecimal(
+            CharSequence value,
+            int start,
+            int end,
+            boolean negative,
+            int scale
+    ) {
+        StringBuilder digits = new StringBuilder(end - start + 1);
+
+        if (negative) digits.append('-');
+
+        for (int i = start; i < end; i++) {
+            int digit = digitValue(value.charAt(i));
+            if (digit >= 0) digits.append((char) ('0' + digit));
+        }
+
+        return new BigDecimal(new BigInteger(digits.toString()), scale);
+    }
+
+    // Digits of other scripts are accepted, as BigDecimal does.
+    private static int digitValue(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c < 0x80) return -1;
+        return Character.digit(c, 10);
+    }
+
+}
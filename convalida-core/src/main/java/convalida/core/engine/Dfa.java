@@ -0,0 +1,166 @@
+package convalida.core.engine;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic finite automaton compiled from a regular expression, matching whole values
+ * in linear time with one table lookup per char.
+ *
+ * Only the regular subset of {@link Pattern} is compiled: literals, escapes, the dot, char
+ * classes, groups, alternations, greedy and lazy quantifiers, and anchors at the edges of
+ * the pattern. Backreferences, lookarounds, possessive quantifiers, boundaries, inline
+ * flags and flags other than {@link Pattern#CASE_INSENSITIVE} are not, and neither are
+ * patterns whose automaton would be too large. {@link #compile(String, int)} returns null
+ * for them, so callers fall back to {@link Pattern}.
+ *
+ * Values are read by code point, as {@link Pattern} does. Instances are immutable and can be
+ * shared between threads; each thread matches incrementally with its own
+ * {@link IncrementalMatcher}.
+ */
+public final class Dfa {
+
+    /**
+     * State of the values which can not match, whatever follows them.
+     */
+    static final int DEAD = 0;
+
+    private static final int ASCII = 128;
+
+    private final int start;
+    private final int classCount;
+    private final int[] classStarts;
+    private final int[] asciiClasses;
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    Dfa(int start, int[] classStarts, int[] transitions, boolean[] accepting) {
+        this.start = start;
+        this.classCount = classStarts.length;
+        this.classStarts = classStarts;
+        this.transitions = transitions;
+        this.accepting = accepting;
+        this.asciiClasses = new int[ASCII];
+
+        for (int c = 0; c < ASCII; c++) {
+            asciiClasses[c] = searchClass(c);
+        }
+    }
+
+    public static Dfa compile(String regex) {
+        return compile(regex, 0);
+    }
+
+    /**
+     * @param flags 0 or {@link Pattern#CASE_INSENSITIVE}.
+     * @return the automaton, or null when the pattern or the flags are not supported.
+     */
+    public static Dfa compile(String regex, int flags) {
+        if ((flags & ~Pattern.CASE_INSENSITIVE) != 0) return null;
+
+        return DfaCompiler.compile(regex, flags != 0);
+    }
+
+    public int getStateCount() {
+        return accepting.length;
+    }
+
+    public boolean matches(CharSequence value) {
+        int state = start;
+
+        for (int i = 0, length = value.length(); i < length && state != DEAD; ) {
+            int codePoint = Character.codePointAt(value, i);
+
+            state = next(state, codePoint);
+            i += Character.charCount(codePoint);
+        }
+
+        return accepting[state];
+    }
+
+    public IncrementalMatcher newMatcher() {
+        return new IncrementalMatcher(this);
+    }
+
+    int next(int state, int codePoint) {
+        int charClass = codePoint < ASCII ? asciiClasses[codePoint] : searchClass(codePoint);
+        return transitions[state * classCount + charClass];
+    }
+
+    private int searchClass(int codePoint) {
+        int index = Arrays.binarySearch(classStarts, codePoint);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Matches successive values of the same field, such as the text after each keystroke.
+     *
+     * The matcher keeps a copy of the last value and the state after each of its chars.
+     * A new value is compared with the copy, and only the chars after their common prefix
+     * go through the automaton: appending a char costs one transition, and deleting the
+     * last one costs none.
+     *
+     * Instances are not thread safe.
+     */
+    public static final class IncrementalMatcher {
+
+        private final Dfa dfa;
+        private final StringBuilder text = new StringBuilder();
+        private int[] states = new int[16];
+
+        IncrementalMatcher(Dfa dfa) {
+            this.dfa = dfa;
+            this.states[0] = dfa.start;
+        }
+
+        public boolean matches(CharSequence value) {
+            return dfa.accepting[feed(value)];
+        }
+
+        /**
+         * @return true when the value, or the value followed by more chars, may match.
+         */
+        public boolean canMatch(CharSequence value) {
+            return feed(value) != DEAD;
+        }
+
+        /**
+         * @return the state after the value.
+         */
+        private int feed(CharSequence value) {
+            int length = value.length();
+            int common = 0;
+            int max = Math.min(length, text.length());
+
+            while (common < max && text.charAt(common) == value.charAt(common)) common++;
+
+            // The state between the two chars of a surrogate pair is not kept.
+            if (common > 0 && Character.isHighSurrogate(text.charAt(common - 1))) common--;
+
+            if (states.length <= length) {
+                states = Arrays.copyOf(states, Math.max(length + 1, 2 * states.length));
+            }
+
+            text.setLength(common);
+
+            int state = states[common];
+
+            for (int i = common; i < length; ) {
+                int codePoint = Character.codePointAt(value, i);
+                int count = Character.charCount(codePoint);
+
+                state = state == DEAD ? DEAD : dfa.next(state, codePoint);
+
+                for (int j = 0; j < count; j++) {
+                    text.append(value.charAt(i + j));
+                    states[i + j + 1] = state;
+                }
+
+                i += count;
+            }
+
+            return state;
+        }
+    }
+
+}
@@ -0,0 +1,641 @@
+package convalida.core.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the regular subset of {@link java.util.regex.Pattern} syntax into a {@link Dfa}:
+ * the pattern is parsed into a tree, the tree into a Thompson NFA, and the NFA into a DFA by
+ * subset construction over the classes of code points the pattern tells apart.
+ *
+ * Patterns are expected to be valid, as callers compile them with {@link
+ * java.util.regex.Pattern} first. Anything outside the subset, and automata above the size
+ * limits, abort the compilation.
+ */
+final class DfaCompiler {
+
+    private static final int MAX_NFA_STATES = 4096;
+    private static final int MAX_DFA_STATES = 1024;
+    private static final int MAX_REPETITIONS = 1000;
+
+    private final String regex;
+    private final boolean caseInsensitive;
+    private int position;
+
+    // NFA: a state has either a set of code points leading to the next state, or epsilon
+    // transitions.
+    private final List<int[]> sets = new ArrayList<>();
+    private final List<Integer> targets = new ArrayList<>();
+    private final List<int[]> epsilons = new ArrayList<>();
+
+    private DfaCompiler(String regex, boolean caseInsensitive) {
+        this.regex = regex;
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    /**
+     * @return the automaton, or null when the pattern is not supported.
+     */
+    static Dfa compile(String regex, boolean caseInsensitive) {
+        DfaCompiler compiler = new DfaCompiler(regex, caseInsensitive);
+
+        try {
+            Node root = compiler.parseAlternation(0);
+
+            if (compiler.position != regex.length()) return null;
+
+            int accept = compiler.newState();
+            int start = compiler.build(root, accept);
+
+            return compiler.toDfa(start, accept);
+        } catch (Unsupported e) {
+            return null;
+        }
+    }
+
+    // Parser
+
+    private Node parseAlternation(int depth) {
+        List<Node> alternatives = new ArrayList<>();
+        alternatives.add(parseSequence(depth));
+
+        while (position < regex.length() && regex.charAt(position) == '|') {
+            position++;
+            alternatives.add(parseSequence(depth));
+        }
+
+        return alternatives.size() == 1 ? alternatives.get(0) : Node.alternation(alternatives);
+    }
+
+    private Node parseSequence(int depth) {
+        List<Node> items = new ArrayList<>();
+
+        while (position < regex.length()) {
+            char c = regex.charAt(position);
+
+            if (c == '|' || c == ')') break;
+
+            // Whole value matching makes anchors at the edges of the pattern always true.
+            if (c == '^' && depth == 0 && items.isEmpty()) {
+                position++;
+                continue;
+            }
+
+            if (c == '$' && depth == 0 && (position + 1 == regex.length()
+                    || regex.charAt(position + 1) == '|')) {
+                position++;
+                continue;
+            }
+
+            items.add(parseQuantifier(parseAtom(depth)));
+        }
+
+        return items.size() == 1 ? items.get(0) : Node.sequence(items);
+    }
+
+    private Node parseAtom(int depth) {
+        char c = regex.charAt(position);
+
+        switch (c) {
+            case '(':
+                position++;
+
+                if (position < regex.length() && regex.charAt(position) == '?') {
+                    if (position + 1 < regex.length() && regex.charAt(position + 1) == ':') {
+                        position += 2;
+                    } else {
+                        throw new Unsupported();
+                    }
+                }
+
+                Node group = parseAlternation(depth + 1);
+                expect(')');
+                return group;
+            case '[':
+                position++;
+                return Node.chars(parseClass());
+            case '.':
+                position++;
+                return Node.chars(CodePointSet.complement(CodePointSet.LINE_TERMINATORS));
+            case '\\':
+                position++;
+                return Node.chars(parseEscape());
+            case '^': case '$': case '*': case '+': case '?': case '{':
+                throw new Unsupported();
+            default:
+                int codePoint = regex.codePointAt(position);
+                position += Character.charCount(codePoint);
+                return Node.chars(fold(CodePointSet.of(codePoint)));
+        }
+    }
+
+    /**
+     * Parses the quantifier after the atom, if any. {@link java.util.regex.Pattern} does not
+     * nest stacked quantifiers such as {@code a{1}{2}} or {@code a?{2}} the way an automaton
+     * would, so they are not supported.
+     */
+    private Node parseQuantifier(Node atom) {
+        if (position < regex.length()) {
+            char c = regex.charAt(position);
+            int min;
+            int max;
+
+            if (c == '*') {
+                min = 0;
+                max = -1;
+            } else if (c == '+') {
+                min = 1;
+                max = -1;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+            } else if (c == '{') {
+                position++;
+                min = parseCount();
+                max = min;
+
+                if (peek(',')) {
+                    position++;
+                    max = peek('}') ? -1 : parseCount();
+                }
+
+                if (!peek('}') || max >= 0 && max < min) throw new Unsupported();
+            } else {
+                return atom;
+            }
+
+            position++;
+
+            // Lazy quantifiers match the same whole values. Possessive ones do not.
+            if (peek('?')) {
+                position++;
+            } else if (peek('+')) {
+                throw new Unsupported();
+            }
+
+            if (peek('*') || peek('+') || peek('?') || peek('{')) throw new Unsupported();
+
+            atom = Node.repeat(atom, min, max);
+        }
+
+        return atom;
+    }
+
+    private int parseCount() {
+        int start = position;
+        int count = 0;
+
+        while (position < regex.length() && Character.isDigit(regex.charAt(position))) {
+            count = count * 10 + regex.charAt(position++) - '0';
+
+            if (count > MAX_REPETITIONS) throw new Unsupported();
+        }
+
+        if (position == start) throw new Unsupported();
+
+        return count;
+    }
+
+    private int[] parseClass() {
+        boolean negated = peek('^');
+
+        if (negated) position++;
+
+        // A leading bracket and nested or intersected classes are left to Pattern.
+        if (peek(']')) throw new Unsupported();
+
+        int[] set = CodePointSet.EMPTY;
+
+        while (true) {
+            if (position == regex.length()) throw new Unsupported();
+
+            char c = regex.charAt(position);
+
+            if (c == ']') {
+                position++;
+                break;
+            }
+
+            if (c == '[' || c == '&' && position + 1 < regex.length()
+                    && regex.charAt(position + 1) == '&') {
+                throw new Unsupported();
+            }
+
+            int[] item = parseClassChar();
+
+            if (CodePointSet.isSingle(item) && peek('-') && position + 1 < regex.length()
+                    && regex.charAt(position + 1) != ']') {
+                position++;
+
+                int[] last = parseClassChar();
+
+                if (!CodePointSet.isSingle(last) || last[0] < item[0]) throw new Unsupported();
+
+                item = CodePointSet.range(item[0], last[0]);
+            }
+
+            set = CodePointSet.union(set, item);
+        }
+
+        set = fold(set);
+
+        return negated ? CodePointSet.complement(set) : set;
+    }
+
+    private int[] parseClassChar() {
+        if (regex.charAt(position) == '\\') {
+            position++;
+            return parseEscape();
+        }
+
+        int codePoint = regex.codePointAt(position);
+        position += Character.charCount(codePoint);
+
+        return CodePointSet.of(codePoint);
+    }
+
+    private int[] parseEscape() {
+        if (position == regex.length()) throw new Unsupported();
+
+        char c = regex.charAt(position++);
+
+        switch (c) {
+            case 'd': return CodePointSet.DIGITS;
+            case 'D': return CodePointSet.complement(CodePointSet.DIGITS);
+            case 'w': return CodePointSet.WORD_CHARS;
+            case 'W': return CodePointSet.complement(CodePointSet.WORD_CHARS);
+            case 's': return CodePointSet.SPACES;
+            case 'S': return CodePointSet.complement(CodePointSet.SPACES);
+            case 't': return CodePointSet.of('\t');
+            case 'n': return CodePointSet.of('\n');
+            case 'r': return CodePointSet.of('\r');
+            case 'f': return CodePointSet.of('\f');
+            case 'a': return CodePointSet.of('\u0007');
+            case 'e': return CodePointSet.of('\u001b');
+            case 'x': return fold(CodePointSet.of(parseHex(2)));
+            case 'u': return fold(CodePointSet.of(parseHex(4)));
+            default:
+                // Other letters and digits are boundaries, references or classes left to
+                // Pattern. Any other escaped char stands for itself.
+                if (c < 0x80 && Character.isLetterOrDigit(c)) throw new Unsupported();
+
+                return fold(CodePointSet.of(c));
+        }
+    }
+
+    private int parseHex(int digits) {
+        if (position + digits > regex.length()) throw new Unsupported();
+
+        int value = 0;
+
+        for (int i = 0; i < digits; i++) {
+            int digit = Character.digit(regex.charAt(position++), 16);
+
+            if (digit < 0) throw new Unsupported();
+
+            value = value * 16 + digit;
+        }
+
+        // Escaped surrogates may pair with the next escape in Pattern.
+        if (value >= Character.MIN_SURROGATE && value <= Character.MAX_SURROGATE) {
+            throw new Unsupported();
+        }
+
+        return value;
+    }
+
+    private int[] fold(int[] set) {
+        return caseInsensitive ? CodePointSet.foldAsciiCase(set) : set;
+    }
+
+    private boolean peek(char c) {
+        return position < regex.length() && regex.charAt(position) == c;
+    }
+
+    private void expect(char c) {
+        if (!peek(c)) throw new Unsupported();
+        position++;
+    }
+
+    // NFA
+
+    private int newState() {
+        if (sets.size() == MAX_NFA_STATES) throw new Unsupported();
+
+        sets.add(null);
+        targets.add(-1);
+        epsilons.add(new int[0]);
+
+        return sets.size() - 1;
+    }
+
+    private void addEpsilon(int from, int to) {
+        int[] current = epsilons.get(from);
+        int[] added = Arrays.copyOf(current, current.length + 1);
+        added[current.length] = to;
+        epsilons.set(from, added);
+    }
+
+    /**
+     * Builds the states of the node, leading to the given state.
+     *
+     * @return the first state of the node.
+     */
+    private int build(Node node, int next) {
+        switch (node.type) {
+            case Node.CHARS: {
+                int state = newState();
+                sets.set(state, node.set);
+                targets.set(state, next);
+                return state;
+            }
+            case Node.SEQUENCE: {
+                int first = next;
+
+                for (int i = node.children.size() - 1; i >= 0; i--) {
+                    first = build(node.children.get(i), first);
+                }
+
+                return first;
+            }
+            case Node.ALTERNATION: {
+                int state = newState();
+
+                for (Node child : node.children) {
+                    addEpsilon(state, build(child, next));
+                }
+
+                return state;
+            }
+            default:
+                return buildRepeat(node.children.get(0), node.min, node.max, next);
+        }
+    }
+
+    private int buildRepeat(Node child, int min, int max, int next) {
+        int first = next;
+
+        if (max < 0) {
+            // A loop state which either enters the child again or leaves.
+            int loop = newState();
+            addEpsilon(loop, build(child, loop));
+            addEpsilon(loop, next);
+            first = loop;
+        } else {
+            for (int i = min; i < max; i++) {
+                int optional = newState();
+                addEpsilon(optional, build(child, first));
+                addEpsilon(optional, next);
+                first = optional;
+            }
+        }
+
+        for (int i = 0; i < min; i++) {
+            first = build(child, first);
+        }
+
+        return first;
+    }
+
+    // DFA
+
+    private Dfa toDfa(int nfaStart, int accept) {
+        int nfaStates = sets.size();
+        int[] classStarts = classStarts();
+        int classCount = classStarts.length;
+
+        // Classes of code points leading out of each NFA state.
+        BitSet[] classesOf = new BitSet[nfaStates];
+
+        for (int state = 0; state < nfaStates; state++) {
+            int[] set = sets.get(state);
+
+            if (set == null) continue;
+
+            classesOf[state] = new BitSet(classCount);
+
+            for (int i = 0; i < set.length; i += 2) {
+                int from = Arrays.binarySearch(classStarts, set[i]);
+                int to = set[i + 1] == CodePointSet.MAX_CODE_POINT
+                        ? classCount
+                        : Arrays.binarySearch(classStarts, set[i + 1] + 1);
+
+                classesOf[state].set(from, to);
+            }
+        }
+
+        Map<BitSet, Integer> indexes = new HashMap<>();
+        List<BitSet> subsets = new ArrayList<>();
+        List<int[]> rows = new ArrayList<>();
+
+        BitSet dead = new BitSet();
+        indexes.put(dead, Dfa.DEAD);
+        subsets.add(dead);
+
+        BitSet start = closure(single(nfaStart));
+        int startIndex = indexOf(start, indexes, subsets);
+
+        for (int index = 0; index < subsets.size(); index++) {
+            BitSet subset = subsets.get(index);
+            int[] row = new int[classCount];
+
+            for (int charClass = 0; charClass < classCount; charClass++) {
+                BitSet moved = new BitSet(nfaStates);
+
+                for (int s = subset.nextSetBit(0); s >= 0; s = subset.nextSetBit(s + 1)) {
+                    if (classesOf[s] != null && classesOf[s].get(charClass)) {
+                        moved.set(targets.get(s));
+                    }
+                }
+
+                row[charClass] = moved.isEmpty()
+                        ? Dfa.DEAD
+                        : indexOf(closure(moved), indexes, subsets);
+            }
+
+            rows.add(row);
+        }
+
+        int stateCount = subsets.size();
+        boolean[] accepting = new boolean[stateCount];
+
+        for (int index = 0; index < stateCount; index++) {
+            accepting[index] = subsets.get(index).get(accept);
+        }
+
+        boolean[] live = liveStates(rows, accepting);
+        int[] transitions = new int[stateCount * classCount];
+
+        for (int index = 0; index < stateCount; index++) {
+            int[] row = rows.get(index);
+
+            for (int charClass = 0; charClass < classCount; charClass++) {
+                int target = row[charClass];
+                transitions[index * classCount + charClass] = live[target] ? target : Dfa.DEAD;
+            }
+        }
+
+        int dfaStart = live[startIndex] ? startIndex : Dfa.DEAD;
+
+        return new Dfa(dfaStart, classStarts, transitions, accepting);
+    }
+
+    /**
+     * @return the first code point of each class, where a class is a range of code points
+     * which no set of the pattern tells apart.
+     */
+    private int[] classStarts() {
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+
+        for (int[] set : sets) {
+            if (set == null) continue;
+
+            for (int i = 0; i < set.length; i += 2) {
+                bounds.add(set[i]);
+                if (set[i + 1] < CodePointSet.MAX_CODE_POINT) bounds.add(set[i + 1] + 1);
+            }
+        }
+
+        int[] starts = new int[bounds.size()];
+
+        for (int i = 0; i < starts.length; i++) starts[i] = bounds.get(i);
+
+        Arrays.sort(starts);
+
+        int size = 0;
+
+        for (int i = 0; i < starts.length; i++) {
+            if (size == 0 || starts[i] != starts[size - 1]) starts[size++] = starts[i];
+        }
+
+        return Arrays.copyOf(starts, size);
+    }
+
+    private BitSet single(int state) {
+        BitSet set = new BitSet();
+        set.set(state);
+        return set;
+    }
+
+    private BitSet closure(BitSet states) {
+        BitSet closure = (BitSet) states.clone();
+        int[] stack = new int[sets.size()];
+        int size = 0;
+
+        for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+            stack[size++] = s;
+        }
+
+        while (size > 0) {
+            for (int next : epsilons.get(stack[--size])) {
+                if (!closure.get(next)) {
+                    closure.set(next);
+                    stack[size++] = next;
+                }
+            }
+        }
+
+        return closure;
+    }
+
+    private static int indexOf(BitSet subset, Map<BitSet, Integer> indexes, List<BitSet> subsets) {
+        Integer index = indexes.get(subset);
+
+        if (index != null) return index;
+
+        if (subsets.size() == MAX_DFA_STATES) throw new Unsupported();
+
+        indexes.put(subset, subsets.size());
+        subsets.add(subset);
+
+        return subsets.size() - 1;
+    }
+
+    /**
+     * @return the states from which an accepting state can be reached.
+     */
+    private static boolean[] liveStates(List<int[]> rows, boolean[] accepting) {
+        boolean[] live = accepting.clone();
+        boolean changed = true;
+
+        while (changed) {
+            changed = false;
+
+            for (int index = 0; index < rows.size(); index++) {
+                if (live[index]) continue;
+
+                for (int target : rows.get(index)) {
+                    if (live[target]) {
+                        live[index] = true;
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return live;
+    }
+
+    private static final class Node {
+
+        static final int CHARS = 0;
+        static final int SEQUENCE = 1;
+        static final int ALTERNATION = 2;
+        static final int REPEAT = 3;
+
+        final int type;
+        final int[] set;
+        final List<Node> children;
+        final int min;
+        final int max;
+
+        private Node(int type, int[] set, List<Node> children, int min, int max) {
+            this.type = type;
+            this.set = set;
+            this.children = children;
+            this.min = min;
+            this.max = max;
+        }
+
+        static Node chars(int[] set) {
+            return new Node(CHARS, set, null, 0, 0);
+        }
+
+        static Node sequence(List<Node> children) {
+            return new Node(SEQUENCE, null, children, 0, 0);
+        }
+
+        static Node alternation(List<Node> children) {
+            return new Node(ALTERNATION, null, children, 0, 0);
+        }
+
+        /**
+         * @param max the maximum count, or -1 for no maximum.
+         */
+        static Node repeat(Node child, int min, int max) {
+            List<Node> children = new ArrayList<>();
+            children.add(child);
+            return new Node(REPEAT, null, children, min, max);
+        }
+    }
+
+    /**
+     * Aborts the compilation of a pattern outside the supported subset.
+     */
+    private static final class Unsupported extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        // Caught by compile(), the stack trace is never needed.
+        @Override public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+package convalida.core.engine;
+
+/**
+ * State machine parsers for textual IP addresses, reading the {@link CharSequence} in place.
+ *
+ * Parsed addresses are returned as primitive words: an IPv4 address as an unsigned 32 bit
+ * value in a long, an IPv6 address as its high and low 64 bits.
+ */
+public final class InetAddresses {
+
+    /**
+     * Returned by {@link #parseIpv4(CharSequence, int, int)} for invalid addresses.
+     */
+    public static final long INVALID = -1;
+
+    public static final int IPV4_BITS = 32;
+    public static final int IPV6_BITS = 128;
+
+    private static final int IPV4_OCTETS = 4;
+    private static final int IPV4_MAX_OCTET = 255;
+
+    private static final int IPV6_GROUPS = 8;
+    private static final int IPV6_MAX_GROUP_DIGITS = 4;
+
+    // Can not be instantiated
+    private InetAddresses() { }
+
+    public static boolean isValidIpv4(CharSequence value) {
+        return isValidIpv4(value, 0, value.length());
+    }
+
+    /**
+     * Dotted decimal IPv4 address between start and end. Octets have one to three digits,
+     * no leading zeros and at most 255.
+     */
+    public static boolean isValidIpv4(CharSequence value, int start, int end) {
+        return parseIpv4(value, start, end) != INVALID;
+    }
+
+    public static long parseIpv4(CharSequence value) {
+        return parseIpv4(value, 0, value.length());
+    }
+
+    /**
+     * @return the address as an unsigned 32 bit value, or {@link #INVALID}.
+     */
+    public static long parseIpv4(CharSequence value, int start, int end) {
+        long address = 0;
+        int octets = 0;
+        int octet = 0;
+        int digits = 0;
+        boolean leadingZero = false;
+
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? value.charAt(i) : '.';
+
+            if (c == '.') {
+                if (digits == 0 || ++octets > IPV4_OCTETS) return INVALID;
+
+                address = address << 8 | octet;
+                octet = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (digits == 1 && leadingZero) return INVALID;
+
+                leadingZero = digits == 0 && c == '0';
+                octet = octet * 10 + c - '0';
+
+                if (++digits > 3 || octet > IPV4_MAX_OCTET) return INVALID;
+            } else {
+                return INVALID;
+            }
+        }
+
+        return octets == IPV4_OCTETS ? address : INVALID;
+    }
+
+    public static boolean isValidIpv6(CharSequence value) {
+        return parseIpv6(value, 0, value.length(), true, null);
+    }
+
+    /**
+     * @see #parseIpv6(CharSequence, int, int, boolean, long[])
+     */
+    public static boolean parseIpv6(CharSequence value, long[] words) {
+        return parseIpv6(value, 0, value.length(), true, words);
+    }
+
+    /**
+     * Parses an IPv6 address between start and end: eight groups of one to four hex digits,
+     * one {@code ::} standing for one or more zero groups, an IPv4 address in place of the
+     * last two groups, and a {@code %zone} suffix when allowed.
+     *
+     * @param words receives the high and low 64 bits of the address, may be null when only
+     * validating. The zone is not part of the address.
+     * @return true when the address is valid.
+     */
+    public static boolean parseIpv6(
+            CharSequence value,
+            int start,
+            int end,
+            boolean allowZone,
+            long[] words
+    ) {
+        long high = 0;
+        long low = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int groups = 0;
+        int compressedAt = -1;
+        int group = 0;
+        int digits = 0;
+        boolean expectsGroup = false;
+
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            int hex = hexValue(c);
+
+            if (hex >= 0) {
+                if (++digits > IPV6_MAX_GROUP_DIGITS) return false;
+
+                group = group << 4 | hex;
+                expectsGroup = false;
+            } else if (c == ':') {
+                if (digits > 0) {
+                    if (groups == IPV6_GROUPS) return false;
+
+                    if (compressedAt < 0) {
+                        if (groups < 4) {
+                            high |= (long) group << 48 - 16 * groups;
+                        } else {
+                            low |= (long) group << 48 - 16 * (groups - 4);
+                        }
+                    } else {
+                        tailHigh = tailHigh << 16 | tailLow >>> 48;
+                        tailLow = tailLow << 16 | group;
+                    }
+
+                    groups++;
+                    group = 0;
+                    digits = 0;
+                    expectsGroup = true;
+                } else if (i > start && value.charAt(i - 1) == ':') {
+                    if (compressedAt >= 0) return false;
+
+                    compressedAt = groups;
+                    expectsGroup = false;
+                } else if (i + 1 == end || value.charAt(i + 1) != ':') {
+                    return false;
+                }
+            } else if (c == '.') {
+                // An embedded IPv4 address takes the place of the last two groups.
+                int ipv4Start = i - digits;
+                int ipv4End = allowZone ? indexOf(value, '%', i, end) : end;
+                long ipv4 = parseIpv4(value, ipv4Start, ipv4End);
+
+                if (ipv4 == INVALID || groups > IPV6_GROUPS - 2) return false;
+
+                if (compressedAt < 0) {
+                    low |= ipv4;
+                } else {
+                    tailHigh = tailHigh << 32 | tailLow >>> 32;
+                    tailLow = tailLow << 32 | ipv4;
+                }
+
+                groups += 2;
+                digits = 0;
+
+                if (ipv4End < end && !isValidZone(value, ipv4End + 1, end)) return false;
+
+                break;
+            } else if (c == '%' && allowZone) {
+                if (!isValidZone(value, i + 1, end)) return false;
+
+                end = i;
+            } else {
+                return false;
+            }
+        }
+
+        if (digits > 0) {
+            if (groups == IPV6_GROUPS) return false;
+
+            if (compressedAt < 0) {
+                low |= group;
+            } else {
+                tailHigh = tailHigh << 16 | tailLow >>> 48;
+                tailLow = tailLow << 16 | group;
+            }
+
+            groups++;
+        }
+
+        if (expectsGroup || (compressedAt < 0 ? groups != IPV6_GROUPS : groups >= IPV6_GROUPS)) {
+            return false;
+        }
+
+        if (words != null) {
+            words[0] = high | tailHigh;
+            words[1] = low | tailLow;
+        }
+
+        return true;
+    }
+
+    /**
+     * Zone identifiers may have any char but blanks, {@code /} and {@code %}.
+     */
+    private static boolean isValidZone(CharSequence value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c <= ' ' || c == '/' || c == '%') return false;
+        }
+
+        return start < end;
+    }
+
+    private static int indexOf(CharSequence value, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == c) return i;
+        }
+
+        return end;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+}
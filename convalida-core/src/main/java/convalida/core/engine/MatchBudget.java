@@ -0,0 +1,69 @@
+package convalida.core.engine;
+
+/**
+ * Limits on the work of a regular expression match: the length of the value, checked before
+ * the match starts, and the number of chars read and the time spent, checked while it runs
+ * through a {@link BudgetedCharSequence}. A match over the budget is aborted with a
+ * {@link BudgetExceededException}.
+ *
+ * Backtracking matchers can read the chars of a value an exponential number of times, so a
+ * pasted value and a pathological pattern can block the thread for seconds. A budget bounds
+ * that time, at the cost of aborting some matches which would have ended.
+ *
+ * Steps and time are counted as the matcher reads the value, which the JDK matcher does
+ * char by char. Matchers which copy the value first, such as the ICU based one of Android,
+ * are only bound by the length, which should then be picked for the slowest device.
+ */
+public final class MatchBudget {
+
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final int maxLength;
+    private final long maxSteps;
+    private final long maxNanos;
+
+    private MatchBudget(int maxLength, long maxSteps, long maxNanos) {
+        this.maxLength = maxLength;
+        this.maxSteps = maxSteps;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * @param maxLength the longest value matched, in chars.
+     * @param maxSteps the most chars read by a match, or {@link #UNLIMITED}.
+     * @param maxMillis the longest time spent by a match, or {@link #UNLIMITED}.
+     */
+    public static MatchBudget of(int maxLength, long maxSteps, long maxMillis) {
+        if (maxLength < 0 || maxSteps <= 0 || maxMillis <= 0) {
+            throw new IllegalArgumentException(
+                    "maxLength cannot be negative, and maxSteps and maxMillis must be positive.");
+        }
+
+        long maxNanos = maxMillis >= UNLIMITED / 1000000 ? UNLIMITED : maxMillis * 1000000;
+
+        return new MatchBudget(maxLength, maxSteps, maxNanos);
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public long getMaxSteps() {
+        return maxSteps;
+    }
+
+    long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @throws BudgetExceededException when the value is longer than the budget allows.
+     */
+    public void checkLength(CharSequence value) {
+        if (value.length() > maxLength) {
+            throw new BudgetExceededException(
+                    "The value has " + value.length() + " chars, more than " + maxLength + ".");
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package convalida.core.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static convalida.core.engine.PasswordScan.DIGIT;
+import static convalida.core.engine.PasswordScan.LETTER;
+import static convalida.core.engine.PasswordScan.LOWER;
+import static convalida.core.engine.PasswordScan.SINGLE_LINE;
+import static convalida.core.engine.PasswordScan.SYMBOL;
+import static convalida.core.engine.PasswordScan.UPPER;
+import static convalida.core.engine.PasswordScan.WORD;
+
+/**
+ * Password rules checked against a {@link PasswordScan}: a minimum length, the classes of
+ * chars which may appear, the classes which must appear and the longest run of one repeated
+ * char.
+ *
+ * Each required class is a mask of which at least one class must appear, so
+ * {@code new PasswordPolicy(8, 0, SINGLE_LINE, LETTER, DIGIT)} asks for at least eight chars
+ * with a letter of any case and a digit.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class PasswordPolicy {
+
+    private static final ThreadLocal<PasswordScan> SCAN = new ThreadLocal<PasswordScan>() {
+        @Override protected PasswordScan initialValue() {
+            return new PasswordScan();
+        }
+    };
+
+    // Policies matching the same passwords as the patterns of convalida.library.util.Patterns.
+    private static final Map<String, PasswordPolicy> PATTERNS = new HashMap<>();
+
+    static {
+        PATTERNS.put("^\\d+$", new PasswordPolicy(1, 0, DIGIT));
+        PATTERNS.put("\\w+", new PasswordPolicy(1, 0, WORD));
+        PATTERNS.put("^[a-z]+$", new PasswordPolicy(1, 0, LOWER));
+        PATTERNS.put("^[A-Z]+$", new PasswordPolicy(1, 0, UPPER));
+        PATTERNS.put("^(?=.*[a-z])(?=.*[A-Z]).{1,}+$",
+                new PasswordPolicy(1, 0, SINGLE_LINE, LOWER, UPPER));
+        PATTERNS.put("(?=.*[a-zA-Z])(?=.*[\\d]).+",
+                new PasswordPolicy(1, 0, SINGLE_LINE, LETTER, DIGIT));
+        PATTERNS.put("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z]).{1,}+$",
+                new PasswordPolicy(1, 0, SINGLE_LINE, DIGIT, LOWER, UPPER));
+        PATTERNS.put("(?=.*[a-z])(?=.*[A-Z])(?=.*[\\d]).+",
+                new PasswordPolicy(1, 0, SINGLE_LINE, LOWER, UPPER, DIGIT));
+        PATTERNS.put("(?=.*[a-z])(?=.*[A-Z])(?=.*[\\d])(?=.*([^\\w])).+",
+                new PasswordPolicy(1, 0, SINGLE_LINE, LOWER, UPPER, DIGIT, SYMBOL));
+    }
+
+    private final int minLength;
+    private final int maxRepeatedRun;
+    private final int allowedClasses;
+    private final int[] requiredClasses;
+
+    /**
+     * @param maxRepeatedRun longest run of one repeated char, or 0 for any.
+     * @param allowedClasses mask of the classes every char must belong to.
+     * @param requiredClasses masks of classes, each of which must have at least one char.
+     */
+    public PasswordPolicy(
+            int minLength,
+            int maxRepeatedRun,
+            int allowedClasses,
+            int... requiredClasses
+    ) {
+        this.minLength = minLength;
+        this.maxRepeatedRun = maxRepeatedRun;
+        this.allowedClasses = allowedClasses;
+        this.requiredClasses = requiredClasses.clone();
+    }
+
+    /**
+     * @return the policy equivalent to one of the password patterns of
+     * {@code convalida.library.util.Patterns}, or null for other patterns.
+     */
+    public static PasswordPolicy forPattern(String pattern) {
+        return PATTERNS.get(pattern);
+    }
+
+    public boolean isValid(CharSequence value) {
+        return isSatisfiedBy(SCAN.get().scan(value));
+    }
+
+    public boolean isSatisfiedBy(PasswordScan scan) {
+        int classes = scan.getClasses();
+
+        if (scan.getLength() < minLength || (classes & ~allowedClasses) != 0) return false;
+        if (maxRepeatedRun > 0 && scan.getLongestRun() > maxRepeatedRun) return false;
+
+        for (int required : requiredClasses) {
+            if ((classes & required) == 0) return false;
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,135 @@
+package convalida.core.engine;
+
+/**
+ * Statistics of a password gathered in one pass over its chars: the classes of chars it
+ * has, its length and its runs of repeated chars. A {@link PasswordPolicy} checks them, and
+ * {@link #getEntropyBits()} estimates the strength from them without scanning again.
+ *
+ * Instances are reused between scans and are not thread safe.
+ */
+public final class PasswordScan {
+
+    /** ASCII lower case letters. */
+    public static final int LOWER = 1;
+
+    /** ASCII upper case letters. */
+    public static final int UPPER = 1 << 1;
+
+    /** ASCII digits. */
+    public static final int DIGIT = 1 << 2;
+
+    /**
+     * The underscore is a class of its own, as regular expressions count it as a word char
+     * rather than a symbol.
+     */
+    public static final int UNDERSCORE = 1 << 3;
+
+    /** Any other char, including spaces and non ASCII letters, but line breaks. */
+    public static final int SYMBOL = 1 << 4;
+
+    /** Line breaks, which the {@code .} of regular expressions does not match. */
+    public static final int LINE_BREAK = 1 << 5;
+
+    public static final int LETTER = LOWER | UPPER;
+
+    public static final int WORD = LOWER | UPPER | DIGIT | UNDERSCORE;
+
+    /** Every class but line breaks. */
+    public static final int SINGLE_LINE = WORD | SYMBOL;
+
+    private static final int CLASS_COMBINATIONS = 1 << 6;
+
+    // Number of bits of one char drawn from the chars of the classes, by classes.
+    private static final double[] BITS_PER_CHAR = new double[CLASS_COMBINATIONS];
+
+    static {
+        for (int classes = 0; classes < CLASS_COMBINATIONS; classes++) {
+            int pool = 0;
+
+            if ((classes & LOWER) != 0) pool += 26;
+            if ((classes & UPPER) != 0) pool += 26;
+            if ((classes & DIGIT) != 0) pool += 10;
+            if ((classes & UNDERSCORE) != 0) pool += 1;
+            if ((classes & SYMBOL) != 0) pool += 32;
+            if ((classes & LINE_BREAK) != 0) pool += 1;
+
+            BITS_PER_CHAR[classes] = pool > 1 ? Math.log(pool) / Math.log(2) : 0;
+        }
+    }
+
+    private int classes;
+    private int length;
+    private int longestRun;
+    private int repeats;
+
+    public PasswordScan scan(CharSequence value) {
+        int classes = 0;
+        int longestRun = 0;
+        int repeats = 0;
+        int run = 0;
+        char previous = 0;
+        int length = value.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            classes |= classOf(c);
+
+            if (i > 0 && c == previous) {
+                run++;
+                repeats++;
+            } else {
+                run = 1;
+            }
+
+            if (run > longestRun) longestRun = run;
+
+            previous = c;
+        }
+
+        this.classes = classes;
+        this.length = length;
+        this.longestRun = longestRun;
+        this.repeats = repeats;
+
+        return this;
+    }
+
+    /**
+     * @return the classes of the chars of the password, as a mask of the class constants.
+     */
+    public int getClasses() {
+        return classes;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return the length of the longest run of one repeated char.
+     */
+    public int getLongestRun() {
+        return longestRun;
+    }
+
+    /**
+     * Estimated entropy of the password: each char which does not repeat the previous one
+     * adds the bits of a random pick from the classes found in the password.
+     */
+    public double getEntropyBits() {
+        return (length - repeats) * BITS_PER_CHAR[classes];
+    }
+
+    private static int classOf(char c) {
+        if (c >= 'a' && c <= 'z') return LOWER;
+        if (c >= 'A' && c <= 'Z') return UPPER;
+        if (c >= '0' && c <= '9') return DIGIT;
+        if (c == '_') return UNDERSCORE;
+        if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+            return LINE_BREAK;
+        }
+        return SYMBOL;
+    }
+
+}
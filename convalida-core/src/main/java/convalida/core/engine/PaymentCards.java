@@ -0,0 +1,191 @@
+package convalida.core.engine;
+
+/**
+ * Card number engine: Luhn checksum plus brand detection by issuer identification number.
+ *
+ * Brands are looked up with a binary search over sorted tables of six digit IIN ranges, each
+ * with the lengths its brand issues. The accepted brands and lengths are the ones of the
+ * default commons-validator CreditCardValidator. Spaces between digit groups are skipped and
+ * nothing is allocated.
+ */
+public final class PaymentCards {
+
+    public enum Brand { AMEX, VISA, MASTERCARD, DISCOVER }
+
+    private static final int IIN_DIGITS = 6;
+
+    private static final int MAX_LENGTH = 19;
+
+    // Sorted and non overlapping ranges of the first six digits.
+    private static final int[] IIN_LOW = {
+            222100, 340000, 370000, 400000, 510000, 601100, 644000
+    };
+
+    private static final int[] IIN_HIGH = {
+            272099, 349999, 379999, 499999, 559999, 601199, 659999
+    };
+
+    private static final Brand[] IIN_BRAND = {
+            Brand.MASTERCARD, Brand.AMEX, Brand.AMEX, Brand.VISA,
+            Brand.MASTERCARD, Brand.DISCOVER, Brand.DISCOVER
+    };
+
+    // Bit n is set when the brand issues numbers with n digits.
+    private static final int[] IIN_LENGTHS = {
+            1 << 16, 1 << 15, 1 << 15, 1 << 13 | 1 << 16, 1 << 16, 1 << 16, 1 << 16
+    };
+
+    private static final int[] POWERS_OF_TEN = { 1, 10, 100, 1000, 10000, 100000, 1000000 };
+
+    // Can not be instantiated
+    private PaymentCards() { }
+
+    /**
+     * @return true when the number passes the Luhn check and belongs to a known brand
+     * which issues numbers of its length.
+     */
+    public static boolean isValid(CharSequence value) {
+        int range = -1;
+        int count = scan(value);
+
+        if (count > 0) range = findRange(iin(value));
+
+        return range >= 0 && (IIN_LENGTHS[range] & 1 << count) != 0 && passesLuhn(value);
+    }
+
+    /**
+     * @return the brand of a complete number, or null when it is not a known brand or
+     * the brand does not issue numbers of its length. The checksum is not verified.
+     */
+    public static Brand brandOf(CharSequence value) {
+        int count = scan(value);
+
+        if (count <= 0) return null;
+
+        int range = findRange(iin(value));
+
+        return range >= 0 && (IIN_LENGTHS[range] & 1 << count) != 0 ? IIN_BRAND[range] : null;
+    }
+
+    /**
+     * Detects the brand of a partially typed number, so it can be shown as the user types.
+     *
+     * @return the brand once the typed digits already guarantee it, or null while they could
+     * still belong to another brand or to none.
+     */
+    public static Brand detectBrand(CharSequence partial) {
+        int digits = 0;
+        int prefix = 0;
+
+        for (int i = 0, length = partial.length(); i < length && digits < IIN_DIGITS; i++) {
+            char c = partial.charAt(i);
+
+            if (c == ' ') continue;
+            if (c < '0' || c > '9') return null;
+
+            prefix = prefix * 10 + c - '0';
+            digits++;
+        }
+
+        if (digits == 0) return null;
+
+        int span = POWERS_OF_TEN[IIN_DIGITS - digits];
+        int low = prefix * span;
+        int range = findRange(low);
+
+        return range >= 0 && IIN_HIGH[range] >= low + span - 1 ? IIN_BRAND[range] : null;
+    }
+
+    /**
+     * Luhn checksum computed in a single pass, skipping spaces.
+     *
+     * @return false when the value has no digits or has chars other than digits and spaces.
+     */
+    public static boolean passesLuhn(CharSequence value) {
+        // Digits are summed both ways while reading, the count decides which sum holds.
+        int evenDoubled = 0;
+        int oddDoubled = 0;
+        int count = 0;
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c == ' ') continue;
+            if (c < '0' || c > '9') return false;
+
+            int digit = c - '0';
+            int doubled = digit < 5 ? digit * 2 : digit * 2 - 9;
+
+            if ((count & 1) == 0) {
+                evenDoubled += doubled;
+                oddDoubled += digit;
+            } else {
+                evenDoubled += digit;
+                oddDoubled += doubled;
+            }
+
+            count++;
+        }
+
+        if (count == 0) return false;
+
+        return ((count & 1) == 0 ? evenDoubled : oddDoubled) % 10 == 0;
+    }
+
+    /**
+     * @return the number of digits, or -1 when the value has chars other than digits and
+     * spaces, or too many digits for a card number.
+     */
+    private static int scan(CharSequence value) {
+        int count = 0;
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c == ' ') continue;
+            if (c < '0' || c > '9' || count == MAX_LENGTH) return -1;
+
+            count++;
+        }
+
+        return count < IIN_DIGITS ? -1 : count;
+    }
+
+    private static int iin(CharSequence value) {
+        int iin = 0;
+
+        for (int i = 0, digits = 0; digits < IIN_DIGITS; i++) {
+            char c = value.charAt(i);
+
+            if (c == ' ') continue;
+
+            iin = iin * 10 + c - '0';
+            digits++;
+        }
+
+        return iin;
+    }
+
+    /**
+     * @return the index of the range holding the IIN, or -1.
+     */
+    private static int findRange(int iin) {
+        int low = 0;
+        int high = IIN_LOW.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+
+            if (IIN_LOW[middle] > iin) {
+                high = middle - 1;
+            } else if (IIN_HIGH[middle] < iin) {
+                low = middle + 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+}
@@ -0,0 +1,157 @@
+package convalida.core.engine;
+
+/**
+ * IPv4 or IPv6 network in CIDR notation, such as {@code 192.168.0.0/16} or
+ * {@code 2001:db8::/32}, kept as the primitive words of its address and mask.
+ *
+ * Instances are immutable. Membership checks parse the address in place and compare
+ * words, so they do not allocate.
+ */
+public final class Subnet {
+
+    private static final ThreadLocal<long[]> WORDS = new ThreadLocal<long[]>() {
+        @Override protected long[] initialValue() {
+            return new long[2];
+        }
+    };
+
+    private final boolean ipv6;
+    private final int prefixLength;
+    private final long high;
+    private final long low;
+    private final long highMask;
+    private final long lowMask;
+
+    private Subnet(boolean ipv6, int prefixLength, long high, long low) {
+        this.ipv6 = ipv6;
+        this.prefixLength = prefixLength;
+
+        if (ipv6) {
+            this.highMask = mask(Math.min(prefixLength, 64));
+            this.lowMask = mask(Math.max(prefixLength - 64, 0));
+        } else {
+            this.highMask = 0;
+            this.lowMask = mask(prefixLength) >>> 32;
+        }
+
+        this.high = high & highMask;
+        this.low = low & lowMask;
+    }
+
+    /**
+     * @return the subnet, or null when the value is not in CIDR notation.
+     */
+    public static Subnet parse(CharSequence value) {
+        int slash = indexOfSlash(value);
+        int prefixLength = parsePrefixLength(value, slash);
+
+        if (prefixLength < 0) return null;
+
+        if (prefixLength <= InetAddresses.IPV4_BITS) {
+            long ipv4 = InetAddresses.parseIpv4(value, 0, slash);
+            if (ipv4 != InetAddresses.INVALID) return new Subnet(false, prefixLength, 0, ipv4);
+        }
+
+        long[] words = new long[2];
+
+        if (InetAddresses.parseIpv6(value, 0, slash, false, words)) {
+            return new Subnet(true, prefixLength, words[0], words[1]);
+        }
+
+        return null;
+    }
+
+    /**
+     * @return true when the value is an IPv4 or IPv6 address followed by a valid prefix length.
+     */
+    public static boolean isValidCidr(CharSequence value) {
+        int slash = indexOfSlash(value);
+        int prefixLength = parsePrefixLength(value, slash);
+
+        if (prefixLength < 0) return false;
+
+        return prefixLength <= InetAddresses.IPV4_BITS && InetAddresses.isValidIpv4(value, 0, slash)
+                || InetAddresses.parseIpv6(value, 0, slash, false, null);
+    }
+
+    public boolean isIpv6() {
+        return ipv6;
+    }
+
+    public int getPrefixLength() {
+        return prefixLength;
+    }
+
+    /**
+     * @return true when the value is an address of the same family inside this subnet.
+     */
+    public boolean contains(CharSequence address) {
+        if (!ipv6) {
+            long ipv4 = InetAddresses.parseIpv4(address);
+            return ipv4 != InetAddresses.INVALID && (ipv4 & lowMask) == low;
+        }
+
+        long[] words = WORDS.get();
+
+        return InetAddresses.parseIpv6(address, 0, address.length(), false, words)
+                && (words[0] & highMask) == high
+                && (words[1] & lowMask) == low;
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Subnet)) return false;
+
+        Subnet subnet = (Subnet) o;
+
+        return ipv6 == subnet.ipv6
+                && prefixLength == subnet.prefixLength
+                && high == subnet.high
+                && low == subnet.low;
+    }
+
+    @Override public int hashCode() {
+        int result = ipv6 ? 1 : 0;
+        result = 31 * result + prefixLength;
+        result = 31 * result + (int) (high ^ high >>> 32);
+        result = 31 * result + (int) (low ^ low >>> 32);
+        return result;
+    }
+
+    /**
+     * @return a mask with the given number of leading one bits out of 64.
+     */
+    private static long mask(int bits) {
+        return bits <= 0 ? 0 : -1L << 64 - bits;
+    }
+
+    private static int indexOfSlash(CharSequence value) {
+        for (int i = value.length() - 1; i >= 0; i--) {
+            if (value.charAt(i) == '/') return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the prefix length after the slash, or -1 when it is missing or above 128.
+     */
+    private static int parsePrefixLength(CharSequence value, int slash) {
+        int length = value.length();
+
+        if (slash < 0 || slash + 1 == length || length - slash > 4) return -1;
+
+        int prefixLength = 0;
+
+        for (int i = slash + 1; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c < '0' || c > '9' || i > slash + 1 && prefixLength == 0) return -1;
+
+            prefixLength = prefixLength * 10 + c - '0';
+        }
+
+        return prefixLength <= InetAddresses.IPV6_BITS ? prefixLength : -1;
+    }
+
+}
@@ -0,0 +1,388 @@
+package convalida.core.engine;
+
+import java.util.Locale;
+
+/**
+ * Single pass URL scanner following the RFC 3986 layout:
+ * {@code scheme://[userinfo@]host[:port][/path][?query][#fragment]}.
+ *
+ * Every component is checked in place with index arithmetic, without backtracking and
+ * without allocating, accepting the same URLs as the commons-validator UrlValidator.
+ * Hosts are domain names with a delegated top level domain, IPv4 addresses or bracketed
+ * IPv6 addresses. Internationalized labels are accepted in their Unicode form.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class UrlScanner {
+
+    public static final String[] DEFAULT_SCHEMES = { "http", "https", "ftp" };
+
+    private static final UrlScanner DEFAULT = new UrlScanner(true, DEFAULT_SCHEMES);
+
+    private static final String[] LOCAL_TLDS = { "localdomain", "localhost" };
+
+    private static final int MAX_DOMAIN_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+    private static final int MAX_PORT = 65535;
+
+    private static final char ZERO_WIDTH_NON_JOINER = '\u200c';
+    private static final char ZERO_WIDTH_JOINER = '\u200d';
+
+    private final String[] schemes;
+    private final boolean allowLocalUrls;
+
+    /**
+     * @param allowLocalUrls accept hosts without a top level domain, such as
+     * {@code localhost}, and the local {@code .localhost} and {@code .localdomain} domains.
+     * @param schemes allowed schemes, compared ignoring case.
+     */
+    public UrlScanner(boolean allowLocalUrls, String... schemes) {
+        if (schemes.length == 0) {
+            throw new IllegalArgumentException("At least one scheme must be allowed.");
+        }
+
+        this.allowLocalUrls = allowLocalUrls;
+        this.schemes = new String[schemes.length];
+
+        for (int i = 0; i < schemes.length; i++) {
+            this.schemes[i] = schemes[i].toLowerCase(Locale.ENGLISH);
+        }
+    }
+
+    /**
+     * @return a scanner allowing {@link #DEFAULT_SCHEMES} and local URLs.
+     */
+    public static UrlScanner getDefault() {
+        return DEFAULT;
+    }
+
+    public boolean allowsLocalUrls() {
+        return allowLocalUrls;
+    }
+
+    public boolean isValid(CharSequence url) {
+        int length = url.length();
+        int schemeEnd = indexOfDelimiter(url, 0, length, ":/?#");
+
+        if (schemeEnd == 0 || schemeEnd == length
+                || url.charAt(schemeEnd) != ':'
+                || !isValidScheme(url, schemeEnd)) {
+            return false;
+        }
+
+        int authorityStart = schemeEnd + 3;
+
+        if (authorityStart > length
+                || url.charAt(schemeEnd + 1) != '/'
+                || url.charAt(schemeEnd + 2) != '/') {
+            return false;
+        }
+
+        int authorityEnd = indexOfDelimiter(url, authorityStart, length, "/?#");
+        int pathEnd = indexOfDelimiter(url, authorityEnd, length, "?#");
+
+        if (!isValidAuthority(url, authorityStart, authorityEnd)
+                || !isValidPath(url, authorityEnd, pathEnd)) {
+            return false;
+        }
+
+        int fragmentStart = pathEnd;
+
+        if (pathEnd < length && url.charAt(pathEnd) == '?') {
+            fragmentStart = indexOfDelimiter(url, pathEnd, length, "#");
+            if (!isValidQuery(url, pathEnd + 1, fragmentStart)) return false;
+        }
+
+        return fragmentStart == length || isValidFragment(url, fragmentStart + 1, length);
+    }
+
+    private boolean isValidScheme(CharSequence url, int end) {
+        if (!isAsciiLetter(url.charAt(0))) return false;
+
+        for (int i = 1; i < end; i++) {
+            char c = url.charAt(i);
+            if (!isAsciiLetterOrDigit(c) && c != '+' && c != '-' && c != '.') return false;
+        }
+
+        for (String scheme : schemes) {
+            if (equalsIgnoreCase(scheme, url, 0, end)) return true;
+        }
+
+        return false;
+    }
+
+    private boolean isValidAuthority(CharSequence url, int start, int end) {
+        int hostEnd;
+
+        if (start < end && url.charAt(start) == '[') {
+            hostEnd = indexOfDelimiter(url, start, end, "]");
+
+            if (hostEnd == end || !isValidIpv6Literal(url, start + 1, hostEnd)) return false;
+
+            hostEnd++;
+        } else {
+            int hostStart = start;
+            int at = indexOfDelimiter(url, start, end, "@");
+
+            if (at < end) {
+                if (!isValidUserInfo(url, start, at)) return false;
+                hostStart = at + 1;
+            }
+
+            hostEnd = hostStart;
+
+            while (hostEnd < end && isHostChar(url.charAt(hostEnd))) hostEnd++;
+
+            if (!isValidDomain(url, hostStart, hostEnd)
+                    && !InetAddresses.isValidIpv4(url, hostStart, hostEnd)) {
+                return false;
+            }
+        }
+
+        int i = hostEnd;
+
+        if (i < end && url.charAt(i) == ':') {
+            int port = 0;
+
+            for (i++; i < end; i++) {
+                char c = url.charAt(i);
+
+                if (c < '0' || c > '9') break;
+
+                port = port * 10 + c - '0';
+
+                if (port > MAX_PORT) return false;
+            }
+        }
+
+        // Only blank chars other than line breaks may follow the port.
+        for (; i < end; i++) {
+            char c = url.charAt(i);
+            if (c > ' ' || c == '\n' || c == '\r') return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * {@code user[:password]}, with a non empty user.
+     */
+    private static boolean isValidUserInfo(CharSequence url, int start, int end) {
+        boolean password = false;
+
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+
+            if (c == ':') {
+                if (i == start || password) return false;
+                password = true;
+            } else if (!isUserInfoChar(c)) {
+                return false;
+            }
+        }
+
+        return start < end;
+    }
+
+    private static boolean isValidIpv6Literal(CharSequence url, int start, int end) {
+        if (start == end) return false;
+
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c != ':' && !isHexDigit(c)) return false;
+        }
+
+        return InetAddresses.parseIpv6(url, start, end, false, null);
+    }
+
+    /**
+     * Domain names need a delegated top level domain, and may end with a dot. Local URLs
+     * also accept a single label host.
+     */
+    private boolean isValidDomain(CharSequence url, int start, int end) {
+        if (start == end || end - start > MAX_DOMAIN_LENGTH) return false;
+
+        boolean trailingDot = isDot(url.charAt(end - 1));
+
+        if (trailingDot) end--;
+
+        int labels = 0;
+        int labelStart = start;
+
+        for (int i = start; i <= end; i++) {
+            if (i < end && !isDot(url.charAt(i))) continue;
+            if (!isValidLabel(url, labelStart, i)) return false;
+
+            labels++;
+
+            if (i < end) labelStart = i + 1;
+        }
+
+        if (labels == 1) return allowLocalUrls && !trailingDot;
+
+        return isValidTld(url, labelStart, end);
+    }
+
+    private boolean isValidTld(CharSequence url, int start, int end) {
+        char first = url.charAt(start);
+
+        if (first < 0x80 && !isAsciiLetter(first)) return false;
+
+        if (allowLocalUrls) {
+            for (String tld : LOCAL_TLDS) {
+                if (equalsIgnoreCase(tld, url, start, end)) return true;
+            }
+        }
+
+        return TopLevelDomains.contains(url, start, end);
+    }
+
+    /**
+     * One to 63 letters, digits or hyphens, starting and ending with a letter or digit.
+     * Labels with Unicode letters are internationalized and checked by their chars only, which
+     * include the combining marks and joiners of scripts such as Devanagari or Tamil.
+     */
+    private static boolean isValidLabel(CharSequence url, int start, int end) {
+        if (start == end || end - start > MAX_LABEL_LENGTH) return false;
+
+        boolean ascii = true;
+
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+
+            if (c >= 0x80) {
+                boolean surrogate = c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE;
+
+                if (!Character.isLetterOrDigit(c) && !surrogate && !isIdnMark(c)) return false;
+                ascii = false;
+            }
+        }
+
+        return !ascii || url.charAt(start) != '-' && url.charAt(end - 1) != '-';
+    }
+
+    private static boolean isIdnMark(char c) {
+        switch (Character.getType(c)) {
+            case Character.NON_SPACING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+                return true;
+            default:
+                return c == ZERO_WIDTH_NON_JOINER || c == ZERO_WIDTH_JOINER;
+        }
+    }
+
+    /**
+     * Absolute path without empty segments, which may not climb above the root with
+     * {@code ..} segments.
+     */
+    private static boolean isValidPath(CharSequence url, int start, int end) {
+        int depth = 0;
+        int segmentStart = start + 1;
+
+        for (int i = start + 1; i <= end; i++) {
+            if (i < end) {
+                char c = url.charAt(i);
+
+                if (c != '/') {
+                    if (!isPathChar(c)) return false;
+                    continue;
+                }
+            }
+
+            int segment = i - segmentStart;
+
+            if (segment == 0 && i < end) return false;
+
+            if (segment == 2 && url.charAt(segmentStart) == '.' && url.charAt(segmentStart + 1) == '.') {
+                if (--depth < 0) return false;
+            } else if (segment > 1 || segment == 1 && url.charAt(segmentStart) != '.') {
+                depth++;
+            }
+
+            segmentStart = i + 1;
+        }
+
+        return true;
+    }
+
+    private static boolean isValidQuery(CharSequence url, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+
+            if (c == ' ' || c >= '\t' && c <= '\r') return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isValidFragment(CharSequence url, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the index of the first delimiter after start, or end.
+     */
+    private static int indexOfDelimiter(CharSequence url, int start, int end, String delimiters) {
+        for (int i = start; i < end; i++) {
+            if (delimiters.indexOf(url.charAt(i)) >= 0) return i;
+        }
+
+        return end;
+    }
+
+    private static boolean equalsIgnoreCase(String lowerCase, CharSequence url, int start, int end) {
+        if (lowerCase.length() != end - start) return false;
+
+        for (int i = 0; i < lowerCase.length(); i++) {
+            char c = url.charAt(start + i);
+
+            if (c >= 'A' && c <= 'Z') c += 'a' - 'A';
+            if (c != lowerCase.charAt(i)) return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+    }
+
+    // Ideographic and fullwidth full stops separate labels of internationalized names.
+    private static boolean isDot(char c) {
+        return c == '.' || c == '\u3002' || c == '\uff0e' || c == '\uff61';
+    }
+
+    private static boolean isHostChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '-' || c == '.' || c >= 0x80 && !isBlank(c);
+    }
+
+    private static boolean isBlank(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    private static boolean isUserInfoChar(char c) {
+        return isAsciiLetterOrDigit(c) || c >= '%' && c <= '.' || "_~!$;=".indexOf(c) >= 0;
+    }
+
+    private static boolean isPathChar(char c) {
+        return isAsciiLetterOrDigit(c) || "-_:@&?=+,.!/~*'%$;()".indexOf(c) >= 0;
+    }
+
+}
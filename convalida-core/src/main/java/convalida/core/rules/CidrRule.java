@@ -0,0 +1,30 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+import convalida.core.engine.Subnet;
+import convalida.core.util.Buffers;
+
+import static convalida.core.util.CharSequences.stripSpaces;
+
+/**
+ * Accepts IPv4 and IPv6 networks in CIDR notation, such as {@code 10.0.0.0/8}.
+ */
+public final class CidrRule implements Rule {
+
+    private final boolean required;
+
+    private static final ThreadLocal<StringBuilder> buffer = Buffers.newThreadLocal();
+
+    public CidrRule(boolean required) {
+        this.required = required;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        value = stripSpaces(value, buffer.get());
+
+        if (value.length() == 0) return !required;
+
+        return Subnet.isValidCidr(value);
+    }
+
+}
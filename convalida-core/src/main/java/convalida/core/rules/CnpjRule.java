@@ -0,0 +1,26 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+import convalida.core.engine.BrazilianDocuments;
+
+import static convalida.core.engine.BrazilianDocuments.CNPJ_SEPARATORS;
+import static convalida.core.util.CharSequences.consistsOf;
+
+/**
+ * Accepts numeric and alphanumeric CNPJ numbers, masked or not.
+ */
+public final class CnpjRule implements Rule {
+
+    private final boolean required;
+
+    public CnpjRule(boolean required) {
+        this.required = required;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        if (consistsOf(value, CNPJ_SEPARATORS)) return !required;
+
+        return BrazilianDocuments.isValidCnpj(value);
+    }
+
+}
@@ -0,0 +1,23 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+import convalida.core.engine.BrazilianDocuments;
+
+import static convalida.core.engine.BrazilianDocuments.CPF_SEPARATORS;
+import static convalida.core.util.CharSequences.consistsOf;
+
+public final class CpfRule implements Rule {
+
+    private final boolean required;
+
+    public CpfRule(boolean required) {
+        this.required = required;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        if (consistsOf(value, CPF_SEPARATORS)) return !required;
+
+        return BrazilianDocuments.isValidCpf(value);
+    }
+
+}
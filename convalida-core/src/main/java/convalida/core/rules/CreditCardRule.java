@@ -0,0 +1,22 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+import convalida.core.engine.PaymentCards;
+
+import static convalida.core.util.CharSequences.consistsOf;
+
+public final class CreditCardRule implements Rule {
+
+    private final boolean required;
+
+    public CreditCardRule(boolean required) {
+        this.required = required;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        if (consistsOf(value, " ")) return !required;
+
+        return PaymentCards.isValid(value);
+    }
+
+}
@@ -0,0 +1,35 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+import convalida.core.engine.Clock;
+import convalida.core.engine.DateLimit;
+import convalida.core.engine.DateParser;
+
+/**
+ * Compares a date typed in a given format with a limit, which is a date in the same format
+ * or an expression relative to today, such as {@code today-18y}. Limits are parsed once
+ * into epoch days, and typed dates which are not complete and valid are rejected.
+ */
+abstract class DateLimitRule implements Rule {
+
+    private final DateParser parser;
+    private final DateLimit limit;
+    private final boolean required;
+
+    DateLimitRule(String dateFormat, String limitDate, boolean required, Clock clock) {
+        this.parser = DateParser.compile(dateFormat);
+        this.limit = DateLimit.parse(limitDate, dateFormat, parser, clock);
+        this.required = required;
+    }
+
+    abstract boolean isWithinLimit(long day, long limit);
+
+    @Override public boolean isValid(CharSequence value) {
+        if(required && value.length() == 0) return false;
+
+        long day = parser.parseEpochDay(value);
+
+        return day != DateParser.INVALID && isWithinLimit(day, limit.epochDay());
+    }
+
+}
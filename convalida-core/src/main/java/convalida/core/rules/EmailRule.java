@@ -0,0 +1,15 @@
+package convalida.core.rules;
+
+import java.util.regex.Pattern;
+
+import convalida.core.util.PatternCache;
+
+public final class EmailRule extends PatternRule {
+
+    private static final String EMAIL_REGEX = "^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}$";
+
+    public EmailRule(boolean required) {
+        super(PatternCache.get(EMAIL_REGEX, Pattern.CASE_INSENSITIVE), required, null);
+    }
+
+}
@@ -0,0 +1,25 @@
+package convalida.core.rules;
+
+import convalida.core.engine.Clock;
+
+/**
+ * Accepts dates equal to or before the limit date.
+ */
+public final class FutureDateRule extends DateLimitRule {
+
+    public FutureDateRule(String dateFormat, String limitDate, boolean required) {
+        this(dateFormat, limitDate, required, Clock.system());
+    }
+
+    /**
+     * @param clock tells which day is today for relative limits.
+     */
+    public FutureDateRule(String dateFormat, String limitDate, boolean required, Clock clock) {
+        super(dateFormat, limitDate, required, clock);
+    }
+
+    @Override boolean isWithinLimit(long day, long limit) {
+        return day <= limit;
+    }
+
+}
@@ -0,0 +1,30 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+import convalida.core.engine.InetAddresses;
+import convalida.core.util.Buffers;
+
+import static convalida.core.util.CharSequences.stripSpaces;
+
+/**
+ * Accepts compressed addresses, embedded IPv4 addresses and zone identifiers.
+ */
+public final class Ipv6Rule implements Rule {
+
+    private final boolean required;
+
+    private static final ThreadLocal<StringBuilder> buffer = Buffers.newThreadLocal();
+
+    public Ipv6Rule(boolean required) {
+        this.required = required;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        value = stripSpaces(value, buffer.get());
+
+        if(required && value.length() == 0) return false;
+
+        return InetAddresses.isValidIpv6(value);
+    }
+
+}
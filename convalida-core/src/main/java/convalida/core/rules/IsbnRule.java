@@ -0,0 +1,21 @@
+package convalida.core.rules;
+
+import org.apache.commons.validator.routines.ISBNValidator;
+
+import convalida.core.Rule;
+
+public final class IsbnRule implements Rule {
+
+    private final boolean required;
+
+    public IsbnRule(boolean required) {
+        this.required = required;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        String isbn = value.toString();
+        return (!required || !isbn.isEmpty())
+                && (isbn.isEmpty() || ISBNValidator.getInstance().isValid(isbn));
+    }
+
+}
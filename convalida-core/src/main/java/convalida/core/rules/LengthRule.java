@@ -0,0 +1,41 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+
+/**
+ * Checks the length of the value, not counting spaces. A max of zero means no upper limit.
+ */
+public final class LengthRule implements Rule {
+
+    private final int min;
+    private final int max;
+    private final boolean required;
+
+    public LengthRule(int min, int max, boolean required) {
+        this.min = min;
+        this.max = max;
+        this.required = required;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        int length = lengthWithoutSpaces(value);
+        if(required && length == 0) {
+            return false;
+        } else {
+            boolean hasError = length < min;
+            if (max > 0) {
+                hasError |= length > max;
+            }
+            return length == 0 || !hasError;
+        }
+    }
+
+    private static int lengthWithoutSpaces(CharSequence value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != ' ') length++;
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,57 @@
+package convalida.core.rules;
+
+import java.util.Locale;
+
+import convalida.core.Rule;
+import convalida.core.engine.Decimal;
+import convalida.core.engine.DecimalParser;
+
+/**
+ * Accepts numbers between {@code min} and {@code max}, both inclusive.
+ *
+ * The limits are parsed once, in the plain format accepted by
+ * {@link java.math.BigDecimal#BigDecimal(String)}. Typed values are parsed in place into a
+ * per thread {@link Decimal}, in the same format or in the format of a locale.
+ */
+public final class NumericLimitRule implements Rule {
+
+    private static final ThreadLocal<Decimal> NUMBER = new ThreadLocal<Decimal>() {
+        @Override protected Decimal initialValue() {
+            return new Decimal();
+        }
+    };
+
+    private final DecimalParser parser;
+    private final Decimal minValue;
+    private final Decimal maxValue;
+    private final boolean required;
+
+    public NumericLimitRule(String min, String max, boolean required) {
+        this(min, max, required, DecimalParser.plain());
+    }
+
+    /**
+     * @param locale tells the decimal and grouping separators of typed values.
+     */
+    public NumericLimitRule(String min, String max, boolean required, Locale locale) {
+        this(min, max, required, DecimalParser.forLocale(locale));
+    }
+
+    private NumericLimitRule(String min, String max, boolean required, DecimalParser parser) {
+        this.parser = parser;
+        this.minValue = DecimalParser.plain().valueOf(min);
+        this.maxValue = DecimalParser.plain().valueOf(max);
+        this.required = required;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        if (value.length() == 0) return !required;
+
+        Decimal number = NUMBER.get();
+
+        return parser.parse(value, number)
+                && number.compareTo(minValue) >= 0
+                && number.compareTo(maxValue) <= 0;
+    }
+
+}
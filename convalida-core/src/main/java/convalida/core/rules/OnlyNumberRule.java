@@ -0,0 +1,31 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+
+/**
+ * Accepts values made only of ASCII digits, ignoring spaces.
+ */
+public final class OnlyNumberRule implements Rule {
+
+    private final boolean required;
+
+    public OnlyNumberRule(boolean required) {
+        this.required = required;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        int digits = 0;
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c == ' ') continue;
+            if (c < '0' || c > '9') return false;
+
+            digits++;
+        }
+
+        return !required || digits != 0;
+    }
+
+}
@@ -0,0 +1,94 @@
+package convalida.core.rules;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import convalida.core.Rule;
+import convalida.core.engine.PasswordPolicy;
+import convalida.core.engine.PasswordScan;
+import convalida.core.util.PatternCache;
+
+/**
+ * Requires a non empty value of at least {@code min} chars which, when a pattern or a policy
+ * is given, matches it.
+ *
+ * Patterns of {@code convalida.library.util.Patterns} are checked by the equivalent
+ * {@link PasswordPolicy}, in one pass over the value, and other patterns by a regex.
+ */
+public final class PasswordRule implements Rule {
+
+    private static final ThreadLocal<PasswordScan> SCAN = new ThreadLocal<PasswordScan>() {
+        @Override protected PasswordScan initialValue() {
+            return new PasswordScan();
+        }
+    };
+
+    private final int min;
+    private final PasswordPolicy policy;
+    private final ThreadLocal<Matcher> matcher;
+
+    public PasswordRule(int min, String pattern) {
+        this.min = min;
+        this.policy = PasswordPolicy.forPattern(pattern);
+        this.matcher = pattern.isEmpty() || policy != null
+                ? null
+                : newMatcher(PatternCache.get(pattern));
+    }
+
+    public PasswordRule(int min, PasswordPolicy policy) {
+        this.min = min;
+        this.policy = policy;
+        this.matcher = null;
+    }
+
+    private static ThreadLocal<Matcher> newMatcher(final Pattern pattern) {
+        return new ThreadLocal<Matcher>() {
+            @Override protected Matcher initialValue() {
+                return pattern.matcher("");
+            }
+        };
+    }
+
+    /**
+     * @return true when values are matched by a regex rather than scanned by a policy.
+     */
+    public boolean usesRegex() {
+        return matcher != null;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        return isValid(value, SCAN.get());
+    }
+
+    /**
+     * @param scan receives the statistics of the value, such as its entropy, whether it is
+     * valid or not.
+     */
+    public boolean isValid(CharSequence value, PasswordScan scan) {
+        scan.scan(value);
+
+        boolean hasError = value.length() == 0;
+
+        if (min > 0) {
+            hasError |= value.length() < min;
+        }
+
+        if (policy != null) {
+            hasError |= !policy.isSatisfiedBy(scan);
+        }
+
+        if (matcher != null && !hasError) {
+            Matcher m = matcher.get();
+
+            // The value may be the live Editable of a field, which the thread must not keep.
+            try {
+                hasError = !m.reset(value).matches();
+            } finally {
+                m.reset("");
+            }
+        }
+
+        return !hasError;
+    }
+
+}
@@ -0,0 +1,150 @@
+package convalida.core.rules;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import convalida.core.Rule;
+import convalida.core.engine.BudgetExceededException;
+import convalida.core.engine.BudgetedCharSequence;
+import convalida.core.engine.Dfa;
+import convalida.core.engine.MatchBudget;
+import convalida.core.util.Buffers;
+import convalida.core.util.PatternCache;
+
+import static convalida.core.util.CharSequences.stripSpaces;
+
+/**
+ * Matches the value, without spaces, against a regular expression.
+ *
+ * Patterns in the regular subset supported by {@link Dfa} are matched by an automaton, in
+ * linear time and incrementally: each thread keeps the state after each char of the last
+ * value, so a keystroke only steps through the chars after the edit. Other patterns are
+ * matched by a {@link Matcher}. Each thread reuses its own matcher, so matching does not
+ * allocate. The matcher is pointed back at an empty value after each match, as the value may
+ * be the live {@code Editable} of a field, which would otherwise be kept by the thread.
+ *
+ * With a {@link MatchBudget}, values longer than the budget allows are not matched, and
+ * {@link Matcher} runs reading more chars or taking more time than allowed are aborted. Both
+ * throw a {@link BudgetExceededException}.
+ */
+public class PatternRule implements Rule {
+
+    private static final ThreadLocal<StringBuilder> buffer = Buffers.newThreadLocal();
+
+    private static final ThreadLocal<BudgetedCharSequence> budgeted =
+            new ThreadLocal<BudgetedCharSequence>() {
+                @Override protected BudgetedCharSequence initialValue() {
+                    return new BudgetedCharSequence();
+                }
+            };
+
+    private final boolean required;
+    private final MatchBudget budget;
+    private final ThreadLocal<Dfa.IncrementalMatcher> dfaMatcher;
+    private final ThreadLocal<Matcher> matcher;
+
+    public PatternRule(String pattern, boolean required) {
+        this(PatternCache.get(pattern), required, null);
+    }
+
+    /**
+     * @param budget limits of each match, or null for none.
+     */
+    public PatternRule(String pattern, boolean required, MatchBudget budget) {
+        this(PatternCache.get(pattern), required, budget);
+    }
+
+    PatternRule(final Pattern pattern, boolean required, MatchBudget budget) {
+        this.required = required;
+        this.budget = budget;
+
+        final Dfa dfa = PatternCache.getDfa(pattern);
+
+        if (dfa != null) {
+            this.matcher = null;
+            this.dfaMatcher = new ThreadLocal<Dfa.IncrementalMatcher>() {
+                @Override protected Dfa.IncrementalMatcher initialValue() {
+                    return dfa.newMatcher();
+                }
+            };
+        } else {
+            this.dfaMatcher = null;
+            this.matcher = new ThreadLocal<Matcher>() {
+                @Override protected Matcher initialValue() {
+                    return pattern.matcher("");
+                }
+            };
+        }
+    }
+
+    /**
+     * @return true when values are matched by a {@link Matcher} rather than an automaton.
+     */
+    public boolean usesRegex() {
+        return dfaMatcher == null;
+    }
+
+    /**
+     * @throws BudgetExceededException when the rule has a budget and the match goes over it.
+     */
+    @Override public boolean isValid(CharSequence value) {
+        value = stripSpaces(value, buffer.get());
+        return (!required || value.length() != 0)
+                && (value.length() == 0 || matches(value));
+    }
+
+    /**
+     * @return true when the value, without spaces, matches the pattern or is the beginning of
+     * a value which does, so typing may still make it valid.
+     *
+     * @throws BudgetExceededException when the rule has a budget and the match goes over it.
+     */
+    public boolean canMatch(CharSequence value) {
+        value = stripSpaces(value, buffer.get());
+
+        if (budget != null) budget.checkLength(value);
+
+        if (dfaMatcher != null) return dfaMatcher.get().canMatch(value);
+
+        Matcher m = matcher.get();
+
+        try {
+            m.reset(guard(value));
+            return m.matches() || m.hitEnd();
+        } finally {
+            release(m);
+        }
+    }
+
+    private boolean matches(CharSequence value) {
+        if (budget != null) budget.checkLength(value);
+
+        if (dfaMatcher != null) return dfaMatcher.get().matches(value);
+
+        Matcher m = matcher.get();
+
+        try {
+            return m.reset(guard(value)).matches();
+        } finally {
+            release(m);
+        }
+    }
+
+    /**
+     * Automata read each char once, so only {@link Matcher} runs are counted.
+     */
+    private CharSequence guard(CharSequence value) {
+        return budget != null ? budgeted.get().reset(value, budget) : value;
+    }
+
+    /**
+     * Drops the references of the thread to the last value. Automata copy the chars they
+     * read, so only the matcher and the budgeted view need it.
+     */
+    private void release(Matcher m) {
+        m.reset("");
+
+        if (budget != null) budgeted.get().release();
+    }
+
+}
@@ -0,0 +1,11 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+
+public final class RequiredRule implements Rule {
+
+    @Override public boolean isValid(CharSequence value) {
+        return value.length() != 0;
+    }
+
+}
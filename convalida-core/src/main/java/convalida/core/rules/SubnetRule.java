@@ -0,0 +1,36 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+import convalida.core.engine.Subnet;
+import convalida.core.util.Buffers;
+
+import static convalida.core.util.CharSequences.stripSpaces;
+
+/**
+ * Accepts addresses inside a subnet, such as the addresses of {@code 192.168.0.0/24}.
+ */
+public final class SubnetRule implements Rule {
+
+    private final Subnet subnet;
+    private final boolean required;
+
+    private static final ThreadLocal<StringBuilder> buffer = Buffers.newThreadLocal();
+
+    public SubnetRule(String subnet, boolean required) {
+        this.subnet = Subnet.parse(subnet);
+        this.required = required;
+
+        if (this.subnet == null) {
+            throw new IllegalArgumentException("Invalid subnet: " + subnet);
+        }
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        value = stripSpaces(value, buffer.get());
+
+        if (value.length() == 0) return !required;
+
+        return subnet.contains(value);
+    }
+
+}
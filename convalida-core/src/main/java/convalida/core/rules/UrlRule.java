@@ -0,0 +1,33 @@
+package convalida.core.rules;
+
+import convalida.core.Rule;
+import convalida.core.engine.UrlScanner;
+import convalida.core.util.Buffers;
+
+import static convalida.core.util.CharSequences.stripSpaces;
+
+public final class UrlRule implements Rule {
+
+    private final boolean required;
+    private final UrlScanner scanner;
+
+    private static final ThreadLocal<StringBuilder> buffer = Buffers.newThreadLocal();
+
+    public UrlRule(boolean required) {
+        this(UrlScanner.getDefault(), required);
+    }
+
+    public UrlRule(UrlScanner scanner, boolean required) {
+        this.scanner = scanner;
+        this.required = required;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        value = stripSpaces(value, buffer.get());
+
+        if(required && value.length() == 0) return false;
+
+        return scanner.isValid(value);
+    }
+
+}
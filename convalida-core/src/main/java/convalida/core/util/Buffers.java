@@ -0,0 +1,20 @@
+package convalida.core.util;
+
+/**
+ * Per thread scratch buffers, so shared rules can strip chars from a value without allocating
+ * on every call.
+ */
+public final class Buffers {
+
+    // Can not be instantiated
+    private Buffers() { }
+
+    public static ThreadLocal<StringBuilder> newThreadLocal() {
+        return new ThreadLocal<StringBuilder>() {
+            @Override protected StringBuilder initialValue() {
+                return new StringBuilder();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,113 @@
+package convalida.core.util;
+
+/**
+ * Allocation free helpers to inspect the text of a field without copying it into a String.
+ */
+public final class CharSequences {
+
+    // Can not be instantiated
+    private CharSequences() { }
+
+    public static boolean isEmpty(CharSequence value) {
+        return value.length() == 0;
+    }
+
+    public static boolean contains(CharSequence value, char c) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (value.charAt(i) == c) return true;
+        }
+
+        return false;
+    }
+
+    public static boolean containsAny(CharSequence value, String chars) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (chars.indexOf(value.charAt(i)) >= 0) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true when every char of the value is one of the given chars, which includes
+     * an empty value.
+     */
+    public static boolean consistsOf(CharSequence value, String chars) {
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (chars.indexOf(value.charAt(i)) < 0) return false;
+        }
+
+        return true;
+    }
+
+    public static boolean contentEquals(CharSequence a, CharSequence b) {
+        if (a == b) return true;
+
+        int length = a.length();
+
+        if (length != b.length()) return false;
+
+        for (int i = 0; i < length; i++) {
+            if (a.charAt(i) != b.charAt(i)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Compares the values lexicographically, like {@link String#compareTo(String)}.
+     */
+    public static int compare(CharSequence a, CharSequence b) {
+        int length = Math.min(a.length(), b.length());
+
+        for (int i = 0; i < length; i++) {
+            char c = a.charAt(i);
+            char d = b.charAt(i);
+
+            if (c != d) return c - d;
+        }
+
+        return a.length() - b.length();
+    }
+
+    /**
+     * @return true when the value has at least one char and all of them are ASCII digits.
+     */
+    public static boolean isDigitsOnly(CharSequence value) {
+        int length = value.length();
+
+        if (length == 0) return false;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes every occurrence of the given chars from the value.
+     *
+     * When the value does not contain any of them it is returned as is, otherwise the
+     * remaining chars are copied into the given buffer, which is returned. Callers keep
+     * the buffer between validations, so stripping does not allocate once it has grown.
+     */
+    public static CharSequence strip(CharSequence value, String chars, StringBuilder buffer) {
+        if (!containsAny(value, chars)) return value;
+
+        buffer.setLength(0);
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            char c = value.charAt(i);
+            if (chars.indexOf(c) < 0) buffer.append(c);
+        }
+
+        return buffer;
+    }
+
+    public static CharSequence stripSpaces(CharSequence value, StringBuilder buffer) {
+        return strip(value, " ", buffer);
+    }
+
+}
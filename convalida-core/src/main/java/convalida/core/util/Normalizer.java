@@ -0,0 +1,126 @@
+package convalida.core.util;
+
+/**
+ * Declarative pipeline of normalization steps applied to the text of a field before it is
+ * validated, so the rules of the field do not each clean it up on their own.
+ *
+ * Whatever the order they are declared in, the steps are fused into a single pass over the
+ * value. Like {@link CharSequences#strip(CharSequence, String, StringBuilder)}, the value is
+ * returned as is when no step changes it, otherwise the result is written into the given
+ * buffer, which is returned. Instances are immutable and can be shared between fields.
+ */
+public final class Normalizer {
+
+    /**
+     * Chars of the usual input masks, such as {@code 123.456.789-09} or {@code (11) 2345-6789}.
+     */
+    public static final String MASK_CHARS = " ()-./";
+
+    public enum Step {
+
+        /** Removes the leading and trailing chars up to the space, as {@link String#trim()}. */
+        TRIM,
+
+        /** Removes every whitespace char, including the no-break spaces. */
+        STRIP_WHITESPACE,
+
+        /** Removes every char of {@link #MASK_CHARS}. */
+        STRIP_MASK,
+
+        /** Replaces the decimal digits of other scripts, such as Arabic-Indic, with ASCII ones. */
+        FOLD_DIGITS,
+
+        /** Folds the value to lower case, so it can be compared without regard to case. */
+        FOLD_CASE
+
+    }
+
+    private final boolean trim;
+    private final boolean stripWhitespace;
+    private final boolean stripMask;
+    private final boolean foldDigits;
+    private final boolean foldCase;
+
+    private Normalizer(boolean[] steps) {
+        this.trim = steps[Step.TRIM.ordinal()];
+        this.stripWhitespace = steps[Step.STRIP_WHITESPACE.ordinal()];
+        this.stripMask = steps[Step.STRIP_MASK.ordinal()];
+        this.foldDigits = steps[Step.FOLD_DIGITS.ordinal()];
+        this.foldCase = steps[Step.FOLD_CASE.ordinal()];
+    }
+
+    public static Normalizer of(Step... steps) {
+        boolean[] enabled = new boolean[Step.values().length];
+
+        for (Step step : steps) {
+            enabled[step.ordinal()] = true;
+        }
+
+        return new Normalizer(enabled);
+    }
+
+    /**
+     * @return the normalized value, which is either the value itself or the buffer.
+     */
+    public CharSequence normalize(CharSequence value, StringBuilder buffer) {
+        int start = 0;
+        int end = value.length();
+
+        if (trim) {
+            while (start < end && value.charAt(start) <= ' ') start++;
+            while (end > start && value.charAt(end - 1) <= ' ') end--;
+        }
+
+        boolean copying = false;
+
+        for (int i = start; i < end; ) {
+            int codePoint = Character.codePointAt(value, i);
+            int count = Character.charCount(codePoint);
+            int normalized = normalize(codePoint);
+
+            if (!copying && normalized != codePoint) {
+                copying = true;
+                buffer.setLength(0);
+                buffer.append(value, start, i);
+            }
+
+            if (copying && normalized >= 0) {
+                buffer.appendCodePoint(normalized);
+            }
+
+            i += count;
+        }
+
+        if (copying) return buffer;
+
+        if (start == 0 && end == value.length()) return value;
+
+        buffer.setLength(0);
+        buffer.append(value, start, end);
+        return buffer;
+    }
+
+    /**
+     * @return the code point replacing the given one, or -1 when it is removed.
+     */
+    private int normalize(int codePoint) {
+        if (stripWhitespace && isWhitespace(codePoint)) return -1;
+
+        if (stripMask && codePoint < 128 && MASK_CHARS.indexOf(codePoint) >= 0) return -1;
+
+        if (foldDigits && (codePoint < '0' || codePoint > '9') && Character.isDigit(codePoint)) {
+            return '0' + Character.digit(codePoint, 10);
+        }
+
+        if (foldCase) {
+            return Character.toLowerCase(Character.toUpperCase(codePoint));
+        }
+
+        return codePoint;
+    }
+
+    private static boolean isWhitespace(int codePoint) {
+        return Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint);
+    }
+
+}
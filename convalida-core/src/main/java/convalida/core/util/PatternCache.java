@@ -0,0 +1,197 @@
+package convalida.core.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import convalida.core.engine.Dfa;
+
+/**
+ * Process-wide registry of compiled regular expressions shared by all regex based validators.
+ *
+ * Identical pattern strings (with identical flags) resolve to the same {@link Pattern}
+ * instance across validators and screens, so a regex is compiled once per process instead
+ * of once per keystroke. The registry is bounded and evicts the least recently used entry
+ * when it is full.
+ *
+ * The {@link Dfa} of a pattern is kept with it, compiled the first time a rule asks for it.
+ * Patterns the automaton does not support are remembered as such, so the subset construction
+ * runs at most once per pattern, not each time a screen builds its validators.
+ */
+public final class PatternCache {
+
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private static final Object lock = new Object();
+
+    private static int maxSize = DEFAULT_MAX_SIZE;
+
+    private static long hitCount = 0;
+
+    private static long missCount = 0;
+
+    private static final LinkedHashMap<Key, Compiled> patterns =
+            new LinkedHashMap<Key, Compiled>(16, 0.75f, true) {
+                @Override protected boolean removeEldestEntry(Map.Entry<Key, Compiled> eldest) {
+                    return size() > maxSize;
+                }
+            };
+
+    // Can not be instantiated
+    private PatternCache() { }
+
+    public static Pattern get(String regex) {
+        return get(regex, 0);
+    }
+
+    public static Pattern get(String regex, int flags) {
+        Key key = new Key(regex, flags);
+
+        synchronized (lock) {
+            Compiled entry = patterns.get(key);
+
+            if (entry != null) {
+                hitCount++;
+                return entry.pattern;
+            }
+
+            missCount++;
+        }
+
+        // Compile outside the lock so a slow regex does not block other lookups.
+        Pattern compiled = Pattern.compile(regex, flags);
+
+        synchronized (lock) {
+            Compiled existing = patterns.get(key);
+
+            if (existing != null) {
+                return existing.pattern;
+            }
+
+            patterns.put(key, new Compiled(compiled));
+
+            return compiled;
+        }
+    }
+
+    /**
+     * Lookups of automata are not counted as hits or misses of the pattern.
+     *
+     * @return the automaton of the pattern, shared by every rule of the process, or null when
+     * {@link Dfa#compile(String, int)} does not support the pattern.
+     */
+    public static Dfa getDfa(Pattern pattern) {
+        Key key = new Key(pattern.pattern(), pattern.flags());
+
+        synchronized (lock) {
+            Compiled entry = patterns.get(key);
+
+            if (entry != null && entry.dfaCompiled) {
+                return entry.dfa;
+            }
+        }
+
+        // Compiled outside the lock too, the subset construction is the slow part.
+        Dfa compiled = Dfa.compile(pattern.pattern(), pattern.flags());
+
+        synchronized (lock) {
+            Compiled entry = patterns.get(key);
+
+            if (entry == null) {
+                entry = new Compiled(pattern);
+                patterns.put(key, entry);
+            }
+
+            if (!entry.dfaCompiled) {
+                entry.dfa = compiled;
+                entry.dfaCompiled = true;
+            }
+
+            return entry.dfa;
+        }
+    }
+
+    public static void setMaxSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be greater than zero.");
+        }
+
+        synchronized (lock) {
+            maxSize = size;
+
+            while (patterns.size() > maxSize) {
+                Key eldest = patterns.keySet().iterator().next();
+                patterns.remove(eldest);
+            }
+        }
+    }
+
+    public static int size() {
+        synchronized (lock) {
+            return patterns.size();
+        }
+    }
+
+    public static long hitCount() {
+        synchronized (lock) {
+            return hitCount;
+        }
+    }
+
+    public static long missCount() {
+        synchronized (lock) {
+            return missCount;
+        }
+    }
+
+    public static void clear() {
+        synchronized (lock) {
+            patterns.clear();
+            hitCount = 0;
+            missCount = 0;
+        }
+    }
+
+    /**
+     * Fields other than the pattern are guarded by the lock.
+     */
+    private static final class Compiled {
+
+        final Pattern pattern;
+        Dfa dfa;
+        boolean dfaCompiled;
+
+        Compiled(Pattern pattern) {
+            this.pattern = pattern;
+        }
+    }
+
+    private static final class Key {
+
+        final String regex;
+        final int flags;
+
+        Key(String regex, int flags) {
+            if (regex == null) {
+                throw new NullPointerException("regex cannot be null.");
+            }
+
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+
+            Key another = (Key) obj;
+
+            return flags == another.flags && regex.equals(another.regex);
+        }
+
+        @Override public int hashCode() {
+            return 31 * regex.hashCode() + flags;
+        }
+    }
+
+}
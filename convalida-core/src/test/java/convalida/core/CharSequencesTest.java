@@ -0,0 +1,40 @@
+package convalida.core;
+
+import org.junit.Test;
+
+import convalida.core.util.CharSequences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CharSequencesTest {
+
+    @Test public void contentEquals() {
+        assertTrue(CharSequences.contentEquals(new StringBuilder("abc"), "abc"));
+        assertFalse(CharSequences.contentEquals("abc", "abd"));
+        assertFalse(CharSequences.contentEquals("abc", "ab"));
+    }
+
+    @Test public void isDigitsOnly() {
+        assertTrue(CharSequences.isDigitsOnly("0123456789"));
+        assertFalse(CharSequences.isDigitsOnly(""));
+        assertFalse(CharSequences.isDigitsOnly("12a"));
+    }
+
+    @Test public void stripReturnsSameValueWhenThereIsNothingToStrip() {
+        StringBuilder buffer = new StringBuilder();
+        String value = "12345678909";
+        assertSame(value, CharSequences.strip(value, ".-", buffer));
+    }
+
+    @Test public void stripReusesBuffer() {
+        StringBuilder buffer = new StringBuilder();
+        CharSequence stripped = CharSequences.strip("123.456.789-09", ".-", buffer);
+        assertSame(buffer, stripped);
+        assertEquals("12345678909", stripped.toString());
+        assertEquals("ab", CharSequences.stripSpaces(" a b ", buffer).toString());
+    }
+
+}
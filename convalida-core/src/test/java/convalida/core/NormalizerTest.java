@@ -0,0 +1,68 @@
+package convalida.core;
+
+import org.junit.Test;
+
+import convalida.core.util.Normalizer;
+import convalida.core.util.Normalizer.Step;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class NormalizerTest {
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Test public void returnsSameValueWhenNothingChanges() {
+        String value = "12345678909";
+        Normalizer normalizer = Normalizer.of(Step.values());
+
+        assertSame(value, normalizer.normalize(value, buffer));
+        assertSame(value, Normalizer.of().normalize(value, buffer));
+    }
+
+    @Test public void trims() {
+        Normalizer normalizer = Normalizer.of(Step.TRIM);
+
+        assertEquals("a b", normalizer.normalize(" \ta b\n ", buffer).toString());
+        assertEquals("", normalizer.normalize("   ", buffer).toString());
+    }
+
+    @Test public void stripsWhitespace() {
+        Normalizer normalizer = Normalizer.of(Step.STRIP_WHITESPACE);
+
+        assertEquals("abc", normalizer.normalize(" a\u00a0b\tc ", buffer).toString());
+    }
+
+    @Test public void stripsMasks() {
+        Normalizer normalizer = Normalizer.of(Step.STRIP_MASK);
+
+        assertEquals("12345678909", normalizer.normalize("123.456.789-09", buffer).toString());
+        assertEquals("11234567890", normalizer.normalize("(11) 23456-7890", buffer).toString());
+        assertEquals("12345678000195", normalizer.normalize("12.345.678/0001-95", buffer).toString());
+    }
+
+    @Test public void foldsDigits() {
+        Normalizer normalizer = Normalizer.of(Step.FOLD_DIGITS);
+
+        assertEquals("0129", normalizer.normalize("\u0660\u0661\u0662\u0669", buffer).toString());
+        assertEquals("a7", normalizer.normalize("a\u096d", buffer).toString());
+        assertEquals("5", normalizer.normalize("\ud835\udfd3", buffer).toString());
+    }
+
+    @Test public void foldsCase() {
+        Normalizer normalizer = Normalizer.of(Step.FOLD_CASE);
+
+        assertEquals("john@mail.com", normalizer.normalize("John@MAIL.com", buffer).toString());
+        assertEquals("\u00e9\u03c3", normalizer.normalize("\u00c9\u03c2", buffer).toString());
+    }
+
+    @Test public void combinesStepsInOnePass() {
+        Normalizer normalizer = Normalizer.of(Step.FOLD_CASE, Step.STRIP_MASK, Step.TRIM, Step.FOLD_DIGITS);
+
+        CharSequence normalized = normalizer.normalize("  AB-\u0661\u0662.3 c ", buffer);
+
+        assertSame(buffer, normalized);
+        assertEquals("ab123c", normalized.toString());
+    }
+
+}
@@ -0,0 +1,90 @@
+package convalida.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import convalida.core.engine.Dfa;
+import convalida.core.rules.PasswordRule;
+import convalida.core.rules.PatternRule;
+import convalida.core.util.PatternCache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PatternCacheTest {
+
+    @Before public void setUp() {
+        PatternCache.setMaxSize(PatternCache.DEFAULT_MAX_SIZE);
+        PatternCache.clear();
+    }
+
+    @Test public void samePatternStringReturnsSameInstance() {
+        Pattern first = PatternCache.get("^\\d+$");
+        Pattern second = PatternCache.get(new String("^\\d+$"));
+        assertSame(first, second);
+        assertEquals(1, PatternCache.missCount());
+        assertEquals(1, PatternCache.hitCount());
+    }
+
+    @Test public void differentFlagsAreCachedSeparately() {
+        Pattern sensitive = PatternCache.get("[a-z]+");
+        Pattern insensitive = PatternCache.get("[a-z]+", Pattern.CASE_INSENSITIVE);
+        assertNotSame(sensitive, insensitive);
+        assertEquals(2, PatternCache.size());
+    }
+
+    @Test public void evictsLeastRecentlyUsedPattern() {
+        PatternCache.setMaxSize(2);
+        Pattern a = PatternCache.get("a");
+        PatternCache.get("b");
+        PatternCache.get("a");
+        PatternCache.get("c");
+        assertEquals(2, PatternCache.size());
+        assertSame(a, PatternCache.get("a"));
+        PatternCache.get("b");
+        assertEquals(4, PatternCache.missCount());
+    }
+
+    @Test public void rulesShareCompiledPatterns() {
+        PatternCache.get("^[a-z]{2,}$");
+        new PatternRule("^[a-z]{2,}$", true);
+        new PasswordRule(0, "^[a-z]{2,}$");
+        assertEquals(1, PatternCache.missCount());
+        assertEquals(2, PatternCache.hitCount());
+    }
+
+    @Test public void rulesShareCompiledAutomata() {
+        String regex = "^[a-z0-9._-]{1,16}@[a-z0-9.-]{1,16}\\.[a-z]{2,6}$";
+        Dfa dfa = PatternCache.getDfa(PatternCache.get(regex));
+
+        assertNotNull(dfa);
+        assertSame(dfa, PatternCache.getDfa(PatternCache.get(regex)));
+        assertSame(dfa, PatternCache.getDfa(Pattern.compile(regex)));
+        assertFalse(new PatternRule(regex, true).usesRegex());
+        assertEquals(1, PatternCache.size());
+        assertEquals(1, PatternCache.missCount());
+        assertEquals(2, PatternCache.hitCount());
+    }
+
+    @Test public void unsupportedPatternsHaveNoAutomaton() {
+        Pattern pattern = PatternCache.get("\\bword");
+
+        assertNull(PatternCache.getDfa(pattern));
+        assertNull(PatternCache.getDfa(pattern));
+        assertTrue(new PatternRule("\\bword", true).usesRegex());
+        assertEquals(1, PatternCache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidMaxSize() {
+        PatternCache.setMaxSize(0);
+    }
+
+}
@@ -0,0 +1,233 @@
+package convalida.core;
+
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import convalida.core.engine.Clock;
+import convalida.core.engine.DateParser;
+import convalida.core.engine.MatchBudget;
+import convalida.core.rules.CnpjRule;
+import convalida.core.rules.CpfRule;
+import convalida.core.rules.CreditCardRule;
+import convalida.core.rules.EmailRule;
+import convalida.core.rules.FutureDateRule;
+import convalida.core.rules.Ipv4Rule;
+import convalida.core.rules.Ipv6Rule;
+import convalida.core.rules.IsbnRule;
+import convalida.core.rules.LengthRule;
+import convalida.core.rules.NumericLimitRule;
+import convalida.core.rules.OnlyNumberRule;
+import convalida.core.rules.PasswordRule;
+import convalida.core.rules.PastDateRule;
+import convalida.core.rules.PatternRule;
+import convalida.core.rules.RequiredRule;
+import convalida.core.rules.UrlRule;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs every rule on a plain JVM, without any Android class.
+ */
+public class RulesTest {
+
+    @Test public void required() {
+        Rule rule = new RequiredRule();
+        assertTrue(rule.isValid("a"));
+        assertFalse(rule.isValid(""));
+    }
+
+    @Test public void length() {
+        Rule rule = new LengthRule(2, 4, true);
+        assertTrue(rule.isValid("a b c"));
+        assertFalse(rule.isValid("a"));
+        assertFalse(rule.isValid("abcde"));
+        assertFalse(rule.isValid("  "));
+        assertTrue(new LengthRule(2, 0, false).isValid(""));
+    }
+
+    @Test public void onlyNumber() {
+        assertTrue(new OnlyNumberRule(true).isValid("12 34"));
+        assertFalse(new OnlyNumberRule(true).isValid("12a"));
+        assertFalse(new OnlyNumberRule(true).isValid(" "));
+        assertTrue(new OnlyNumberRule(false).isValid(""));
+    }
+
+    @Test public void pattern() {
+        Rule rule = new PatternRule("[a-z]+", true);
+        assertTrue(rule.isValid(new StringBuilder("ab c")));
+        assertFalse(rule.isValid("ab1"));
+        assertFalse(rule.isValid(""));
+    }
+
+    @Test public void email() {
+        assertTrue(new EmailRule(true).isValid("test@test.com"));
+        assertFalse(new EmailRule(true).isValid("test@test"));
+        assertTrue(new EmailRule(false).isValid(""));
+    }
+
+    @Test public void password() {
+        assertTrue(new PasswordRule(3, "").isValid("abc"));
+        assertFalse(new PasswordRule(3, "").isValid("ab"));
+        assertFalse(new PasswordRule(0, "[0-9]+").isValid("abc"));
+    }
+
+    @Test public void documents() {
+        assertTrue(new CpfRule(true).isValid("111.444.777-35"));
+        assertFalse(new CpfRule(true).isValid("111.444.777-36"));
+        assertTrue(new CnpjRule(true).isValid("11.222.333/0001-81"));
+        assertFalse(new CnpjRule(true).isValid("11.222.333/0001-82"));
+    }
+
+    @Test public void creditCard() {
+        assertTrue(new CreditCardRule(true).isValid("4111 1111 1111 1111"));
+        assertFalse(new CreditCardRule(true).isValid("4111 1111 1111 1112"));
+    }
+
+    @Test public void network() {
+        assertTrue(new UrlRule(true).isValid("https://github.com"));
+        assertFalse(new UrlRule(true).isValid("github"));
+        assertTrue(new Ipv4Rule(true).isValid("192.168.0.1"));
+        assertFalse(new Ipv4Rule(true).isValid("192.168.0.256"));
+        assertTrue(new Ipv6Rule(true).isValid("::1"));
+        assertFalse(new Ipv6Rule(true).isValid("::g"));
+    }
+
+    @Test public void isbn() {
+        assertTrue(new IsbnRule(true).isValid("9780306406157"));
+        assertFalse(new IsbnRule(true).isValid("9780306406158"));
+    }
+
+    @Test public void numericLimit() {
+        Rule rule = new NumericLimitRule("1", "10.5", true);
+        assertTrue(rule.isValid("10.5"));
+        assertFalse(rule.isValid("10.6"));
+        assertFalse(rule.isValid("abc"));
+        assertTrue(rule.isValid("1e1"));
+        assertFalse(rule.isValid("0.999999999999999999999"));
+        assertTrue(new NumericLimitRule("1", "10.5", false).isValid(""));
+    }
+
+    @Test public void localeNumericLimit() {
+        Rule rule = new NumericLimitRule("1000", "2000.5", true, new Locale("pt", "BR"));
+        assertTrue(rule.isValid("1.500,25"));
+        assertTrue(rule.isValid("2000,5"));
+        assertFalse(rule.isValid("2.000,51"));
+        assertFalse(rule.isValid("1,500.25"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidNumericLimit() {
+        new NumericLimitRule("one", "10", true);
+    }
+
+    @Test public void dates() {
+        assertTrue(new PastDateRule("dd/MM/yyyy", "01/01/2000", true).isValid("02/01/2000"));
+        assertFalse(new PastDateRule("dd/MM/yyyy", "01/01/2000", true).isValid("31/12/1999"));
+        assertTrue(new FutureDateRule("dd/MM/yyyy", "01/01/2000", true).isValid("31/12/1999"));
+        assertFalse(new FutureDateRule("dd/MM/yyyy", "01/01/2000", true).isValid("02/01/2000"));
+        assertFalse(new PastDateRule("dd/MM/yyyy", "01/01/2000", true).isValid("02/01/20"));
+        assertTrue(new PastDateRule("dd/MM/yyyy", "1/1/2000", true).isValid("01/01/2000"));
+    }
+
+    @Test public void relativeDates() {
+        Clock clock = Clock.fixed(DateParser.toEpochDay(2026, 10, 17) * 86400000L,
+                TimeZone.getTimeZone("UTC"));
+        Rule adult = new FutureDateRule("dd/MM/yyyy", "today-18y", true, clock);
+        Rule expiry = new FutureDateRule("dd/MM/yyyy", "today+90d", true, clock);
+
+        assertTrue(adult.isValid("17/10/2008"));
+        assertFalse(adult.isValid("18/10/2008"));
+        assertTrue(expiry.isValid("15/01/2027"));
+        assertFalse(expiry.isValid("16/01/2027"));
+        assertTrue(new PastDateRule("dd/MM/yyyy", "today", true, clock).isValid("17/10/2026"));
+        assertFalse(new PastDateRule("dd/MM/yyyy", "today", true, clock).isValid("16/10/2026"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidRelativeLimitDate() {
+        new FutureDateRule("dd/MM/yyyy", "today-18", true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidLimitDate() {
+        new PastDateRule("dd/MM/yyyy", "2000", true);
+    }
+
+    @Test public void matchersDoNotKeepTheValue() throws Exception {
+        // Lookaheads keep the patterns off the automaton, so they are run by a Matcher.
+        String pattern = "^(?=.*[0-9])(?=.*x)[a-z0-9]+$";
+        Rule[] rules = {
+                new PatternRule(pattern, true),
+                new PatternRule(pattern, true, MatchBudget.of(64, 10000, MatchBudget.UNLIMITED)),
+                new PasswordRule(3, pattern)
+        };
+
+        for (Rule rule : rules) {
+            StringBuilder value = new StringBuilder("abc123x");
+            WeakReference<StringBuilder> reference = new WeakReference<>(value);
+
+            assertTrue(rule.isValid(value));
+            value = null;
+            assertCollected(reference);
+        }
+
+        StringBuilder value = new StringBuilder("abc");
+        WeakReference<StringBuilder> reference = new WeakReference<>(value);
+
+        assertTrue(((PatternRule) rules[0]).canMatch(value));
+        value = null;
+        assertCollected(reference);
+    }
+
+    @Test public void rulesCanBeSharedBetweenThreads() throws Exception {
+        final Rule email = new EmailRule(true);
+        final Rule cpf = new CpfRule(true);
+        final Rule date = new PastDateRule("dd/MM/yyyy", "01/01/2000", true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            final boolean valid = i % 2 == 0;
+
+            results.add(executor.submit(new Callable<Boolean>() {
+                @Override public Boolean call() {
+                    for (int j = 0; j < 2000; j++) {
+                        if (email.isValid(valid ? "a b@test.com" : "a b@test") != valid) return false;
+                        if (cpf.isValid(valid ? "111.444.777-35" : "111.444.777-36") != valid) return false;
+                        if (date.isValid(valid ? "02/01/2000" : "31/12/1999") != valid) return false;
+                    }
+
+                    return true;
+                }
+            }));
+        }
+
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+
+        executor.shutdown();
+    }
+
+    private static void assertCollected(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+    }
+
+}
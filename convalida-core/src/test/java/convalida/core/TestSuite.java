@@ -0,0 +1,35 @@
+package convalida.core;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+import convalida.core.engine.BrazilianDocumentsTest;
+import convalida.core.engine.DateLimitTest;
+import convalida.core.engine.DateParserTest;
+import convalida.core.engine.DecimalParserTest;
+import convalida.core.engine.DfaTest;
+import convalida.core.engine.InetAddressesTest;
+import convalida.core.engine.MatchBudgetTest;
+import convalida.core.engine.PasswordPolicyTest;
+import convalida.core.engine.PaymentCardsTest;
+import convalida.core.engine.UrlScannerTest;
+
+@RunWith(Suite.class)
+@SuiteClasses({
+        PatternCacheTest.class,
+        CharSequencesTest.class,
+        RulesTest.class,
+        BrazilianDocumentsTest.class,
+        PaymentCardsTest.class,
+        UrlScannerTest.class,
+        InetAddressesTest.class,
+        DateParserTest.class,
+        DateLimitTest.class,
+        DecimalParserTest.class,
+        PasswordPolicyTest.class,
+        DfaTest.class,
+        MatchBudgetTest.class,
+        NormalizerTest.class
+})
+public class TestSuite { }
@@ -0,0 +1,75 @@
+package convalida.core.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BrazilianDocumentsTest {
+
+    @Test public void validCpf() {
+        assertTrue(BrazilianDocuments.isValidCpf("52998224725"));
+        assertTrue(BrazilianDocuments.isValidCpf("529.982.247-25"));
+        assertTrue(BrazilianDocuments.isValidCpf(new StringBuilder("529 982 247 25")));
+    }
+
+    @Test public void invalidCpf() {
+        assertFalse(BrazilianDocuments.isValidCpf("529.982.247-26"));
+        assertFalse(BrazilianDocuments.isValidCpf("529.982.247-2"));
+        assertFalse(BrazilianDocuments.isValidCpf("529.982.247-255"));
+        assertFalse(BrazilianDocuments.isValidCpf("529/982/247-25"));
+        assertFalse(BrazilianDocuments.isValidCpf("5299822472A"));
+        assertFalse(BrazilianDocuments.isValidCpf(""));
+    }
+
+    @Test public void blacklistedCpf() {
+        assertFalse(BrazilianDocuments.isValidCpf("000.000.000-00"));
+        assertFalse(BrazilianDocuments.isValidCpf("99999999999"));
+        assertFalse(BrazilianDocuments.isValidCpf("123.456.789-09"));
+    }
+
+    @Test public void validNumericCnpj() {
+        assertTrue(BrazilianDocuments.isValidCnpj("11222333000181"));
+        assertTrue(BrazilianDocuments.isValidCnpj("11.222.333/0001-81"));
+        assertTrue(BrazilianDocuments.isValidCnpj(new StringBuilder("39321557000160")));
+    }
+
+    @Test public void validAlphanumericCnpj() {
+        assertTrue(BrazilianDocuments.isValidCnpj("12ABC34501DE35"));
+        assertTrue(BrazilianDocuments.isValidCnpj("12.ABC.345/01DE-35"));
+        assertTrue(BrazilianDocuments.isValidCnpj("12.abc.345/01de-35"));
+    }
+
+    @Test public void invalidCnpj() {
+        assertFalse(BrazilianDocuments.isValidCnpj("12.ABC.345/01DE-36"));
+        assertFalse(BrazilianDocuments.isValidCnpj("12.ABC.345/01DF-35"));
+        assertFalse(BrazilianDocuments.isValidCnpj("12.ABC.345/01DE-3A"));
+        assertFalse(BrazilianDocuments.isValidCnpj("12.AB#.345/01DE-35"));
+        assertFalse(BrazilianDocuments.isValidCnpj("11.222.333/0001"));
+        assertFalse(BrazilianDocuments.isValidCnpj("11.222.333/0001-811"));
+        assertFalse(BrazilianDocuments.isValidCnpj("00000000000000"));
+        assertFalse(BrazilianDocuments.isValidCnpj(""));
+    }
+
+    @Test public void validatesBatches() {
+        CharSequence[] documents = { "529.982.247-25", "529.982.247-26", "111.444.777-35" };
+        boolean[] results = new boolean[documents.length];
+
+        assertEquals(2, BrazilianDocuments.validateCpfs(documents, results));
+        assertArrayEquals(new boolean[] { true, false, true }, results);
+
+        documents = new CharSequence[] { "12.ABC.345/01DE-35", "11.222.333/0001-82" };
+        results = new boolean[documents.length];
+
+        assertEquals(1, BrazilianDocuments.validateCnpjs(documents, results));
+        assertArrayEquals(new boolean[] { true, false }, results);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchNeedsRoomForEveryResult() {
+        BrazilianDocuments.validateCpfs(new CharSequence[] { "52998224725" }, new boolean[0]);
+    }
+
+}
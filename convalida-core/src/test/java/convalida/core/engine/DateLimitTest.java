@@ -0,0 +1,142 @@
+package convalida.core.engine;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DateLimitTest {
+
+    private static final long MILLIS_PER_DAY = 86400000;
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final DateParser PARSER = DateParser.compile("dd/MM/yyyy");
+
+    @Test public void fixedLimits() {
+        Clock clock = Clock.fixed(0, UTC);
+
+        assertEquals(20743, DateLimit.parse("17/10/2026", "dd/MM/yyyy", PARSER, clock).epochDay());
+        assertEquals(10957, DateLimit.parse("1/1/2000", "dd/MM/yyyy", PARSER, clock).epochDay());
+    }
+
+    @Test public void lenientLimitsAreReadInTheLocaleOfTheParser() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+
+        try {
+            String format = "dd MMMM yyyy";
+            DateParser parser = DateParser.compile(format, new Locale("pt", "BR"));
+            DateLimit limit = DateLimit.parse("30 fevereiro 2000", format, parser, Clock.fixed(0, UTC));
+
+            assertEquals(day(2000, 3, 1), limit.epochDay());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test public void relativeLimits() {
+        Clock clock = Clock.fixed(DateParser.toEpochDay(2026, 10, 17) * MILLIS_PER_DAY, UTC);
+
+        assertEquals(day(2026, 10, 17), relative("today", clock));
+        assertEquals(day(2008, 10, 17), relative("today-18y", clock));
+        assertEquals(day(2027, 1, 15), relative("today+90d", clock));
+        assertEquals(day(2026, 10, 31), relative("today+2w", clock));
+        assertEquals(day(2026, 4, 17), relative("today-6m", clock));
+        assertEquals(day(2025, 10, 18), relative("today-1y+1d", clock));
+    }
+
+    @Test public void clampsDayOfMonth() {
+        Clock leapDay = Clock.fixed(day(2000, 2, 29) * MILLIS_PER_DAY, UTC);
+        Clock monthEnd = Clock.fixed(day(2026, 1, 31) * MILLIS_PER_DAY, UTC);
+
+        assertEquals(day(2001, 2, 28), relative("today+1y", leapDay));
+        assertEquals(day(2004, 2, 29), relative("today+4y", leapDay));
+        assertEquals(day(2026, 2, 28), relative("today+1m", monthEnd));
+        assertEquals(day(2025, 11, 30), relative("today-2m", monthEnd));
+    }
+
+    @Test public void followsTheClockTimeZone() {
+        long instant = day(2026, 10, 17) * MILLIS_PER_DAY + 2 * 3600000;
+
+        assertEquals(day(2026, 10, 17), relative("today", Clock.fixed(instant, UTC)));
+        assertEquals(day(2026, 10, 16),
+                relative("today", Clock.fixed(instant, TimeZone.getTimeZone("GMT-03:00"))));
+    }
+
+    @Test public void recomputesWhenTheDayChanges() {
+        TestClock clock = new TestClock(day(2026, 10, 17) * MILLIS_PER_DAY);
+        DateLimit limit = DateLimit.parse("today-18y", "dd/MM/yyyy", PARSER, clock);
+
+        assertEquals(day(2008, 10, 17), limit.epochDay());
+
+        clock.millis += MILLIS_PER_DAY - 1;
+        assertEquals(day(2008, 10, 17), limit.epochDay());
+        assertEquals(1, clock.timeZoneReads);
+
+        clock.millis += 1;
+        assertEquals(day(2008, 10, 18), limit.epochDay());
+        assertEquals(2, clock.timeZoneReads);
+
+        clock.millis -= 2 * MILLIS_PER_DAY;
+        assertEquals(day(2008, 10, 16), limit.epochDay());
+    }
+
+    @Test public void relativeExpressions() {
+        assertTrue(DateLimit.isRelative("today+1d"));
+        assertTrue(DateLimit.isRelative("today"));
+        assertFalse(DateLimit.isRelative("17/10/2026"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownUnit() {
+        relative("today+18x", Clock.system());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingAmount() {
+        relative("today-y", Clock.system());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingUnit() {
+        relative("today+90", Clock.system());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingSign() {
+        relative("today 18y", Clock.system());
+    }
+
+    private static long relative(String expression, Clock clock) {
+        return DateLimit.parse(expression, "dd/MM/yyyy", PARSER, clock).epochDay();
+    }
+
+    private static long day(int year, int month, int day) {
+        return DateParser.toEpochDay(year, month, day);
+    }
+
+    private static final class TestClock extends Clock {
+
+        long millis;
+        int timeZoneReads;
+
+        TestClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override public long currentTimeMillis() {
+            return millis;
+        }
+
+        @Override public TimeZone getTimeZone() {
+            timeZoneReads++;
+            return UTC;
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package convalida.core.engine;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DateParserTest {
+
+    @Test public void epochDays() {
+        assertEquals(0, DateParser.toEpochDay(1970, 1, 1));
+        assertEquals(-1, DateParser.toEpochDay(1969, 12, 31));
+        assertEquals(11016, DateParser.toEpochDay(2000, 2, 29));
+        assertEquals(20743, DateParser.toEpochDay(2026, 10, 17));
+        assertEquals(-25567, DateParser.toEpochDay(1900, 1, 1));
+    }
+
+    @Test public void fixedWidthPatterns() {
+        assertTrue(DateParser.compile("dd/MM/yyyy").isFixedWidth());
+        assertTrue(DateParser.compile("yyyy-MM-dd").isFixedWidth());
+        assertTrue(DateParser.compile("MM.dd.yyyy").isFixedWidth());
+        assertFalse(DateParser.compile("d/M/yyyy").isFixedWidth());
+        assertFalse(DateParser.compile("dd/MMM/yyyy", Locale.US).isFixedWidth());
+        assertFalse(DateParser.compile("dd/MM/yy").isFixedWidth());
+        assertFalse(DateParser.compile("dd/MM").isFixedWidth());
+    }
+
+    @Test public void parsesFixedWidthDates() {
+        DateParser parser = DateParser.compile("dd/MM/yyyy");
+
+        assertEquals(20743, parser.parseEpochDay("17/10/2026"));
+        assertEquals(11016, parser.parseEpochDay(new StringBuilder("29/02/2000")));
+        assertEquals(20743, DateParser.compile("yyyy-MM-dd").parseEpochDay("2026-10-17"));
+    }
+
+    @Test public void acceptsOneDigitDaysAndMonths() {
+        DateParser parser = DateParser.compile("dd/MM/yyyy");
+
+        assertEquals(10957, parser.parseEpochDay("1/1/2000"));
+        assertEquals(10957, parser.parseEpochDay("01/1/2000"));
+        assertEquals(20743, parser.parseEpochDay("17/10/2026"));
+        assertEquals(20369, parser.parseEpochDay("8/10/2025"));
+        assertEquals(20730, DateParser.compile("yyyy-MM-dd").parseEpochDay("2026-10-4"));
+    }
+
+    @Test public void abuttingFieldsKeepTheirWidth() {
+        DateParser parser = DateParser.compile("ddMMyyyy");
+
+        assertTrue(parser.isFixedWidth());
+        assertEquals(20743, parser.parseEpochDay("17102026"));
+        assertEquals(DateParser.INVALID, parser.parseEpochDay("1102026"));
+        assertEquals(DateParser.INVALID, parser.parseEpochDay("171026"));
+    }
+
+    @Test public void rejectsPartialAndImpossibleDates() {
+        DateParser parser = DateParser.compile("dd/MM/yyyy");
+        String[] values = {
+                "", "1", "17/", "17/1", "17/10/", "17/10/202", "17/10/20266", "1/1/26",
+                "17-10-2026", "aa/10/2026", "32/01/2026", "00/01/2026", "29/02/2026",
+                "31/04/2026", "01/13/2026", "01/00/2026", "01/01/0000", "001/01/2026",
+                "01/1/", "/1/2026"
+        };
+
+        for (String value : values) {
+            assertEquals(value, DateParser.INVALID, parser.parseEpochDay(value));
+        }
+    }
+
+    @Test public void generalPatterns() {
+        DateParser parser = DateParser.compile("d MMM yyyy", Locale.US);
+
+        assertEquals(20743, parser.parseEpochDay("17 Oct 2026"));
+        assertEquals(-25567, parser.parseEpochDay("1 Jan 1900"));
+        assertEquals(DateParser.INVALID, parser.parseEpochDay("17 Oct"));
+        assertEquals(DateParser.INVALID, parser.parseEpochDay("17 Oct 2026 trailing"));
+        assertEquals(DateParser.INVALID, parser.parseEpochDay("30 Feb 2026"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPattern() {
+        DateParser.compile("dd/MM/yyyy qq");
+    }
+
+}
@@ -0,0 +1,158 @@
+package convalida.core.engine;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DecimalParserTest {
+
+    private static final DecimalParser PLAIN = DecimalParser.plain();
+
+    @Test public void parsesPlainNumbers() {
+        assertNumber("0", PLAIN, "0");
+        assertNumber("-1.5", PLAIN, "-1.5");
+        assertNumber("+10.50", PLAIN, "10.50");
+        assertNumber(".5", PLAIN, "0.5");
+        assertNumber("1.", PLAIN, "1");
+        assertNumber("0.0001", PLAIN, "0.0001");
+        assertNumber("2e3", PLAIN, "2E+3");
+        assertNumber("1.5E-3", PLAIN, "0.0015");
+        assertNumber("000000000000000000000007", PLAIN, "7");
+    }
+
+    @Test public void rejectsMalformedNumbers() {
+        String[] values = {
+                "", "-", "+", ".", "abc", "1.2.3", "1,000", " 1", "1 ", "--1", "1e", "1e+",
+                "e5", "1e5.5", "1x", "0x10", "1e99999999999"
+        };
+
+        for (String value : values) {
+            assertFalse(value, PLAIN.parse(value, new Decimal()));
+        }
+    }
+
+    @Test public void fallsBackToBigDecimal() {
+        Decimal decimal = new Decimal();
+        String value = "123456789012345678901234567890.123456789";
+
+        assertTrue(PLAIN.parse(value, decimal));
+        assertFalse(decimal.isCompact());
+        assertEquals(new BigDecimal(value), decimal.toBigDecimal());
+
+        assertTrue(PLAIN.parse("123456789012345678", decimal));
+        assertTrue(decimal.isCompact());
+    }
+
+    @Test public void parsesLocaleNumbers() {
+        DecimalParser brazil = DecimalParser.forLocale(new Locale("pt", "BR"));
+        DecimalParser us = DecimalParser.forLocale(Locale.US);
+
+        assertNumber("1.234,5", brazil, "1234.5");
+        assertNumber("1234,5", brazil, "1234.5");
+        assertNumber("-1.234.567", brazil, "-1234567");
+        assertNumber("1,234.5", us, "1234.5");
+        assertNumber("12,345,678", us, "12345678");
+
+        assertFalse(brazil.parse("1,234.5", new Decimal()));
+        assertFalse(us.parse("1,23", new Decimal()));
+        assertFalse(us.parse("1234,567", new Decimal()));
+        assertFalse(us.parse(",123", new Decimal()));
+        assertFalse(us.parse("1,234,", new Decimal()));
+        assertFalse(us.parse("1e3", new Decimal()));
+    }
+
+    @Test public void acceptsSpacesForNoBreakSpaceGrouping() {
+        DecimalParser french = DecimalParser.forLocale(Locale.FRANCE);
+        Decimal decimal = new Decimal();
+
+        assertTrue(french.parse("1 234,5", decimal));
+        assertEquals(0, new BigDecimal("1234.5").compareTo(decimal.toBigDecimal()));
+    }
+
+    @Test public void comparesExactly() {
+        assertEquals(0, compare("10.5", "10.50"));
+        assertEquals(0, compare("0", "-0.000"));
+        assertEquals(-1, compare("10", "10.000000000000000001"));
+        assertEquals(1, compare("1e30", "999999999999999999"));
+        assertEquals(-1, compare("-1e30", "-999999999999999999"));
+        assertEquals(1, compare("0.1", "-5"));
+        assertEquals(-1, compare("123456789012345678", "1234567890123456789"));
+        assertEquals(1, compare("5", "0.00000000000000000000000001"));
+    }
+
+    @Test public void comparesLikeBigDecimal() {
+        Random random = new Random(42);
+        Decimal a = new Decimal();
+        Decimal b = new Decimal();
+
+        for (int i = 0; i < 10000; i++) {
+            String first = randomNumber(random);
+            String second = randomNumber(random);
+
+            assertTrue(first, PLAIN.parse(first, a));
+            assertTrue(second, PLAIN.parse(second, b));
+            assertEquals(first + " " + second,
+                    new BigDecimal(first).compareTo(new BigDecimal(second)), a.compareTo(b));
+        }
+    }
+
+    @Test public void cachesByText() {
+        DecimalCache cache = new DecimalCache(PLAIN);
+        StringBuilder text = new StringBuilder("12");
+
+        Decimal decimal = cache.get(text);
+        assertEquals(new BigDecimal("12"), decimal.toBigDecimal());
+        assertSame(decimal, cache.get(text));
+
+        text.append('.');
+        text.append('5');
+        assertEquals(new BigDecimal("12.5"), cache.get(text).toBigDecimal());
+
+        text.append('x');
+        assertNull(cache.get(text));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidValueOf() {
+        PLAIN.valueOf("ten");
+    }
+
+    private static void assertNumber(String value, DecimalParser parser, String expected) {
+        Decimal decimal = new Decimal();
+
+        assertTrue(value, parser.parse(value, decimal));
+        assertEquals(value, 0, new BigDecimal(expected).compareTo(decimal.toBigDecimal()));
+    }
+
+    private static int compare(String a, String b) {
+        return Integer.signum(PLAIN.valueOf(a).compareTo(PLAIN.valueOf(b)));
+    }
+
+    private static String randomNumber(Random random) {
+        StringBuilder number = new StringBuilder();
+
+        if (random.nextBoolean()) number.append('-');
+
+        int digits = 1 + random.nextInt(random.nextInt(5) == 0 ? 25 : 6);
+
+        for (int i = 0; i < digits; i++) number.append((char) ('0' + random.nextInt(10)));
+
+        if (random.nextBoolean()) {
+            number.append('.');
+            for (int i = random.nextInt(6); i >= 0; i--) number.append((char) ('0' + random.nextInt(3)));
+        }
+
+        if (random.nextInt(4) == 0) number.append('e').append(random.nextInt(41) - 20);
+
+        return number.toString();
+    }
+
+}
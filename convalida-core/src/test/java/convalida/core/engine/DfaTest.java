@@ -0,0 +1,184 @@
+package convalida.core.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import convalida.core.rules.PatternRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DfaTest {
+
+    private static final String[] PATTERNS = {
+            "abc",
+            "^a*b$",
+            "(a|b)*abb",
+            "a{2,4}",
+            "a{3}b{0,}",
+            "(?:ab|a)+?c?",
+            "[a-c]+\\d{2}",
+            "[^ab\\s]*",
+            "\\w+@\\W?",
+            ".*a.*",
+            "x|^y$|",
+            "(a*)*b",
+            "[\\d-]+",
+            "[a\\-z]\\.\\x41\\u00e9",
+            "\\S\\D?[\\w&]*",
+            "\\uD83D\\uDE00?a"
+    };
+
+    private static final char[] ALPHABET = {
+            'a', 'b', 'c', 'x', 'y', 'z', 'A', 'B', '0', '1', '-', '.', '@', '&', '_', ' ', '\t',
+            '\n', '\r', '\u0085', '\u00a0', '\u00e9', '\uD83D', '\uDE00'
+    };
+
+    @Test public void matchesLikePattern() {
+        Random random = new Random(42);
+
+        for (String regex : PATTERNS) {
+            for (int flags : new int[] { 0, Pattern.CASE_INSENSITIVE }) {
+                Dfa dfa = Dfa.compile(regex, flags);
+
+                if (regex.contains("\\uD83D")) {
+                    assertNull(regex, dfa);
+                    continue;
+                }
+
+                assertNotNull(regex, dfa);
+
+                Pattern pattern = Pattern.compile(regex, flags);
+
+                for (int i = 0; i < 2000; i++) {
+                    String value = randomValue(random);
+
+                    assertEquals(regex + " " + value,
+                            pattern.matcher(value).matches(), dfa.matches(value));
+                }
+            }
+        }
+    }
+
+    @Test public void matchesIncrementally() {
+        Random random = new Random(7);
+        Pattern pattern = Pattern.compile("(a|b)*abb|[xy]+\\d?");
+        Dfa.IncrementalMatcher matcher = Dfa.compile(pattern.pattern()).newMatcher();
+        StringBuilder value = new StringBuilder();
+
+        for (int i = 0; i < 5000; i++) {
+            int edit = random.nextInt(10);
+
+            if (edit < 6 || value.length() == 0) {
+                value.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            } else if (edit < 8) {
+                value.setLength(value.length() - 1);
+            } else {
+                value.setCharAt(random.nextInt(value.length()), random.nextBoolean() ? 'a' : 'b');
+            }
+
+            assertEquals(value.toString(),
+                    pattern.matcher(value).matches(), matcher.matches(value));
+        }
+    }
+
+    @Test public void tellsWhetherPrefixesCanMatch() {
+        Dfa.IncrementalMatcher matcher =
+                Dfa.compile("[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}", Pattern.CASE_INSENSITIVE)
+                        .newMatcher();
+
+        assertTrue(matcher.canMatch(""));
+        assertTrue(matcher.canMatch("john"));
+        assertTrue(matcher.canMatch("john@"));
+        assertTrue(matcher.canMatch("john@mail.co"));
+        assertTrue(matcher.matches("john@mail.co"));
+        assertFalse(matcher.matches("john@mail"));
+        assertFalse(matcher.canMatch("john@@"));
+        assertFalse(matcher.canMatch("john doe"));
+        assertFalse(matcher.canMatch("john@mail.co!"));
+    }
+
+    @Test public void canMatchLikeHitEnd() {
+        Random random = new Random(3);
+        Pattern pattern = Pattern.compile("ab{2,3}c|a[0-9]+");
+        Dfa.IncrementalMatcher matcher = Dfa.compile(pattern.pattern()).newMatcher();
+        char[] alphabet = { 'a', 'b', 'c', '1', 'x' };
+
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder value = new StringBuilder();
+
+            for (int j = random.nextInt(6); j > 0; j--) {
+                value.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+
+            Matcher m = pattern.matcher(value);
+            boolean expected = m.matches() || m.hitEnd();
+
+            assertEquals(value.toString(), expected, matcher.canMatch(value));
+        }
+    }
+
+    @Test public void rejectsUnsupportedPatterns() {
+        String[] patterns = {
+                "(a)\\1", "(?=a)a", "(?!a)b", "(?<=a)b", "a*+", "a++b", "\\bword\\b", "(?i)abc",
+                "a^b", "a$b", "(^a)", "[[a-z]]", "[a-z&&[^e]]", "\\p{L}", "\\Qa\\E", "\\0101",
+                "a{1001}", "(a|b)*a(a|b){12}"
+        };
+
+        for (String regex : patterns) {
+            Pattern.compile(regex);
+            assertNull(regex, Dfa.compile(regex));
+        }
+
+        assertNull(Dfa.compile("abc", Pattern.MULTILINE));
+        assertNull(Dfa.compile("abc", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+    }
+
+    @Test public void stackedQuantifiersFallBackToPattern() {
+        Random random = new Random(11);
+        String[] patterns = { "a{1}{2}", "a?{2}", "(?:ab){2}{2}", "a+{2}b", "a*?{3}", "a??{2}" };
+        char[] alphabet = { 'a', 'b' };
+
+        for (String regex : patterns) {
+            Pattern pattern = Pattern.compile(regex);
+            PatternRule rule = new PatternRule(regex, true);
+
+            assertNull(regex, Dfa.compile(regex));
+            assertTrue(regex, rule.usesRegex());
+
+            for (int i = 0; i < 500; i++) {
+                StringBuilder value = new StringBuilder();
+
+                for (int j = random.nextInt(10) + 1; j > 0; j--) {
+                    value.append(alphabet[random.nextInt(alphabet.length)]);
+                }
+
+                assertEquals(regex + " " + value,
+                        pattern.matcher(value).matches(), rule.isValid(value));
+            }
+        }
+    }
+
+    @Test public void keepsAutomataSmall() {
+        // The dead state, the start, and the states after the a and the b.
+        assertEquals(4, Dfa.compile("a+b?").getStateCount());
+        assertNotNull(Dfa.compile("\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}"));
+    }
+
+    private static String randomValue(Random random) {
+        StringBuilder value = new StringBuilder();
+
+        for (int i = random.nextInt(8); i > 0; i--) {
+            value.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+        }
+
+        return value.toString();
+    }
+
+}
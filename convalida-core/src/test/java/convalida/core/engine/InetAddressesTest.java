@@ -0,0 +1,152 @@
+package convalida.core.engine;
+
+import org.apache.commons.validator.routines.InetAddressValidator;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class InetAddressesTest {
+
+    @Test public void ipv4() {
+        assertEquals(0xC0A80001L, InetAddresses.parseIpv4("192.168.0.1"));
+        assertEquals(0xFFFFFFFFL, InetAddresses.parseIpv4("255.255.255.255"));
+        assertEquals(0L, InetAddresses.parseIpv4(new StringBuilder("0.0.0.0")));
+        assertEquals(InetAddresses.INVALID, InetAddresses.parseIpv4("256.0.0.1"));
+        assertEquals(InetAddresses.INVALID, InetAddresses.parseIpv4("01.2.3.4"));
+        assertEquals(InetAddresses.INVALID, InetAddresses.parseIpv4("1.2.3"));
+        assertEquals(InetAddresses.INVALID, InetAddresses.parseIpv4("1.2.3.4.5"));
+        assertEquals(InetAddresses.INVALID, InetAddresses.parseIpv4("1..3.4"));
+        assertEquals(InetAddresses.INVALID, InetAddresses.parseIpv4(""));
+    }
+
+    @Test public void ipv6Words() {
+        long[] words = new long[2];
+
+        assertTrue(InetAddresses.parseIpv6("2001:db8:0:0:1:0:0:1", words));
+        assertEquals(0x20010DB800000000L, words[0]);
+        assertEquals(0x0001000000000001L, words[1]);
+
+        assertTrue(InetAddresses.parseIpv6("2001:db8::1:0:0:1", words));
+        assertEquals(0x20010DB800000000L, words[0]);
+        assertEquals(0x0001000000000001L, words[1]);
+
+        assertTrue(InetAddresses.parseIpv6("::1", words));
+        assertEquals(0L, words[0]);
+        assertEquals(1L, words[1]);
+
+        assertTrue(InetAddresses.parseIpv6("fe80::", words));
+        assertEquals(0xFE80000000000000L, words[0]);
+        assertEquals(0L, words[1]);
+
+        assertTrue(InetAddresses.parseIpv6("::ffff:192.168.0.1", words));
+        assertEquals(0L, words[0]);
+        assertEquals(0x0000FFFFC0A80001L, words[1]);
+
+        assertTrue(InetAddresses.parseIpv6("1:2:3:4:5:6:7::", words));
+        assertEquals(0x0001000200030004L, words[0]);
+        assertEquals(0x0005000600070000L, words[1]);
+    }
+
+    @Test public void ipv6Zones() {
+        assertTrue(InetAddresses.isValidIpv6("fe80::1%eth0"));
+        assertTrue(InetAddresses.isValidIpv6("fe80::1%1"));
+        assertTrue(InetAddresses.isValidIpv6("::ffff:10.0.0.1%wlan0"));
+        assertFalse(InetAddresses.isValidIpv6("fe80::1%"));
+        assertFalse(InetAddresses.isValidIpv6("fe80::1%eth/0"));
+        assertFalse(InetAddresses.parseIpv6("fe80::1%eth0", 0, 12, false, null));
+    }
+
+    @Test public void invalidIpv6() {
+        assertFalse(InetAddresses.isValidIpv6(""));
+        assertFalse(InetAddresses.isValidIpv6(":"));
+        assertFalse(InetAddresses.isValidIpv6(":1::"));
+        assertFalse(InetAddresses.isValidIpv6("1::2::3"));
+        assertFalse(InetAddresses.isValidIpv6("1:::2"));
+        assertFalse(InetAddresses.isValidIpv6("1:2:3:4:5:6:7"));
+        assertFalse(InetAddresses.isValidIpv6("1:2:3:4:5:6:7:8:9"));
+        assertFalse(InetAddresses.isValidIpv6("1:2:3:4:5:6:7:8::"));
+        assertFalse(InetAddresses.isValidIpv6("12345::"));
+        assertFalse(InetAddresses.isValidIpv6("::g"));
+        assertFalse(InetAddresses.isValidIpv6("1.2.3.4::"));
+        assertFalse(InetAddresses.isValidIpv6("1:2:3:4:5:6:7:1.2.3.4"));
+    }
+
+    @Test public void subnets() {
+        Subnet subnet = Subnet.parse("192.168.0.0/16");
+
+        assertNotNull(subnet);
+        assertFalse(subnet.isIpv6());
+        assertEquals(16, subnet.getPrefixLength());
+        assertTrue(subnet.contains("192.168.255.1"));
+        assertFalse(subnet.contains("192.169.0.1"));
+        assertFalse(subnet.contains("::ffff:192.168.0.1"));
+        assertEquals(subnet, Subnet.parse("192.168.10.20/16"));
+
+        assertTrue(Subnet.parse("0.0.0.0/0").contains("8.8.8.8"));
+        assertTrue(Subnet.parse("10.0.0.1/32").contains("10.0.0.1"));
+        assertFalse(Subnet.parse("10.0.0.1/32").contains("10.0.0.2"));
+
+        Subnet ipv6 = Subnet.parse("2001:db8::/32");
+
+        assertNotNull(ipv6);
+        assertTrue(ipv6.isIpv6());
+        assertTrue(ipv6.contains("2001:db8:ffff::1"));
+        assertFalse(ipv6.contains("2001:db9::1"));
+        assertFalse(ipv6.contains("10.0.0.1"));
+
+        Subnet longPrefix = Subnet.parse("2001:db8::ff00/120");
+
+        assertTrue(longPrefix.contains("2001:db8::ffab"));
+        assertFalse(longPrefix.contains("2001:db8::fe00"));
+    }
+
+    @Test public void cidrNotation() {
+        assertTrue(Subnet.isValidCidr("10.0.0.0/8"));
+        assertTrue(Subnet.isValidCidr("fe80::/10"));
+        assertTrue(Subnet.isValidCidr("::/0"));
+        assertTrue(Subnet.isValidCidr("2001:db8::/128"));
+        assertFalse(Subnet.isValidCidr("10.0.0.0/33"));
+        assertFalse(Subnet.isValidCidr("10.0.0.0/08"));
+        assertFalse(Subnet.isValidCidr("2001:db8::/129"));
+        assertFalse(Subnet.isValidCidr("10.0.0.0/"));
+        assertFalse(Subnet.isValidCidr("10.0.0.0"));
+        assertFalse(Subnet.isValidCidr("fe80::1%eth0/64"));
+        assertNull(Subnet.parse("10.0.0/8"));
+    }
+
+    @Test public void agreesWithCommonsValidator() {
+        InetAddressValidator validator = InetAddressValidator.getInstance();
+        String[] parts = {
+                "0", "1", "9", "a", "F", "ff", "ffff", "12345", "0db8", ":", ":", ":", "::", ".", "1.2.3.4",
+                "255", "256", "01", "g"
+        };
+        Random random = new Random(3);
+        int valid = 0;
+
+        for (int i = 0; i < 100000; i++) {
+            StringBuilder address = new StringBuilder();
+            int count = 1 + random.nextInt(16);
+
+            for (int j = 0; j < count; j++) {
+                address.append(parts[random.nextInt(parts.length)]);
+            }
+
+            String value = address.toString();
+            boolean ipv6 = validator.isValidInet6Address(value);
+
+            assertEquals(value, validator.isValidInet4Address(value), InetAddresses.isValidIpv4(value));
+            assertEquals(value, ipv6, InetAddresses.isValidIpv6(value));
+
+            if (ipv6) valid++;
+        }
+
+        assertTrue(valid > 1000);
+    }
+
+}
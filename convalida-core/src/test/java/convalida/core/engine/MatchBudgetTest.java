@@ -0,0 +1,83 @@
+package convalida.core.engine;
+
+import org.junit.Test;
+
+import convalida.core.rules.PatternRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MatchBudgetTest {
+
+    // The backreference keeps the pattern on the backtracking matcher, and off its
+    // memoization of failed loops.
+    private static final String CATASTROPHIC = "((a+)+)\\2b";
+
+    private static final String ATTACK = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+
+    @Test public void countsTheCharsRead() {
+        BudgetedCharSequence value = new BudgetedCharSequence()
+                .reset("abc", MatchBudget.of(10, 3, MatchBudget.UNLIMITED));
+
+        assertEquals(3, value.length());
+        assertEquals('a', value.charAt(0));
+        assertEquals('c', value.charAt(2));
+        assertEquals('c', value.charAt(2));
+        assertEquals(3, value.getSteps());
+        assertEquals("abc", value.toString());
+
+        try {
+            value.charAt(1);
+            fail();
+        } catch (BudgetExceededException expected) { }
+    }
+
+    @Test public void abortsMatchesOverTheStepBudget() {
+        PatternRule rule = new PatternRule(
+                CATASTROPHIC, true, MatchBudget.of(100, 100000, MatchBudget.UNLIMITED));
+
+        assertTrue(rule.isValid("aab"));
+        assertFalse(rule.isValid("ba"));
+
+        try {
+            rule.isValid(ATTACK);
+            fail();
+        } catch (BudgetExceededException expected) { }
+    }
+
+    @Test public void abortsMatchesOverTheTimeBudget() {
+        PatternRule rule = new PatternRule(
+                CATASTROPHIC, true, MatchBudget.of(100, MatchBudget.UNLIMITED, 20));
+        long start = System.nanoTime();
+
+        try {
+            rule.isValid(ATTACK);
+            fail();
+        } catch (BudgetExceededException expected) {
+            assertTrue(System.nanoTime() - start < 5000000000L);
+        }
+    }
+
+    @Test public void rejectsLongValuesBeforeMatching() {
+        MatchBudget budget = MatchBudget.of(5, MatchBudget.UNLIMITED, MatchBudget.UNLIMITED);
+
+        for (String pattern : new String[] { "[a-z]*b", CATASTROPHIC }) {
+            PatternRule rule = new PatternRule(pattern, true, budget);
+
+            assertTrue(rule.isValid("a a a a b"));
+
+            try {
+                rule.isValid("abcdef");
+                fail(pattern);
+            } catch (BudgetExceededException expected) { }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBudget() {
+        MatchBudget.of(10, 0, 10);
+    }
+
+}
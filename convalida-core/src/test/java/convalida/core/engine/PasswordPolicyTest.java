@@ -0,0 +1,102 @@
+package convalida.core.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static convalida.core.engine.PasswordScan.DIGIT;
+import static convalida.core.engine.PasswordScan.LETTER;
+import static convalida.core.engine.PasswordScan.LINE_BREAK;
+import static convalida.core.engine.PasswordScan.LOWER;
+import static convalida.core.engine.PasswordScan.SINGLE_LINE;
+import static convalida.core.engine.PasswordScan.SYMBOL;
+import static convalida.core.engine.PasswordScan.UNDERSCORE;
+import static convalida.core.engine.PasswordScan.UPPER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PasswordPolicyTest {
+
+    // Same values as convalida.library.util.Patterns, which core can not see.
+    private static final String[] PATTERNS = {
+            "^\\d+$",
+            "\\w+",
+            "^[a-z]+$",
+            "^[A-Z]+$",
+            "^(?=.*[a-z])(?=.*[A-Z]).{1,}+$",
+            "(?=.*[a-zA-Z])(?=.*[\\d]).+",
+            "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z]).{1,}+$",
+            "(?=.*[a-z])(?=.*[A-Z])(?=.*[\\d]).+",
+            "(?=.*[a-z])(?=.*[A-Z])(?=.*[\\d])(?=.*([^\\w])).+"
+    };
+
+    private static final String ALPHABET = "aZ0_ #\u00e9\n\r\u2028\ud83d\ude00";
+
+    @Test public void scansClassesAndRuns() {
+        PasswordScan scan = new PasswordScan().scan("aaB1_!!!\u00e9\n");
+
+        assertEquals(LOWER | UPPER | DIGIT | UNDERSCORE | SYMBOL | LINE_BREAK, scan.getClasses());
+        assertEquals(10, scan.getLength());
+        assertEquals(3, scan.getLongestRun());
+    }
+
+    @Test public void estimatesEntropy() {
+        PasswordScan scan = new PasswordScan();
+
+        assertEquals(0, scan.scan("").getEntropyBits(), 0);
+        assertEquals(8 * Math.log(26) / Math.log(2), scan.scan("abcdefgh").getEntropyBits(), 1e-9);
+        assertEquals(2 * Math.log(26) / Math.log(2), scan.scan("aaaab").getEntropyBits(), 1e-9);
+        assertTrue(scan.scan("aB3$xY9!").getEntropyBits() > scan.scan("abcdefgh").getEntropyBits());
+    }
+
+    @Test public void declaredPolicies() {
+        PasswordPolicy policy = new PasswordPolicy(8, 2, SINGLE_LINE, LETTER, DIGIT);
+
+        assertTrue(policy.isValid("abcdef12"));
+        assertTrue(policy.isValid("ABCDEF12"));
+        assertFalse(policy.isValid("abcdefgh"));
+        assertFalse(policy.isValid("abc12"));
+        assertFalse(policy.isValid("aaabcd12"));
+        assertFalse(policy.isValid("abcdef12\n"));
+    }
+
+    @Test public void knownPatternsOnly() {
+        for (String pattern : PATTERNS) {
+            assertNotNull(pattern, PasswordPolicy.forPattern(pattern));
+        }
+
+        assertNull(PasswordPolicy.forPattern("^[a-z]{3}$"));
+        assertNull(PasswordPolicy.forPattern(""));
+    }
+
+    @Test public void matchesLikeThePatterns() {
+        Random random = new Random(7);
+
+        for (String regex : PATTERNS) {
+            Pattern pattern = Pattern.compile(regex);
+            PasswordPolicy policy = PasswordPolicy.forPattern(regex);
+
+            for (int i = 0; i < 5000; i++) {
+                String value = randomPassword(random);
+
+                assertEquals(regex + " " + value,
+                        pattern.matcher(value).matches(), policy.isValid(value));
+            }
+        }
+    }
+
+    private static String randomPassword(Random random) {
+        StringBuilder password = new StringBuilder();
+
+        for (int i = random.nextInt(7); i > 0; i--) {
+            password.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+
+        return password.toString();
+    }
+
+}
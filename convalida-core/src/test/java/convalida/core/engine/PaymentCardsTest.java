@@ -0,0 +1,88 @@
+package convalida.core.engine;
+
+import org.apache.commons.validator.routines.CreditCardValidator;
+import org.junit.Test;
+
+import java.util.Random;
+
+import convalida.core.engine.PaymentCards.Brand;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PaymentCardsTest {
+
+    @Test public void luhn() {
+        assertTrue(PaymentCards.passesLuhn("79927398713"));
+        assertTrue(PaymentCards.passesLuhn("4111 1111 1111 1111"));
+        assertFalse(PaymentCards.passesLuhn("79927398710"));
+        assertFalse(PaymentCards.passesLuhn("4111-1111-1111-1111"));
+        assertFalse(PaymentCards.passesLuhn(""));
+    }
+
+    @Test public void validNumbers() {
+        assertTrue(PaymentCards.isValid("4111 1111 1111 1111"));
+        assertTrue(PaymentCards.isValid("4222222222222"));
+        assertTrue(PaymentCards.isValid("5500 0000 0000 0004"));
+        assertTrue(PaymentCards.isValid("2221 0000 0000 0009"));
+        assertTrue(PaymentCards.isValid("3400 0000 0000 009"));
+        assertTrue(PaymentCards.isValid("6011 0000 0000 0004"));
+        assertTrue(PaymentCards.isValid(new StringBuilder("6500000000000002")));
+    }
+
+    @Test public void invalidNumbers() {
+        assertFalse(PaymentCards.isValid("4111 1111 1111 1112"));
+        assertFalse(PaymentCards.isValid("1234 5678 9012 3452"));
+        assertFalse(PaymentCards.isValid("4111 1111 1111 1111 110"));
+        assertFalse(PaymentCards.isValid("3400 0000 0000 0009"));
+        assertFalse(PaymentCards.isValid("4111"));
+        assertFalse(PaymentCards.isValid("5500 0000 0000 000A"));
+        assertFalse(PaymentCards.isValid(""));
+    }
+
+    @Test public void brandOfCompleteNumbers() {
+        assertEquals(Brand.VISA, PaymentCards.brandOf("4111 1111 1111 1111"));
+        assertEquals(Brand.MASTERCARD, PaymentCards.brandOf("2720 9900 0000 0000"));
+        assertEquals(Brand.AMEX, PaymentCards.brandOf("3700 0000 0000 000"));
+        assertEquals(Brand.DISCOVER, PaymentCards.brandOf("6449 0000 0000 0000"));
+        assertNull(PaymentCards.brandOf("3700 0000 0000 0000"));
+        assertNull(PaymentCards.brandOf("6010 0000 0000 0000"));
+    }
+
+    @Test public void detectsBrandWhileTyping() {
+        assertNull(PaymentCards.detectBrand(""));
+        assertEquals(Brand.VISA, PaymentCards.detectBrand("4"));
+        assertNull(PaymentCards.detectBrand("5"));
+        assertEquals(Brand.MASTERCARD, PaymentCards.detectBrand("53"));
+        assertNull(PaymentCards.detectBrand("3"));
+        assertEquals(Brand.AMEX, PaymentCards.detectBrand("37"));
+        assertNull(PaymentCards.detectBrand("22"));
+        assertNull(PaymentCards.detectBrand("272"));
+        assertEquals(Brand.MASTERCARD, PaymentCards.detectBrand("2720"));
+        assertNull(PaymentCards.detectBrand("601"));
+        assertEquals(Brand.DISCOVER, PaymentCards.detectBrand("6011 0"));
+        assertEquals(Brand.DISCOVER, PaymentCards.detectBrand("65"));
+        assertNull(PaymentCards.detectBrand("7"));
+        assertNull(PaymentCards.detectBrand("4a"));
+    }
+
+    @Test public void agreesWithCommonsValidator() {
+        CreditCardValidator validator = new CreditCardValidator();
+        String[] prefixes = { "2", "22", "2221", "27", "2720", "2721", "3", "34", "37", "38", "4",
+                "5", "50", "51", "55", "56", "6", "6011", "6012", "622", "644", "649", "65", "7" };
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder number = new StringBuilder(prefixes[random.nextInt(prefixes.length)]);
+            int length = 12 + random.nextInt(8);
+
+            while (number.length() < length) number.append(random.nextInt(10));
+
+            String card = number.toString();
+            assertEquals(card, validator.isValid(card), PaymentCards.isValid(card));
+        }
+    }
+
+}
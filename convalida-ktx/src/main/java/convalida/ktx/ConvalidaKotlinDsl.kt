@@ -2,13 +2,18 @@ package convalida.ktx
 
 import android.widget.Button
 import android.widget.EditText
+import convalida.core.engine.MatchBudget
+import convalida.core.engine.PasswordPolicy
+import convalida.core.util.Normalizer
 import convalida.validators.BetweenValidator
+import convalida.validators.CidrValidator
 import convalida.validators.CnpjValidator
 import convalida.validators.ConfirmEmailValidator
 import convalida.validators.ConfirmPasswordValidator
 import convalida.validators.CpfValidator
 import convalida.validators.CreditCardValidator
 import convalida.validators.EmailValidator
+import convalida.validators.ErrorRenderer
 import convalida.validators.FutureDateValidator
 import convalida.validators.Ipv4Validator
 import convalida.validators.Ipv6Validator
@@ -20,9 +25,13 @@ import convalida.validators.PasswordValidator
 import convalida.validators.PastDateValidator
 import convalida.validators.PatternValidator
 import convalida.validators.RequiredValidator
+import convalida.validators.SubnetValidator
 import convalida.validators.UrlValidator
+import convalida.validators.ValidationScheduler
 import convalida.validators.ValidatorSet
 import convalida.validators.error.ValidationErrorSet
+import java.util.Locale
+import java.util.concurrent.Executor
 
 /**
  * Definition of the core dsl structure and its extension functions
@@ -61,6 +70,14 @@ class ConvalidaBuilder {
     fun <B> clearValidationsOn(button: B) where B : Button {
         button.setOnClickListener { validatorSet.clearValidators() }
     }
+
+    fun scheduleWith(scheduler: ValidationScheduler) = validatorSet.setScheduler(scheduler)
+
+    fun executeOn(executor: Executor?) = validatorSet.setExecutor(executor)
+
+    fun renderErrorsWith(renderer: ErrorRenderer) = validatorSet.setErrorRenderer(renderer)
+
+    fun dispose() = validatorSet.dispose()
 }
 
 fun convalida(
@@ -72,6 +89,10 @@ class FieldValidatorBuilder(
         private val validatorSet: ValidatorSet
 ) {
 
+    fun normalize(
+            vararg steps: Normalizer.Step
+    ) = validatorSet.setNormalizer(field, Normalizer.of(*steps))
+
     fun isRequired(
             errorMessage: String, autoDismiss: Boolean = true
     ) = validatorSet.addValidator(RequiredValidator(field, errorMessage, autoDismiss))
@@ -87,9 +108,9 @@ class FieldValidatorBuilder(
 
     fun withPattern(
             pattern: String, errorMessage: String,
-            autoDismiss: Boolean = true, required: Boolean = true
+            autoDismiss: Boolean = true, required: Boolean = true, budget: MatchBudget? = null
     ) = validatorSet.addValidator(
-            PatternValidator(field, errorMessage, pattern, autoDismiss, required))
+            PatternValidator(field, errorMessage, pattern, autoDismiss, required, budget))
 
     fun withLength(
             min: Int, max: Int = 0, errorMessage: String,
@@ -103,9 +124,13 @@ class FieldValidatorBuilder(
 
     fun withNumericLimit(
             min: String, max: String, errorMessage: String,
-            autoDismiss: Boolean = true, required: Boolean = true
+            autoDismiss: Boolean = true, required: Boolean = true, locale: Locale? = null
     ) = validatorSet.addValidator(
-            NumericLimitValidator(field, errorMessage, autoDismiss, min, max, required))
+            if (locale == null) {
+                NumericLimitValidator(field, errorMessage, autoDismiss, min, max, required)
+            } else {
+                NumericLimitValidator(field, errorMessage, autoDismiss, min, max, required, locale)
+            })
 
     fun isCreditCard(
             errorMessage: String, autoDismiss: Boolean = true, required: Boolean = true
@@ -117,6 +142,11 @@ class FieldValidatorBuilder(
     ) = validatorSet.addValidator(
             PasswordValidator(field, errorMessage, min, pattern, autoDismiss))
 
+    fun isPassword(
+            errorMessage: String, policy: PasswordPolicy, min: Int = 0, autoDismiss: Boolean = true
+    ) = validatorSet.addValidator(
+            PasswordValidator(field, errorMessage, min, policy, autoDismiss))
+
     fun isConfirmPassword(
             passwordField: EditText, errorMessage: String, autoDismiss: Boolean = true
     ) = validatorSet.addValidator(
@@ -142,6 +172,16 @@ class FieldValidatorBuilder(
             errorMessage: String, autoDismiss: Boolean = true, required: Boolean = true
     ) = validatorSet.addValidator(Ipv6Validator(field, errorMessage, autoDismiss, required))
 
+    fun isCidr(
+            errorMessage: String, autoDismiss: Boolean = true, required: Boolean = true
+    ) = validatorSet.addValidator(CidrValidator(field, errorMessage, autoDismiss, required))
+
+    fun inSubnet(
+            subnet: String, errorMessage: String,
+            autoDismiss: Boolean = true, required: Boolean = true
+    ) = validatorSet.addValidator(
+            SubnetValidator(field, errorMessage, subnet, autoDismiss, required))
+
     fun isUrl(
             errorMessage: String, autoDismiss: Boolean = true, required: Boolean = true
     ) = validatorSet.addValidator(UrlValidator(field, errorMessage, autoDismiss, required))
@@ -184,6 +224,8 @@ class BetweenValidatorBuilder {
 
     private var limit: Between? = null
 
+    var locale: Locale? = null
+
     fun start(body: Between.() -> Unit) = Between().apply(body).also {
         start = it
     }
@@ -193,7 +235,17 @@ class BetweenValidatorBuilder {
     }.also {
         start?.let { start ->
             limit?.let { limit ->
-                validator = BetweenValidator(
+                validator = locale?.let { locale ->
+                    BetweenValidator(
+                            start.field,
+                            limit.field,
+                            start.errorMessage,
+                            limit.errorMessage,
+                            start.autoDismiss,
+                            limit.autoDismiss,
+                            locale
+                    )
+                } ?: BetweenValidator(
                         start.field,
                         limit.field,
                         start.errorMessage,
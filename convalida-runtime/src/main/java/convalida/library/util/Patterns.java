@@ -1,6 +1,9 @@
 package convalida.library.util;
 
 /**
+ * Password validators given one of these patterns check it with the equivalent
+ * {@link convalida.core.engine.PasswordPolicy}, in a single pass, instead of a regex.
+ *
  * @author Wellington Costa on 27/06/2017.
  */
 public class Patterns {
@@ -2,20 +2,23 @@ package convalida.validators;
 
 import android.widget.EditText;
 
+import convalida.core.engine.BudgetExceededException;
 import convalida.validators.util.EditTexts;
 
-import static convalida.validators.util.EditTexts.removeError;
-import static convalida.validators.util.EditTexts.setError;
-
 /**
  * @author Wellington Costa on 21/06/2017.
  */
 public abstract class AbstractValidator {
 
+    private static final EditText[] NO_DEPENDENCIES = new EditText[0];
+
     public final EditText editText;
     public final String errorMessage;
     public final boolean autoDismiss;
     private boolean hasError = false;
+    private final ThreadLocal<Boolean> aborted = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> bridging = new ThreadLocal<>();
+    ErrorRenderer renderer = ErrorRenderer.immediate();
 
     public AbstractValidator(EditText editText, String errorMessage, boolean autoDismiss) {
         this.editText = editText;
@@ -23,31 +26,174 @@ public abstract class AbstractValidator {
         this.autoDismiss = autoDismiss;
     }
 
-    protected abstract boolean isValid(String value);
+    /**
+     * Validates the current text of the field without copying it.
+     *
+     * The value may be the live {@link android.text.Editable} of the field, so implementations
+     * must not keep a reference to it. The default implementation bridges to
+     * {@link #isValid(String)} for validators written against the String based contract.
+     * Subclasses must override at least one of the two methods, otherwise the bridge fails
+     * with an {@link IllegalStateException} instead of calling itself back forever.
+     */
+    protected boolean isValid(CharSequence value) {
+        if (bridging.get() == Boolean.TRUE) {
+            throw new IllegalStateException(getClass().getName()
+                    + " must override isValid(CharSequence) or isValid(String)");
+        }
+
+        bridging.set(Boolean.TRUE);
+        try {
+            return isValid(value.toString());
+        } finally {
+            bridging.set(Boolean.FALSE);
+        }
+    }
+
+    /**
+     * String based contract kept for compatibility with existing validators. The default
+     * implementation bridges to {@link #isValid(CharSequence)}.
+     */
+    protected boolean isValid(String value) {
+        return isValid((CharSequence) value);
+    }
+
+    /**
+     * Relative cost of running a validator once.
+     */
+    public enum Cost {
+
+        /** Length checks and single scans of the text. */
+        CHEAP,
+
+        /** Parsing or lookups that are fine on the main thread. */
+        MODERATE,
+
+        /** Regex, number or date parsing and similar work that is too slow for a keystroke. */
+        EXPENSIVE
+
+    }
+
+    /**
+     * A {@link ValidatorSet} runs the validators of a field from the cheapest to the most
+     * expensive one, and with an executor runs the expensive ones in the background against a
+     * String copy of the text.
+     *
+     * Expensive validators must only read the value they are given, never the views. They may
+     * run on the main thread and on a background thread at the same time, so their mutable
+     * state must be kept per thread, as the rules do with their buffers and matchers.
+     */
+    protected Cost cost() {
+        return Cost.CHEAP;
+    }
+
+    /**
+     * @return false when the result may change while the text of the field does not, such as
+     * when a date is compared with today. A {@link ValidatorSet} then validates the field on
+     * every run instead of reusing its last result.
+     */
+    protected boolean isCacheable() {
+        return true;
+    }
+
+    final boolean isExpensive() {
+        return cost() == Cost.EXPENSIVE;
+    }
+
+    /**
+     * Runs {@link #isValid(CharSequence)} without touching the views. The validator is not
+     * locked, so a validation on the main thread never waits for a slow one running in the
+     * background.
+     *
+     * A validation aborted by a {@link BudgetExceededException} fails, and is reported by
+     * {@link #isAborted()}.
+     */
+    final boolean evaluate(CharSequence value) {
+        try {
+            aborted.set(Boolean.FALSE);
+            return isValid(value);
+        } catch (BudgetExceededException e) {
+            aborted.set(Boolean.TRUE);
+            return false;
+        }
+    }
+
+    /**
+     * @return true when the last validation run by the calling thread went over the budget of
+     * the validator, such as the {@link convalida.core.engine.MatchBudget} of a
+     * {@link PatternValidator}, and was aborted. The value is then reported as invalid,
+     * without knowing whether it is.
+     */
+    public boolean isAborted() {
+        return aborted.get() == Boolean.TRUE;
+    }
+
+    /**
+     * Publishes what the last validation run by the calling thread found out about the value
+     * besides its result, such as the strength of a password. Called on the main thread when
+     * the result of a validation it ran is applied.
+     */
+    void publishDetails() { }
 
-    private void executeValidation(String value) {
-        hasError = !EditTexts.isVisible(editText) && !isValid(value);
+    /**
+     * @return what the last validation run by the calling thread found out about the value,
+     * for a result applied later on the main thread, or null when there is nothing to publish.
+     */
+    Object captureDetails() {
+        return null;
+    }
 
-        if (hasError) {
-            setError(editText, errorMessage);
-        } else {
-            removeError(editText);
+    /**
+     * Publishes details returned by {@link #captureDetails()} on another thread. Called on the
+     * main thread when the result of that validation is applied.
+     */
+    void publishDetails(Object details) { }
+
+    void showResult(boolean valid) {
+        hasError = !valid;
+        renderer.render(editText, hasError ? errorMessage : null);
+    }
+
+    private void executeValidation(CharSequence value) {
+        if (EditTexts.isVisible(editText)) {
+            showResult(true);
+            return;
         }
+
+        boolean valid = evaluate(value);
+        publishDetails();
+        showResult(valid);
     }
 
     public boolean validate() {
-        executeValidation(editText.getText().toString());
+        executeValidation(editText.getText());
         return !hasError;
     }
 
-    public boolean validate(String value) {
+    public boolean validate(CharSequence value) {
         executeValidation(value);
         return !hasError;
     }
 
+    public boolean validate(String value) {
+        return validate((CharSequence) value);
+    }
+
     public void clear() {
-        removeError(editText);
+        renderer.render(editText, null);
+    }
+
+    /**
+     * @return the other fields whose text is read by this validator. A {@link ValidatorSet}
+     * validates this validator again whenever one of them changes.
+     */
+    protected EditText[] dependencies() {
+        return NO_DEPENDENCIES;
     }
 
+    /**
+     * Removes any listener registered by the validator itself.
+     */
+    public void detach() { }
+
 
-}
\ No newline at end of file
+}
@@ -1,12 +1,19 @@
 package convalida.validators;
 
+import android.text.TextWatcher;
 import android.widget.EditText;
 
-import java.math.BigDecimal;
+import java.util.Locale;
 
+import convalida.core.engine.Decimal;
+import convalida.core.engine.DecimalCache;
+import convalida.core.engine.DecimalParser;
 import convalida.validators.util.EditTexts;
 import convalida.validators.util.ExecuteValidationListener;
 
+import static convalida.core.util.CharSequences.compare;
+import static convalida.core.util.CharSequences.contentEquals;
+
 /**
  * @author Wellington Costa on 25/04/18
  */
@@ -15,6 +22,9 @@ public class BetweenValidator extends AbstractValidator {
     private EditText endEditText;
     private String endErrorMessage;
     private boolean endFieldHasError = false;
+    private TextWatcher endFieldWatcher;
+    private final DecimalCache startNumber;
+    private final DecimalCache endNumber;
 
     public BetweenValidator(
             final EditText startEditText,
@@ -23,51 +33,101 @@ public class BetweenValidator extends AbstractValidator {
             final String limitErrorMessage,
             boolean startAutoDismiss,
             final boolean limitAutoDismiss
+    ) {
+        this(startEditText, limitEditText, startErrorMessage, limitErrorMessage,
+                startAutoDismiss, limitAutoDismiss, DecimalParser.plain());
+    }
+
+    /**
+     * @param locale tells the decimal and grouping separators of the typed numbers.
+     */
+    public BetweenValidator(
+            final EditText startEditText,
+            final EditText limitEditText,
+            final String startErrorMessage,
+            final String limitErrorMessage,
+            boolean startAutoDismiss,
+            final boolean limitAutoDismiss,
+            Locale locale
+    ) {
+        this(startEditText, limitEditText, startErrorMessage, limitErrorMessage,
+                startAutoDismiss, limitAutoDismiss, DecimalParser.forLocale(locale));
+    }
+
+    private BetweenValidator(
+            final EditText startEditText,
+            final EditText limitEditText,
+            final String startErrorMessage,
+            final String limitErrorMessage,
+            boolean startAutoDismiss,
+            final boolean limitAutoDismiss,
+            DecimalParser parser
     ) {
         super(startEditText, startErrorMessage, startAutoDismiss);
         this.endEditText = limitEditText;
         this.endErrorMessage = limitErrorMessage;
+        this.startNumber = new DecimalCache(parser);
+        this.endNumber = new DecimalCache(parser);
 
         if(limitAutoDismiss) {
-            EditTexts.addOnTextChangedListener(limitEditText, new ExecuteValidationListener() {
+            endFieldWatcher = EditTexts.addOnTextChangedListener(limitEditText, new ExecuteValidationListener() {
                 @Override
-                public void execute(String value) {
+                public void execute(CharSequence value) {
                     applyValidationToEndField();
                 }
             });
         }
     }
 
-    private boolean endFieldIsValid() {
-        String startValue = editText.getText().toString();
-        String endValue = endEditText.getText().toString();
-        try {
-            BigDecimal startValueBigDecimal = new BigDecimal(startValue);
-            BigDecimal endValueBigDecimal = new BigDecimal(endValue);
-            return startValueBigDecimal.compareTo(endValueBigDecimal) <= 0;
-        } catch (NumberFormatException e) {
-            return startValue.compareTo(endValue) <= 0;
-        }
+    /**
+     * Numbers are compared by value, other text lexicographically. Each field is parsed
+     * again only when its text changed since the last comparison.
+     */
+    private boolean endFieldIsValid(CharSequence startValue, CharSequence endValue) {
+        Decimal start = startNumber.get(startValue);
+        Decimal end = endNumber.get(endValue);
+
+        if (start != null && end != null) return start.compareTo(end) <= 0;
+
+        return compare(startValue, endValue) <= 0;
     }
 
     private void applyValidationToEndField() {
-        endFieldHasError = !endFieldIsValid();
-        if(endFieldIsValid()) {
-            EditTexts.removeError(editText);
-            EditTexts.removeError(endEditText);
+        endFieldHasError = !endFieldIsValid(editText.getText(), endEditText.getText());
+        if(!endFieldHasError) {
+            renderer.render(editText, null);
+            renderer.render(endEditText, null);
         } else {
-            EditTexts.setError(editText, errorMessage);
-            EditTexts.setError(endEditText, endErrorMessage);
+            renderer.render(editText, errorMessage);
+            renderer.render(endEditText, endErrorMessage);
+        }
+    }
+
+    @Override
+    protected Cost cost() {
+        return Cost.MODERATE;
+    }
+
+    @Override
+    protected EditText[] dependencies() {
+        return new EditText[] { endEditText };
+    }
+
+    @Override
+    public void detach() {
+        if(endFieldWatcher != null) {
+            EditTexts.removeOnTextChangedListener(endEditText, endFieldWatcher);
+            endFieldWatcher = null;
         }
     }
 
     @Override
-    public boolean isValid(String value) {
+    public boolean isValid(CharSequence value) {
         applyValidationToEndField();
-        String endFieldValue = endEditText.getText().toString();
-        return !(value.isEmpty()
-                || !value.equals(endFieldValue)
-                && (endFieldValue.isEmpty()
+        CharSequence endFieldValue = endEditText.getText();
+        return !(value.length() == 0
+                || !contentEquals(value, endFieldValue)
+                && (endFieldValue.length() == 0
                 || endFieldHasError));
     }
 }
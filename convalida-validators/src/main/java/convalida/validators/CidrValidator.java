@@ -0,0 +1,25 @@
+package convalida.validators;
+
+import android.widget.EditText;
+
+import convalida.core.Rule;
+import convalida.core.rules.CidrRule;
+
+public class CidrValidator extends AbstractValidator {
+
+    private final Rule rule;
+
+    public CidrValidator(
+            EditText editText,
+            String errorMessage,
+            boolean autoDismiss,
+            boolean required) {
+        super(editText, errorMessage, autoDismiss);
+        this.rule = new CidrRule(required);
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
+    }
+
+}
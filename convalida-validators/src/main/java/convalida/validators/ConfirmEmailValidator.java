@@ -2,6 +2,8 @@ package convalida.validators;
 
 import android.widget.EditText;
 
+import static convalida.core.util.CharSequences.contentEquals;
+
 /**
  * @author Wellington Costa on 07/02/18.
  */
@@ -18,8 +20,12 @@ public class ConfirmEmailValidator extends AbstractValidator {
         this.emailEditText = emailEditText;
     }
 
-    @Override public boolean isValid(String value) {
-        return emailEditText.getText().toString().equals(value);
+    @Override protected EditText[] dependencies() {
+        return new EditText[] { emailEditText };
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        return contentEquals(emailEditText.getText(), value);
     }
 
 }
@@ -2,6 +2,8 @@ package convalida.validators;
 
 import android.widget.EditText;
 
+import static convalida.core.util.CharSequences.contentEquals;
+
 /**
  * @author Wellington Costa on 27/06/2017.
  */
@@ -18,8 +20,12 @@ public class ConfirmPasswordValidator extends AbstractValidator {
         this.passwordEditText = passwordEditText;
     }
 
-    @Override public boolean isValid(String value) {
-        return passwordEditText.getText().toString().equals(value);
+    @Override protected EditText[] dependencies() {
+        return new EditText[] { passwordEditText };
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        return contentEquals(passwordEditText.getText(), value);
     }
 
 }
@@ -2,12 +2,15 @@ package convalida.validators;
 
 import android.widget.EditText;
 
+import convalida.core.Rule;
+import convalida.core.rules.CreditCardRule;
+
 /**
  * @author Wellington Costa on 31/05/18.
  */
 public class CreditCardValidator extends AbstractValidator {
 
-    private boolean required;
+    private final Rule rule;
 
     public CreditCardValidator(
             EditText editText,
@@ -16,19 +19,11 @@ public class CreditCardValidator extends AbstractValidator {
             boolean required
     ) {
         super(editText, errorMessage, autoDismiss);
-        this.required = required;
+        this.rule = new CreditCardRule(required);
     }
 
-    @Override
-    public boolean isValid(String value) {
-        value = value.replace(" ", "");
-        if(required && value.isEmpty()) {
-            return false;
-        } else {
-            org.apache.commons.validator.routines.CreditCardValidator validator = new org.apache.commons.validator.routines.CreditCardValidator();
-            return (value.isEmpty() || validator.isValid(value));
-        }
-
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
 
-}
\ No newline at end of file
+}
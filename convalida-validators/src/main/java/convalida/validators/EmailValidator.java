@@ -1,17 +1,15 @@
 package convalida.validators;
 
 import android.widget.EditText;
-import java.util.regex.Pattern;
+
+import convalida.core.rules.EmailRule;
 
 /**
  * @author Wellington Costa on 21/06/2017.
  */
 public class EmailValidator extends AbstractValidator {
 
-    private static final String EMAIL_REGEX = "^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}$";
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX, Pattern.CASE_INSENSITIVE);
-
-    private boolean required;
+    private final EmailRule rule;
 
     public EmailValidator(
             EditText editText,
@@ -20,13 +18,27 @@ public class EmailValidator extends AbstractValidator {
             boolean required
     ) {
         super(editText, errorMessage, autoDismiss);
-        this.required = required;
+        this.rule = new EmailRule(required);
+    }
+
+    /**
+     * The address pattern is compiled to an automaton, which matches in one pass over the
+     * value.
+     */
+    @Override protected Cost cost() {
+        return rule.usesRegex() ? Cost.EXPENSIVE : Cost.CHEAP;
     }
 
-     @Override public boolean isValid(String value) {
-         value = value.replace(" ", "");
-         return (!required || !value.isEmpty())
-                 && (value.isEmpty() || EMAIL_PATTERN.matcher(value).matches());
-     }
+    /**
+     * @return true when the value matches or may still match after more chars are typed, so
+     * an error can be held back while the user is typing.
+     */
+    public boolean canMatch(CharSequence value) {
+        return rule.canMatch(value);
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
+    }
 
-}
\ No newline at end of file
+}
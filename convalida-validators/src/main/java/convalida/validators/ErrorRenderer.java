@@ -0,0 +1,110 @@
+package convalida.validators;
+
+import android.widget.EditText;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static convalida.validators.util.EditTexts.isErrorShown;
+import static convalida.validators.util.EditTexts.removeError;
+import static convalida.validators.util.EditTexts.setError;
+
+/**
+ * Shows and hides the errors of the fields.
+ *
+ * The last state rendered on each field is kept in a tag of the field, so rendering the same
+ * state again does not touch the view. A plain field hides its error on the next edit by
+ * itself, so an error is only skipped while the field still shows it.
+ *
+ * {@link #immediate()} renders right away, while {@link #perFrame()} keeps the latest state
+ * requested for each field and renders all of them together once per frame, so a submit with
+ * many errors costs a single layout pass.
+ */
+public abstract class ErrorRenderer {
+
+    private static final Object NO_ERROR = new Object();
+
+    private static final ErrorRenderer IMMEDIATE = new ErrorRenderer() {
+        @Override public void render(@NonNull EditText editText, @Nullable String error) {
+            apply(editText, target(error));
+        }
+    };
+
+    public static ErrorRenderer immediate() {
+        return IMMEDIATE;
+    }
+
+    public static ErrorRenderer perFrame() {
+        return perFrame(new ValidationScheduler.MainThreadPoster());
+    }
+
+    public static ErrorRenderer perFrame(@NonNull ValidationScheduler.Poster poster) {
+        return new PerFrame(poster);
+    }
+
+    /**
+     * Shows the error on the field, or hides the current one when the error is null.
+     */
+    public abstract void render(@NonNull EditText editText, @Nullable String error);
+
+    /**
+     * Renders the pending changes right away.
+     */
+    public void flush() { }
+
+    private static Object target(@Nullable String error) {
+        return error != null ? error : NO_ERROR;
+    }
+
+    private static void apply(EditText editText, Object target) {
+        Object rendered = editText.getTag(R.id.convalida_rendered_error);
+
+        if (target.equals(rendered)
+                && (target == NO_ERROR || isErrorShown(editText, (String) target))) return;
+
+        if (target == NO_ERROR) {
+            removeError(editText);
+        } else {
+            setError(editText, (String) target);
+        }
+
+        editText.setTag(R.id.convalida_rendered_error, target);
+    }
+
+    private static final class PerFrame extends ErrorRenderer implements Runnable {
+
+        private final ValidationScheduler.Poster poster;
+        private final Map<EditText, Object> pending = new LinkedHashMap<>();
+        private boolean posted;
+
+        PerFrame(ValidationScheduler.Poster poster) {
+            this.poster = poster;
+        }
+
+        @Override public void render(@NonNull EditText editText, @Nullable String error) {
+            pending.put(editText, target(error));
+
+            if (!posted) {
+                posted = true;
+                poster.postOnNextFrame(this);
+            }
+        }
+
+        @Override public void flush() {
+            for (Map.Entry<EditText, Object> entry : pending.entrySet()) {
+                apply(entry.getKey(), entry.getValue());
+            }
+
+            pending.clear();
+        }
+
+        @Override public void run() {
+            posted = false;
+            flush();
+        }
+    }
+
+}
@@ -2,14 +2,15 @@ package convalida.validators;
 
 import android.widget.EditText;
 
-import org.apache.commons.validator.routines.InetAddressValidator;
+import convalida.core.Rule;
+import convalida.core.rules.Ipv4Rule;
 
 /**
  * @author Wellington Costa on 30/07/2019.
  */
 public class Ipv4Validator extends AbstractValidator {
 
-    private boolean required;
+    private final Rule rule;
 
     public Ipv4Validator(
             EditText editText,
@@ -17,16 +18,11 @@ public class Ipv4Validator extends AbstractValidator {
             boolean autoDismiss,
             boolean required) {
         super(editText, errorMessage, autoDismiss);
-
-        this.required = required;
+        this.rule = new Ipv4Rule(required);
     }
 
-    @Override public boolean isValid(String value) {
-        value = value.replace(" ", "");
-
-        if(required && value.isEmpty()) return false;
-
-        return InetAddressValidator.getInstance().isValidInet4Address(value);
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
 
 }
@@ -2,14 +2,15 @@ package convalida.validators;
 
 import android.widget.EditText;
 
-import org.apache.commons.validator.routines.InetAddressValidator;
+import convalida.core.Rule;
+import convalida.core.rules.Ipv6Rule;
 
 /**
  * @author Wellington Costa on 30/07/2019.
  */
 public class Ipv6Validator extends AbstractValidator {
 
-    private boolean required;
+    private final Rule rule;
 
     public Ipv6Validator(
             EditText editText,
@@ -17,16 +18,11 @@ public class Ipv6Validator extends AbstractValidator {
             boolean autoDismiss,
             boolean required) {
         super(editText, errorMessage, autoDismiss);
-
-        this.required = required;
+        this.rule = new Ipv6Rule(required);
     }
 
-    @Override public boolean isValid(String value) {
-        value = value.replace(" ", "");
-
-        if(required && value.isEmpty()) return false;
-
-        return InetAddressValidator.getInstance().isValidInet6Address(value);
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
 
 }
@@ -2,14 +2,15 @@ package convalida.validators;
 
 import android.widget.EditText;
 
-import org.apache.commons.validator.routines.ISBNValidator;
+import convalida.core.Rule;
+import convalida.core.rules.IsbnRule;
 
 /**
  * @author Wellington Costa on 25/02/2019.
  */
 public class IsbnValidator extends AbstractValidator {
 
-    private boolean required;
+    private final Rule rule;
 
     public IsbnValidator(
             EditText editText,
@@ -18,12 +19,15 @@ public class IsbnValidator extends AbstractValidator {
             boolean required
     ) {
         super(editText, errorMessage, autoDismiss);
-        this.required = required;
+        this.rule = new IsbnRule(required);
     }
 
-    @Override public boolean isValid(String value) {
-        return (!required || !value.isEmpty())
-                && (value.isEmpty() || ISBNValidator.getInstance().isValid(value));
+    @Override protected Cost cost() {
+        return Cost.EXPENSIVE;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
 
 }
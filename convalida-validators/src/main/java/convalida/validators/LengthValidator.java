@@ -2,14 +2,15 @@ package convalida.validators;
 
 import android.widget.EditText;
 
+import convalida.core.Rule;
+import convalida.core.rules.LengthRule;
+
 /**
  * @author Wellington Costa on 27/06/2017.
  */
 public class LengthValidator extends AbstractValidator {
 
-    private int min;
-    private int max;
-    private boolean required;
+    private final Rule rule;
 
     public LengthValidator(
             EditText editText,
@@ -20,22 +21,11 @@ public class LengthValidator extends AbstractValidator {
             boolean required
     ) {
         super(editText, errorMessage, autoDismiss);
-        this.min = min;
-        this.max= max;
-        this.required = required;
+        this.rule = new LengthRule(min, max, required);
     }
 
-    @Override public boolean isValid(String value) {
-        value = value.replace(" ", "");
-        if(required && value.isEmpty()) {
-            return false;
-        } else {
-            boolean hasError = value.length() < min;
-            if (max > 0) {
-                hasError |= value.length() > max;
-            }
-            return value.isEmpty() || !hasError;
-        }
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
 
 }
@@ -2,16 +2,17 @@ package convalida.validators;
 
 import android.widget.EditText;
 
-import java.math.BigDecimal;
+import java.util.Locale;
+
+import convalida.core.Rule;
+import convalida.core.rules.NumericLimitRule;
 
 /**
  * @author Wellington Costa on 04/06/18
  */
 public class NumericLimitValidator extends AbstractValidator {
 
-    private BigDecimal minValue;
-    private BigDecimal maxValue;
-    private boolean required;
+    private final Rule rule;
 
     public NumericLimitValidator(
             EditText editText,
@@ -22,23 +23,27 @@ public class NumericLimitValidator extends AbstractValidator {
             boolean required
     ) {
         super(editText, errorMessage, autoDismiss);
-        this.minValue = new BigDecimal(min);
-        this.maxValue = new BigDecimal(max);
-        this.required = required;
+        this.rule = new NumericLimitRule(min, max, required);
+    }
+
+    /**
+     * @param locale tells the decimal and grouping separators of the typed numbers.
+     */
+    public NumericLimitValidator(
+            EditText editText,
+            String errorMessage,
+            boolean autoDismiss,
+            String min,
+            String max,
+            boolean required,
+            Locale locale
+    ) {
+        super(editText, errorMessage, autoDismiss);
+        this.rule = new NumericLimitRule(min, max, required, locale);
     }
 
-    @Override public boolean isValid(String value) {
-        if(required && value.isEmpty()) {
-            return false;
-        } else {
-            if(value.isEmpty()) return true;
-            try {
-                BigDecimal bigDecimal = new BigDecimal(value);
-                return bigDecimal.compareTo(minValue) > -1
-                        && bigDecimal.compareTo(maxValue) < 1;
-            } catch (NumberFormatException e) {
-                return false;
-            }
-        }
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
+
 }
@@ -1,14 +1,16 @@
 package convalida.validators;
 
 import android.widget.EditText;
-import java.util.regex.Pattern;
+
+import convalida.core.Rule;
+import convalida.core.rules.OnlyNumberRule;
 
 /**
  * @author Wellington Costa on 29/06/2017.
  */
-public class OnlyNumberValidator extends AbstractValidator{
+public class OnlyNumberValidator extends AbstractValidator {
 
-    private boolean required;
+    private final Rule rule;
 
     public OnlyNumberValidator(
             EditText editText,
@@ -17,13 +19,11 @@ public class OnlyNumberValidator extends AbstractValidator{
             boolean required
     ) {
         super(editText, errorMessage, autoDismiss);
-        this.required = required;
+        this.rule = new OnlyNumberRule(required);
     }
 
-    @Override public boolean isValid(String value) {
-        value = value.replace(" ", "");
-        return (!required || !value.isEmpty())
-                && (value.isEmpty() || Pattern.compile("^\\d+$").matcher(value).matches());
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
 
 }
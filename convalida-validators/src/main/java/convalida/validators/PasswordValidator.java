@@ -1,15 +1,23 @@
 package convalida.validators;
 
 import android.widget.EditText;
-import java.util.regex.Pattern;
+
+import convalida.core.engine.PasswordPolicy;
+import convalida.core.engine.PasswordScan;
+import convalida.core.rules.PasswordRule;
 
 /**
  * @author  Wellington Costa on 21/06/2017.
  */
 public class PasswordValidator extends AbstractValidator {
 
-    private int min;
-    private String pattern;
+    private final PasswordRule rule;
+    private final ThreadLocal<PasswordScan> scan = new ThreadLocal<PasswordScan>() {
+        @Override protected PasswordScan initialValue() {
+            return new PasswordScan();
+        }
+    };
+    private volatile double entropyBits;
 
     public PasswordValidator(
             EditText editText,
@@ -18,22 +26,50 @@ public class PasswordValidator extends AbstractValidator {
             String pattern,
             boolean autoDismiss) {
         super(editText, errorMessage, autoDismiss);
-        this.min = min;
-        this.pattern = pattern;
+        this.rule = new PasswordRule(min, pattern);
     }
 
-    @Override public boolean isValid(String value) {
-        boolean hasError = value.isEmpty();
+    public PasswordValidator(
+            EditText editText,
+            String errorMessage,
+            int min,
+            PasswordPolicy policy,
+            boolean autoDismiss) {
+        super(editText, errorMessage, autoDismiss);
+        this.rule = new PasswordRule(min, policy);
+    }
 
-        if (min > 0) {
-            hasError |= value.length() < min;
-        }
+    /**
+     * Policies, and the patterns they replace, scan the value once. Other patterns run a
+     * regex.
+     */
+    @Override protected Cost cost() {
+        return rule.usesRegex() ? Cost.EXPENSIVE : Cost.CHEAP;
+    }
 
-        if (!pattern.isEmpty()) {
-            hasError |= !Pattern.matches(pattern, value);
-        }
+    /**
+     * @return the estimated entropy of the last validated value whose result was shown, for
+     * strength meters. It is gathered while validating, without scanning the value again, by
+     * the thread that ran the validation.
+     */
+    public double getEntropyBits() {
+        return entropyBits;
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value, scan.get());
+    }
+
+    @Override void publishDetails() {
+        entropyBits = scan.get().getEntropyBits();
+    }
+
+    @Override Object captureDetails() {
+        return scan.get().getEntropyBits();
+    }
 
-        return !hasError;
+    @Override void publishDetails(Object details) {
+        entropyBits = (Double) details;
     }
 
 }
@@ -2,18 +2,18 @@ package convalida.validators;
 
 import android.widget.EditText;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import convalida.core.Rule;
+import convalida.core.engine.Clock;
+import convalida.core.engine.DateLimit;
+import convalida.core.rules.PastDateRule;
 
 /**
  * @author Wellington Costa on 31/07/2019.
  */
 public class PastDateValidator extends AbstractValidator {
 
-    private final SimpleDateFormat dateFormat;
-    private final String limitDate;
-    private final boolean required;
+    private final Rule rule;
+    private final boolean relative;
 
     public PastDateValidator(
             EditText editText,
@@ -23,36 +23,39 @@ public class PastDateValidator extends AbstractValidator {
             boolean autoDismiss,
             boolean required
     ) {
-        super(editText, errorMessage, autoDismiss);
-
-        this.dateFormat = new SimpleDateFormat(dateFormat, Locale.getDefault());
-        this.limitDate = limitDate;
-        this.required = required;
+        this(editText, errorMessage, dateFormat, limitDate, autoDismiss, required, Clock.system());
     }
 
-    @Override public boolean isValid(String value) {
-
-        if(required && value.isEmpty()) return false;
-
-        try {
-
-            Date current = dateFormat.parse(value);
-
-            Date limit = dateFormat.parse(this.limitDate);
-
-            return afterOrEqualsTo(current, limit);
-
-        } catch (Exception exception) {
-
-            exception.printStackTrace();
-
-            return false;
+    /**
+     * @param clock tells which day is today for relative limits.
+     */
+    public PastDateValidator(
+            EditText editText,
+            String errorMessage,
+            String dateFormat,
+            String limitDate,
+            boolean autoDismiss,
+            boolean required,
+            Clock clock
+    ) {
+        super(editText, errorMessage, autoDismiss);
+        this.rule = new PastDateRule(dateFormat, limitDate, required, clock);
+        this.relative = DateLimit.isRelative(limitDate);
+    }
 
-        }
+    @Override protected Cost cost() {
+        return Cost.MODERATE;
+    }
 
+    /**
+     * Limits relative to today move at midnight, while the text of the field stays the same.
+     */
+    @Override protected boolean isCacheable() {
+        return !relative;
     }
 
-    private boolean afterOrEqualsTo(Date current, Date limit) {
-        return current.equals(limit) || current.after(limit);
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
+
 }
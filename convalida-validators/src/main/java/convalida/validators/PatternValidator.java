@@ -1,15 +1,16 @@
 package convalida.validators;
 
 import android.widget.EditText;
-import java.util.regex.Pattern;
+
+import convalida.core.engine.MatchBudget;
+import convalida.core.rules.PatternRule;
 
 /**
  * @author Wellington Costa on 21/06/2017.
  */
 public class PatternValidator extends AbstractValidator {
 
-    private String pattern;
-    private boolean required;
+    private final PatternRule rule;
 
     public PatternValidator(
             EditText editText,
@@ -19,14 +20,46 @@ public class PatternValidator extends AbstractValidator {
             boolean required
     ) {
         super(editText, errorMessage, autoDismiss);
-        this.pattern = pattern;
-        this.required = required;
+        this.rule = new PatternRule(pattern, required);
+    }
+
+    /**
+     * @param budget limits of each match of the pattern. Values over the budget are reported
+     * as invalid and {@link #isAborted()} tells them apart.
+     */
+    public PatternValidator(
+            EditText editText,
+            String errorMessage,
+            String pattern,
+            boolean autoDismiss,
+            boolean required,
+            MatchBudget budget
+    ) {
+        super(editText, errorMessage, autoDismiss);
+        this.rule = new PatternRule(pattern, required, budget);
+    }
+
+    /**
+     * Patterns compiled to an automaton match in one pass over the value. Other patterns run
+     * a regex.
+     */
+    @Override protected Cost cost() {
+        return rule.usesRegex() ? Cost.EXPENSIVE : Cost.CHEAP;
+    }
+
+    /**
+     * @return true when the value matches or may still match after more chars are typed, so
+     * an error can be held back while the user is typing.
+     *
+     * @throws convalida.core.engine.BudgetExceededException when the match goes over the
+     * budget of the validator.
+     */
+    public boolean canMatch(CharSequence value) {
+        return rule.canMatch(value);
     }
 
-    @Override public boolean isValid(String value) {
-        value = value.replace(" ", "");
-        return (!required || !value.isEmpty())
-                && (value.isEmpty() || Pattern.matches(pattern, value));
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
 
 }
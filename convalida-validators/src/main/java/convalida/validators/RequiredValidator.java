@@ -2,20 +2,26 @@ package convalida.validators;
 
 import android.widget.EditText;
 
+import convalida.core.Rule;
+import convalida.core.rules.RequiredRule;
+
 /**
  * @author Wellington Costa on 21/06/2017.
  */
 public class RequiredValidator extends AbstractValidator {
 
+    private final Rule rule;
+
     public RequiredValidator(
             EditText editText,
             String errorMessage,
             boolean autoDismiss) {
         super(editText, errorMessage, autoDismiss);
+        this.rule = new RequiredRule();
     }
 
-    @Override public boolean isValid(String value) {
-        return !value.isEmpty();
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
 
-}
\ No newline at end of file
+}
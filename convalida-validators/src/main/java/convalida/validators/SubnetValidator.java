@@ -0,0 +1,26 @@
+package convalida.validators;
+
+import android.widget.EditText;
+
+import convalida.core.Rule;
+import convalida.core.rules.SubnetRule;
+
+public class SubnetValidator extends AbstractValidator {
+
+    private final Rule rule;
+
+    public SubnetValidator(
+            EditText editText,
+            String errorMessage,
+            String subnet,
+            boolean autoDismiss,
+            boolean required) {
+        super(editText, errorMessage, autoDismiss);
+        this.rule = new SubnetRule(subnet, required);
+    }
+
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
+    }
+
+}
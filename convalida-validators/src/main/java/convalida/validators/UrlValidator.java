@@ -2,12 +2,15 @@ package convalida.validators;
 
 import android.widget.EditText;
 
+import convalida.core.Rule;
+import convalida.core.rules.UrlRule;
+
 /**
  * @author Wellington Costa on 30/07/2019.
  */
 public class UrlValidator extends AbstractValidator {
 
-    private boolean required;
+    private final Rule rule;
 
     public UrlValidator(
             EditText editText,
@@ -15,18 +18,15 @@ public class UrlValidator extends AbstractValidator {
             boolean autoDismiss,
             boolean required) {
         super(editText, errorMessage, autoDismiss);
-
-        this.required = required;
+        this.rule = new UrlRule(required);
     }
 
-    @Override public boolean isValid(String value) {
-        value = value.replace(" ", "");
-
-        if(required && value.isEmpty()) return false;
+    @Override protected Cost cost() {
+        return Cost.MODERATE;
+    }
 
-        return new org.apache.commons.validator.routines.UrlValidator(
-                org.apache.commons.validator.routines.UrlValidator.ALLOW_LOCAL_URLS
-        ).isValid(value);
+    @Override public boolean isValid(CharSequence value) {
+        return rule.isValid(value);
     }
 
 }
@@ -0,0 +1,546 @@
+package convalida.validators;
+
+import android.widget.EditText;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import convalida.core.util.Normalizer;
+import convalida.validators.error.ValidationError;
+import convalida.validators.util.EditTexts;
+
+/**
+ * Immutable, insertion ordered snapshot of the rules of a {@link ValidatorSet}.
+ *
+ * Fields and validators are flattened into arrays: the validators of the field at position
+ * {@code i} are {@code validators[offsets[i]]} to {@code validators[offsets[i + 1] - 1]}.
+ * The result of the last run of each field is kept in a bitset and the error of each validator
+ * is created once, so validating the whole form is a single pass that does not allocate.
+ *
+ * Unless the set asks for registration order, the validators of each field are sorted from the
+ * cheapest to the most expensive one, keeping registration order between validators of the
+ * same cost. That order is the rank of a validator: when several validators of a field fail,
+ * the error shown is the one of the failing validator with the lowest rank. In adaptive mode
+ * the validators are evaluated in the order suggested by their measured time and failure rate,
+ * skipping those ranked after a failure already found, so the error shown does not change.
+ *
+ * The plan also remembers which validator failed in the last run of each field. Fields whose
+ * text changes are observed are only validated again after they, or a field they depend on,
+ * are marked dirty. Fields that are not observed are validated on every run, as are fields
+ * with a validator whose result is not cacheable.
+ *
+ * The text of a field with a {@link Normalizer} is normalized once per run, into a buffer kept
+ * by the plan for that field, and every validator of the field reads the normalized text.
+ */
+final class ValidationPlan {
+
+    private static final int UNKNOWN = -2;
+    private static final int REORDER_INTERVAL = 16;
+    private static final int DECAY_THRESHOLD = 256;
+    private static final int[] NO_DEPENDENTS = new int[0];
+
+    final EditText[] fields;
+    final int[] offsets;
+    final AbstractValidator[] validators;
+    final ValidationError[] errors;
+    final ValidationError[] abortedErrors;
+    private final Normalizer[] normalizers;
+    private final StringBuilder[] buffers;
+
+    private final Map<EditText, Integer> positions;
+    private final int[][] dependents;
+    private final long[] invalidFields;
+    private final long[] abortedFields;
+    private final long[] dirtyFields;
+    private final long[] trackedFields;
+    private final long[] expensiveFields;
+    private final int[] failedValidators;
+    private final int[] visibilities;
+
+    private final boolean adaptive;
+    private final int[] order;
+    private final long[] elapsedNanos;
+    private final int[] runs;
+    private final int[] failures;
+    private final int[] fieldRuns;
+
+    private ValidationPlan(
+            EditText[] fields,
+            int[] offsets,
+            AbstractValidator[] validators,
+            Map<EditText, Integer> positions,
+            Normalizer[] normalizers,
+            boolean adaptive
+    ) {
+        int words = (fields.length + 63) >>> 6;
+
+        this.fields = fields;
+        this.offsets = offsets;
+        this.validators = validators;
+        this.errors = new ValidationError[validators.length];
+        this.abortedErrors = new ValidationError[validators.length];
+        this.positions = positions;
+        this.normalizers = normalizers;
+        this.buffers = new StringBuilder[fields.length];
+        this.dependents = new int[fields.length][];
+        this.invalidFields = new long[words];
+        this.abortedFields = new long[words];
+        this.dirtyFields = new long[words];
+        this.trackedFields = new long[words];
+        this.expensiveFields = new long[words];
+        this.failedValidators = new int[fields.length];
+        this.visibilities = new int[fields.length];
+        this.adaptive = adaptive;
+        this.order = adaptive ? new int[validators.length] : null;
+        this.elapsedNanos = adaptive ? new long[validators.length] : null;
+        this.runs = adaptive ? new int[validators.length] : null;
+        this.failures = adaptive ? new int[validators.length] : null;
+        this.fieldRuns = adaptive ? new int[fields.length] : null;
+
+        if (adaptive) {
+            for (int i = 0; i < validators.length; i++) {
+                order[i] = i;
+            }
+        }
+
+        for (int i = 0; i < validators.length; i++) {
+            errors[i] = new ValidationError(validators[i].editText, validators[i].errorMessage);
+            abortedErrors[i] =
+                    new ValidationError(validators[i].editText, validators[i].errorMessage, true);
+        }
+
+        for (int field = 0; field < fields.length; field++) {
+            for (int i = offsets[field]; i < offsets[field + 1]; i++) {
+                if (validators[i].isExpensive()) set(expensiveFields, field, true);
+            }
+
+            if (normalizers[field] != null) buffers[field] = new StringBuilder();
+        }
+
+        markAllDirty();
+    }
+
+    /**
+     * @param trackedFields fields whose text changes are reported through {@link #markDirty(int)}.
+     * @param normalizers normalizers of the fields that have one.
+     */
+    static ValidationPlan compile(
+            Map<EditText, List<AbstractValidator>> rules,
+            Collection<EditText> trackedFields,
+            Map<EditText, Normalizer> normalizers,
+            ValidatorSet.Ordering ordering
+    ) {
+        int fieldCount = rules.size();
+        int validatorCount = 0;
+
+        for (List<AbstractValidator> fieldValidators : rules.values()) {
+            validatorCount += fieldValidators.size();
+        }
+
+        EditText[] fields = new EditText[fieldCount];
+        int[] offsets = new int[fieldCount + 1];
+        AbstractValidator[] validators = new AbstractValidator[validatorCount];
+        Normalizer[] fieldNormalizers = new Normalizer[fieldCount];
+        Map<EditText, Integer> positions = new IdentityHashMap<>(fieldCount);
+
+        int field = 0;
+        int offset = 0;
+
+        for (Map.Entry<EditText, List<AbstractValidator>> entry : rules.entrySet()) {
+            fields[field] = entry.getKey();
+            offsets[field] = offset;
+            positions.put(entry.getKey(), field);
+            fieldNormalizers[field] = normalizers.get(entry.getKey());
+
+            for (AbstractValidator validator : entry.getValue()) {
+                validators[offset++] = validator;
+            }
+
+            if (ordering != ValidatorSet.Ordering.REGISTRATION) {
+                sortByCost(validators, offsets[field], offset);
+            }
+
+            field++;
+        }
+
+        offsets[fieldCount] = offset;
+
+        ValidationPlan plan = new ValidationPlan(
+                fields,
+                offsets,
+                validators,
+                positions,
+                fieldNormalizers,
+                ordering == ValidatorSet.Ordering.ADAPTIVE
+        );
+
+        long[] observed = new long[plan.trackedFields.length];
+
+        for (EditText trackedField : trackedFields) {
+            int position = plan.positionOf(trackedField);
+            if (position >= 0) set(observed, position, true);
+        }
+
+        plan.resolveDependencies(observed);
+
+        return plan;
+    }
+
+    /**
+     * Stable insertion sort, fields rarely have more than a handful of validators.
+     */
+    private static void sortByCost(AbstractValidator[] validators, int start, int end) {
+        for (int i = start + 1; i < end; i++) {
+            AbstractValidator validator = validators[i];
+            int cost = validator.cost().ordinal();
+            int j = i - 1;
+
+            while (j >= start && validators[j].cost().ordinal() > cost) {
+                validators[j + 1] = validators[j];
+                j--;
+            }
+
+            validators[j + 1] = validator;
+        }
+    }
+
+    /**
+     * Builds the reverse dependency lists. A field is only tracked when its own text and the
+     * text of every field it depends on are observed, and the results of its validators are
+     * cacheable.
+     */
+    private void resolveDependencies(long[] observed) {
+        int[] counts = new int[fields.length];
+
+        System.arraycopy(observed, 0, trackedFields, 0, observed.length);
+
+        for (int field = 0; field < fields.length; field++) {
+            for (int i = offsets[field]; i < offsets[field + 1]; i++) {
+                if (!validators[i].isCacheable()) set(trackedFields, field, false);
+
+                for (EditText dependency : validators[i].dependencies()) {
+                    int position = positionOf(dependency);
+
+                    if (position < 0 || !get(observed, position)) {
+                        set(trackedFields, field, false);
+                    } else if (position != field) {
+                        counts[position]++;
+                    }
+                }
+            }
+        }
+
+        for (int field = 0; field < fields.length; field++) {
+            dependents[field] = counts[field] == 0 ? NO_DEPENDENTS : new int[counts[field]];
+            counts[field] = 0;
+        }
+
+        for (int field = 0; field < fields.length; field++) {
+            for (int i = offsets[field]; i < offsets[field + 1]; i++) {
+                for (EditText dependency : validators[i].dependencies()) {
+                    int position = positionOf(dependency);
+
+                    if (position >= 0 && position != field && get(observed, position)) {
+                        dependents[position][counts[position]++] = field;
+                    }
+                }
+            }
+        }
+    }
+
+    int fieldCount() {
+        return fields.length;
+    }
+
+    /**
+     * @return the position of the field in the form, or -1 when it has no validators.
+     */
+    int positionOf(EditText field) {
+        Integer position = positions.get(field);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Marks the field and every field that depends on it as changed since the last run.
+     */
+    void markDirty(int field) {
+        set(dirtyFields, field, true);
+
+        for (int dependent : dependents[field]) {
+            set(dirtyFields, dependent, true);
+        }
+    }
+
+    /**
+     * Stops trusting cached results, every field is validated on every run from now on.
+     */
+    void untrackAll() {
+        for (int i = 0; i < trackedFields.length; i++) {
+            trackedFields[i] = 0;
+        }
+    }
+
+    void markAllDirty() {
+        for (int field = 0; field < fields.length; field++) {
+            failedValidators[field] = UNKNOWN;
+            set(dirtyFields, field, true);
+        }
+    }
+
+    /**
+     * @return true when the cached result of the field can not be trusted anymore.
+     */
+    boolean needsValidation(int field) {
+        return get(dirtyFields, field)
+                || !get(trackedFields, field)
+                || failedValidators[field] == UNKNOWN
+                || visibilities[field] != fields[field].getVisibility();
+    }
+
+    /**
+     * Validates the field only when it is dirty.
+     *
+     * @return the index of the failed validator, or -1 when all of them passed.
+     */
+    int validateFieldIfNeeded(int field) {
+        return needsValidation(field) ? validateField(field) : failedValidators[field];
+    }
+
+    /**
+     * Runs the validators of the field against its current text until the failure with the
+     * lowest rank is known, then shows its error. Hidden fields are always valid.
+     *
+     * @return the index of the failed validator, or -1 when all of them passed.
+     */
+    int validateField(int field) {
+        EditText editText = fields[field];
+
+        if (EditTexts.isVisible(editText)) {
+            return applyResult(field, -1);
+        }
+
+        CharSequence value = normalize(field, editText.getText());
+
+        return applyResult(field, adaptive ? evaluateAdaptively(field, value) : evaluate(field, value));
+    }
+
+    /**
+     * Must be called on the main thread, the result may be the buffer of the field and is only
+     * valid until the next call for the same field.
+     *
+     * @return the text of the field as read by its validators.
+     */
+    CharSequence normalize(int field, CharSequence value) {
+        Normalizer normalizer = normalizers[field];
+        return normalizer != null ? normalizer.normalize(value, buffers[field]) : value;
+    }
+
+    private int evaluate(int field, CharSequence value) {
+        for (int i = offsets[field], end = offsets[field + 1]; i < end; i++) {
+            if (!run(i, value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Runs the validator on this thread, whose result is applied right away.
+     */
+    private boolean run(int validator, CharSequence value) {
+        boolean valid = validators[validator].evaluate(value);
+        validators[validator].publishDetails();
+        return valid;
+    }
+
+    private int evaluateAdaptively(int field, CharSequence value) {
+        int end = offsets[field + 1];
+        int failed = end;
+
+        for (int k = offsets[field]; k < end; k++) {
+            int i = order[k];
+
+            if (i > failed) continue;
+
+            long start = System.nanoTime();
+            boolean valid = run(i, value);
+            record(i, System.nanoTime() - start, valid);
+
+            if (!valid) failed = i;
+        }
+
+        if (++fieldRuns[field] % REORDER_INTERVAL == 0) {
+            reorder(field);
+        }
+
+        return failed < end ? failed : -1;
+    }
+
+    private void record(int validator, long nanos, boolean valid) {
+        elapsedNanos[validator] += nanos;
+        runs[validator]++;
+
+        if (!valid) failures[validator]++;
+
+        // Halve the history from time to time so the order follows changes in the input.
+        if (runs[validator] >= DECAY_THRESHOLD) {
+            elapsedNanos[validator] >>= 1;
+            runs[validator] >>= 1;
+            failures[validator] >>= 1;
+        }
+    }
+
+    /**
+     * Sorts the evaluation order of the field by expected time spent per rejection, so fast
+     * validators that fail often run first. Ties keep the rank order.
+     */
+    private void reorder(int field) {
+        for (int k = offsets[field] + 1, end = offsets[field + 1]; k < end; k++) {
+            int validator = order[k];
+            double score = score(validator);
+            int j = k - 1;
+
+            while (j >= offsets[field] && isWorse(order[j], score, validator)) {
+                order[j + 1] = order[j];
+                j--;
+            }
+
+            order[j + 1] = validator;
+        }
+    }
+
+    private boolean isWorse(int validator, double score, int another) {
+        double validatorScore = score(validator);
+        return validatorScore > score || (validatorScore == score && validator > another);
+    }
+
+    private double score(int validator) {
+        double averageNanos = (double) elapsedNanos[validator] / Math.max(runs[validator], 1);
+        double failureRate = (failures[validator] + 1.0) / (runs[validator] + 2.0);
+        return averageNanos / failureRate;
+    }
+
+    /**
+     * @return the validators of the field in the order they are evaluated in.
+     */
+    int[] evaluationOrder(int field) {
+        int start = offsets[field];
+        int[] result = new int[offsets[field + 1] - start];
+
+        for (int k = 0; k < result.length; k++) {
+            result[k] = adaptive ? order[start + k] : start + k;
+        }
+
+        return result;
+    }
+
+    boolean hasExpensiveValidators(int field) {
+        return get(expensiveFields, field);
+    }
+
+    /**
+     * Runs the validators of the field that are not expensive, without touching the views.
+     * The value must already be normalized.
+     *
+     * @return the index of the first one that failed, or -1 when all of them passed.
+     */
+    int evaluateCheapValidators(int field, CharSequence value) {
+        for (int i = offsets[field], end = offsets[field + 1]; i < end; i++) {
+            if (!validators[i].isExpensive() && !validators[i].evaluate(value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Publishes the details of a validation of the field computed elsewhere, before its result
+     * is applied: the cheap validators ran on this thread up to the first cheap failure, the
+     * expensive ones on the thread which captured their details.
+     *
+     * @param captured details of the validators of the field, by position in the field.
+     */
+    void publishDetails(int field, int cheapFailure, Object[] captured) {
+        for (int i = offsets[field], end = offsets[field + 1]; i < end; i++) {
+            if (validators[i].isExpensive()) {
+                Object details = captured[i - offsets[field]];
+                if (details != null) validators[i].publishDetails(details);
+            } else if (cheapFailure < 0 || i <= cheapFailure) {
+                validators[i].publishDetails();
+            }
+        }
+    }
+
+    /**
+     * Shows the result of a validation of the field run on this thread and caches it.
+     *
+     * @param failed the index of the failed validator, or -1 when all of them passed.
+     */
+    int applyResult(int field, int failed) {
+        return applyResult(field, failed, failed >= 0 && validators[failed].isAborted());
+    }
+
+    /**
+     * Shows the result of a validation of the field computed elsewhere and caches it.
+     *
+     * @param failed the index of the failed validator, or -1 when all of them passed.
+     * @param aborted whether the validation of the failed validator was aborted.
+     */
+    int applyResult(int field, int failed, boolean aborted) {
+        if (failed >= 0) {
+            validators[failed].showResult(false);
+        } else {
+            validators[offsets[field]].showResult(true);
+        }
+
+        return cacheResult(field, failed, aborted);
+    }
+
+    private int cacheResult(int field, int failed, boolean aborted) {
+        failedValidators[field] = failed;
+        visibilities[field] = fields[field].getVisibility();
+        set(invalidFields, field, failed >= 0);
+        set(abortedFields, field, aborted);
+        set(dirtyFields, field, false);
+        return failed;
+    }
+
+    /**
+     * @return the error of the failed validator of the field, flagged when its last validation
+     * was aborted.
+     */
+    ValidationError errorOf(int field, int failed) {
+        return get(abortedFields, field) ? abortedErrors[failed] : errors[failed];
+    }
+
+    boolean isInvalid(int field) {
+        return get(invalidFields, field);
+    }
+
+    int invalidCount() {
+        int count = 0;
+
+        for (long word : invalidFields) {
+            count += Long.bitCount(word);
+        }
+
+        return count;
+    }
+
+    private static boolean get(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index, boolean value) {
+        if (value) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+}
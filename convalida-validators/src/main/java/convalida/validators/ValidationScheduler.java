@@ -0,0 +1,171 @@
+package convalida.validators;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides when the validation of a field that the user is typing in runs.
+ *
+ * {@link #immediate()} validates inside the text change, as before. {@link #debounced(long)}
+ * waits until the field stops changing for the given quiet period, and {@link #perFrame()}
+ * runs all the fields changed since the last frame at most once per frame. Scheduling a field
+ * that is still pending replaces the pending run, and runs always read the latest text of the
+ * field, so intermediate values are never validated.
+ */
+public abstract class ValidationScheduler {
+
+    static final long FRAME_DELAY_MILLIS = 16;
+
+    /**
+     * Source of delays used by the schedulers. The default one posts to the main thread, tests
+     * can provide one that runs tasks on demand.
+     */
+    public interface Poster {
+
+        void postDelayed(@NonNull Runnable task, long delayMillis);
+
+        void postOnNextFrame(@NonNull Runnable task);
+
+        void removeCallbacks(@NonNull Runnable task);
+
+    }
+
+    private static final ValidationScheduler IMMEDIATE = new ValidationScheduler() {
+        @Override public void schedule(@NonNull Runnable task) {
+            task.run();
+        }
+
+        @Override public void cancel(@NonNull Runnable task) { }
+    };
+
+    public static ValidationScheduler immediate() {
+        return IMMEDIATE;
+    }
+
+    public static ValidationScheduler debounced(long quietPeriodMillis) {
+        return debounced(quietPeriodMillis, new MainThreadPoster());
+    }
+
+    public static ValidationScheduler debounced(long quietPeriodMillis, @NonNull Poster poster) {
+        if (quietPeriodMillis < 0) {
+            throw new IllegalArgumentException("quietPeriodMillis cannot be negative.");
+        }
+
+        return new Debounced(quietPeriodMillis, poster);
+    }
+
+    public static ValidationScheduler perFrame() {
+        return perFrame(new MainThreadPoster());
+    }
+
+    public static ValidationScheduler perFrame(@NonNull Poster poster) {
+        return new PerFrame(poster);
+    }
+
+    /**
+     * Runs the task according to this scheduler, replacing a pending run of the same task.
+     */
+    public abstract void schedule(@NonNull Runnable task);
+
+    /**
+     * Drops the pending run of the task, if any.
+     */
+    public abstract void cancel(@NonNull Runnable task);
+
+    private static final class Debounced extends ValidationScheduler {
+
+        private final long quietPeriodMillis;
+        private final Poster poster;
+
+        Debounced(long quietPeriodMillis, Poster poster) {
+            this.quietPeriodMillis = quietPeriodMillis;
+            this.poster = poster;
+        }
+
+        @Override public void schedule(@NonNull Runnable task) {
+            poster.removeCallbacks(task);
+            poster.postDelayed(task, quietPeriodMillis);
+        }
+
+        @Override public void cancel(@NonNull Runnable task) {
+            poster.removeCallbacks(task);
+        }
+    }
+
+    private static final class PerFrame extends ValidationScheduler implements Runnable {
+
+        private final Poster poster;
+        private final Set<Runnable> pending = new LinkedHashSet<>();
+        private final List<Runnable> running = new ArrayList<>();
+        private boolean posted;
+
+        PerFrame(Poster poster) {
+            this.poster = poster;
+        }
+
+        @Override public void schedule(@NonNull Runnable task) {
+            pending.add(task);
+
+            if (!posted) {
+                posted = true;
+                poster.postOnNextFrame(this);
+            }
+        }
+
+        @Override public void cancel(@NonNull Runnable task) {
+            pending.remove(task);
+        }
+
+        @Override public void run() {
+            posted = false;
+
+            running.addAll(pending);
+            pending.clear();
+
+            for (int i = 0, size = running.size(); i < size; i++) {
+                running.get(i).run();
+            }
+
+            running.clear();
+        }
+    }
+
+    /**
+     * Posts to the main thread, synchronized with the display through {@link Choreographer}
+     * when it is available.
+     */
+    static final class MainThreadPoster implements Poster {
+
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override public void postDelayed(@NonNull Runnable task, long delayMillis) {
+            handler.postDelayed(task, delayMillis);
+        }
+
+        @Override public void postOnNextFrame(@NonNull final Runnable task) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+                    @Override public void doFrame(long frameTimeNanos) {
+                        task.run();
+                    }
+                });
+            } else {
+                handler.postDelayed(task, FRAME_DELAY_MILLIS);
+            }
+        }
+
+        @Override public void removeCallbacks(@NonNull Runnable task) {
+            handler.removeCallbacks(task);
+        }
+    }
+
+}
@@ -1,43 +1,111 @@
 package convalida.validators;
 
+import android.text.TextWatcher;
 import android.widget.EditText;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
+import convalida.core.util.Normalizer;
 import convalida.validators.error.ValidationError;
 import convalida.validators.error.ValidationErrorSet;
+import convalida.validators.util.EditTexts;
 import convalida.validators.util.ExecuteValidationListener;
 
 import static convalida.validators.util.EditTexts.addOnTextChangedListener;
+import static convalida.validators.util.EditTexts.removeOnTextChangedListener;
 
 /**
+ * Validators are registered per field, in form order. On the first validation after a change
+ * of rules the set is frozen into a {@link ValidationPlan}, which is reused until the rules
+ * change again.
+ *
+ * Fields validated as the user types are tracked: their text changes mark them, and the fields
+ * that depend on them, as dirty, and {@link #isValid()} only validates dirty fields again. The
+ * other fields are validated on every call.
+ *
+ * When the validation of those fields runs is decided by a {@link ValidationScheduler}, which
+ * validates on every text change by default. With an executor, the expensive validators of
+ * those fields run in the background and their results are posted back to the main thread;
+ * results computed for a text that has changed since are dropped.
+ *
+ * A field can be given a {@link Normalizer}, such as trimming or stripping a mask, which runs
+ * once per validation of the field instead of once per validator.
+ *
  * @author Wellington Costa on 21/06/2017.
  */
 public final class ValidatorSet {
 
     final Map<EditText, List<AbstractValidator>> map;
-    private final List<Boolean> validationResults;
+    final Map<EditText, FieldWatcher> watchers;
+    final Map<EditText, Normalizer> normalizers;
     public final ValidationErrorSet errors;
+    private ValidationScheduler scheduler;
+    private Executor executor;
+    private ValidationScheduler.Poster mainThread;
+    private Ordering ordering;
+    private ErrorRenderer renderer;
+    private ValidationPlan plan;
     private boolean valid;
 
+    /**
+     * Order in which the validators of a field run, which is also the order used to pick the
+     * error shown when several of them fail.
+     */
+    public enum Ordering {
+
+        /** Registration order. */
+        REGISTRATION,
+
+        /** From the cheapest to the most expensive validator, ties in registration order. */
+        COST,
+
+        /**
+         * Same errors as {@link #COST}, but evaluates first the validators that measured
+         * timings and failure rates show to reject the text the fastest.
+         */
+        ADAPTIVE
+
+    }
+
     public ValidatorSet() {
-        this.map = new HashMap<>();
-        this.validationResults = new ArrayList<>();
+        this.map = new LinkedHashMap<>();
+        this.watchers = new HashMap<>();
+        this.normalizers = new HashMap<>();
         this.errors = new ValidationErrorSet();
+        this.scheduler = ValidationScheduler.immediate();
+        this.ordering = Ordering.COST;
+        this.renderer = ErrorRenderer.immediate();
         this.valid = true;
     }
 
+    /**
+     * Changes when fields are validated as the user types. Runs pending on the previous
+     * scheduler are dropped, the fields stay dirty until the next validation.
+     */
+    public void setScheduler(@NonNull ValidationScheduler scheduler) {
+        cancelPendingValidations();
+        this.scheduler = scheduler;
+    }
+
     public void addValidator(@NonNull AbstractValidator validator) {
+        validator.renderer = renderer;
+
         createValidatorsListIfNotExists(validator);
 
         addValidatorToMap(validator);
 
         addTextChangeListener(validator.autoDismiss, validator.editText);
+
+        plan = null;
     }
 
     public void addValidators(@NonNull List<AbstractValidator> validators) {
@@ -60,22 +128,113 @@ public final class ValidatorSet {
         }
     }
 
-    private void addTextChangeListener(boolean autoDismiss, final EditText editText) {
-        if(autoDismiss) {
-            final Map<EditText, List<AbstractValidator>> map = this.map;
+    /**
+     * Normalizes the text of the field before its validators read it. The text of the other
+     * fields a validator depends on is read as is. Pass null to validate the raw text again.
+     */
+    public void setNormalizer(@NonNull EditText field, @Nullable Normalizer normalizer) {
+        if (normalizer != null) {
+            normalizers.put(field, normalizer);
+        } else {
+            normalizers.remove(field);
+        }
 
-            addOnTextChangedListener(editText, new ExecuteValidationListener() {
-                @Override public void execute(String value) {
-                    List<AbstractValidator> validators = map.get(editText);
+        plan = null;
+    }
 
-                    if(validators != null) {
-                        for(AbstractValidator validator : validators) {
-                            boolean isValid = validator.validate(value);
-                            if(!isValid) break;
-                        }
-                    }
-                }
-            });
+    /**
+     * Changes how errors are shown, for example {@link ErrorRenderer#perFrame()} to render all
+     * the errors of a validation together on the next frame. Pending changes of the previous
+     * renderer are rendered first.
+     */
+    public void setErrorRenderer(@NonNull ErrorRenderer renderer) {
+        this.renderer.flush();
+        this.renderer = renderer;
+
+        for (List<AbstractValidator> validators : map.values()) {
+            for (AbstractValidator validator : validators) {
+                validator.renderer = renderer;
+            }
+        }
+    }
+
+    public void setOrdering(@NonNull Ordering ordering) {
+        this.ordering = ordering;
+        plan = null;
+    }
+
+    /**
+     * Runs the expensive validators of fields validated as the user types on the given
+     * executor. Pass null to run them on the main thread again. {@link #isValid()} is not
+     * affected and always validates synchronously.
+     */
+    public void setExecutor(@Nullable Executor executor) {
+        setExecutor(executor, mainThread != null ? mainThread : new ValidationScheduler.MainThreadPoster());
+    }
+
+    @VisibleForTesting void setExecutor(@Nullable Executor executor, @NonNull ValidationScheduler.Poster mainThread) {
+        cancelPendingResults();
+        this.executor = executor;
+        this.mainThread = mainThread;
+    }
+
+    /**
+     * @return true while the result of a background validation is outstanding.
+     */
+    public boolean isPending() {
+        for (FieldWatcher watcher : watchers.values()) {
+            if (watcher.pending) return true;
+        }
+
+        return false;
+    }
+
+    public boolean isPending(@NonNull EditText field) {
+        FieldWatcher watcher = watchers.get(field);
+        return watcher != null && watcher.pending;
+    }
+
+    /**
+     * @return true when the last validation of the field was aborted because it went over the
+     * budget of a validator, see {@link ValidationError#aborted}.
+     */
+    public boolean isAborted(@NonNull EditText field) {
+        ValidationError error = errors.get(field);
+        return error != null && error.aborted;
+    }
+
+    ValidationPlan plan() {
+        if (plan == null) {
+            plan = ValidationPlan.compile(map, watchers.keySet(), normalizers, ordering);
+            errors.reset(plan.fields);
+        }
+
+        return plan;
+    }
+
+    /**
+     * Registers a single watcher per field, which runs the whole validator chain of the field
+     * once for each scheduled run, no matter how many validators the field has.
+     */
+    private void addTextChangeListener(boolean autoDismiss, EditText editText) {
+        if(autoDismiss && !watchers.containsKey(editText)) {
+            FieldWatcher watcher = new FieldWatcher(editText);
+            watcher.textWatcher = addOnTextChangedListener(editText, watcher);
+            watchers.put(editText, watcher);
+        }
+    }
+
+    private void cancelPendingValidations() {
+        for (FieldWatcher watcher : watchers.values()) {
+            scheduler.cancel(watcher);
+        }
+
+        cancelPendingResults();
+    }
+
+    private void cancelPendingResults() {
+        for (FieldWatcher watcher : watchers.values()) {
+            watcher.cancelPendingResult();
         }
     }
 
@@ -85,57 +244,202 @@ public final class ValidatorSet {
     }
 
     private void executeValidators() {
-        errors.items.clear();
+        ValidationPlan plan = plan();
+
+        cancelPendingResults();
+
+        for(int field = 0, count = plan.fieldCount(); field < count; field++) {
+            updateError(plan, field, plan.validateFieldIfNeeded(field));
+        }
 
-        validationResults.clear();
+        valid = plan.invalidCount() == 0;
+    }
 
-        for(EditText editText : map.keySet()) {
-            List<AbstractValidator> validators = map.get(editText);
+    private void updateError(ValidationPlan plan, int field, int failed) {
+        if(failed >= 0) {
+            errors.put(field, plan.errorOf(field, failed));
+        } else {
+            errors.remove(field);
+        }
+    }
 
-            if(validators != null) {
-                for(AbstractValidator validator : validators) {
-                    boolean isValid = validator.validate();
+    /**
+     * Removes every text watcher registered by this set and by its validators. The validators
+     * are kept, so {@link #isValid()} still works, but fields are no longer validated as the
+     * user types.
+     */
+    public void detach() {
+        cancelPendingValidations();
 
-                    validationResults.add(isValid);
+        for (Map.Entry<EditText, FieldWatcher> entry : watchers.entrySet()) {
+            removeOnTextChangedListener(entry.getKey(), entry.getValue().textWatcher);
+        }
 
-                    if(!isValid) {
-                        addValidationError(validator);
+        watchers.clear();
 
-                        break;
-                    }
-                }
+        if (plan != null) {
+            plan.untrackAll();
+        }
+
+        for (List<AbstractValidator> validators : map.values()) {
+            for(AbstractValidator validator : validators) {
+                validator.detach();
             }
         }
+    }
+
+    /**
+     * Detaches this set from its fields and forgets all its validators, so the form can be
+     * rebuilt from scratch without piling up listeners.
+     */
+    public void dispose() {
+        detach();
+
+        map.clear();
+
+        normalizers.clear();
 
-        checkValidationResults();
+        plan = null;
+
+        errors.reset(new EditText[0]);
     }
 
-    private void addValidationError(AbstractValidator validator) {
-        errors.items.add(new ValidationError(
-                validator.editText,
-                validator.errorMessage
-        ));
+    /**
+     * Forces the next call to {@link #isValid()} to validate every field again. Use it when
+     * something other than the text of the fields changes the outcome of a validator.
+     */
+    public void invalidate() {
+        if (plan != null) {
+            plan.markAllDirty();
+        }
     }
 
-    private void checkValidationResults() {
-        int totalInvalidFields = 0;
+    public void clearValidators() {
+        errors.clear();
+
+        ValidationPlan plan = plan();
 
-        for (Boolean validationResult : validationResults) {
-            if (!validationResult)
-                totalInvalidFields ++;
-        }
+        plan.markAllDirty();
 
-        valid = totalInvalidFields == 0;
+        for (AbstractValidator validator : plan.validators) {
+            validator.clear();
+        }
     }
 
-    public void clearValidators() {
-        errors.items.clear();
+    /**
+     * Marks the field as dirty on each text change and validates it when the scheduler runs.
+     * A run is skipped when the field was already validated since the last change.
+     */
+    final class FieldWatcher implements ExecuteValidationListener, Runnable {
 
-        for (List<AbstractValidator> validators : map.values()) {
-            for(AbstractValidator validator : validators) {
-                validator.clear();
+        final EditText editText;
+        TextWatcher textWatcher;
+
+        /**
+         * Incremented on the main thread whenever a background result becomes stale, read by
+         * the background task to stop early.
+         */
+        volatile int generation;
+        boolean pending;
+
+        FieldWatcher(EditText editText) {
+            this.editText = editText;
+        }
+
+        @Override public void execute(CharSequence value) {
+            ValidationPlan plan = plan();
+            int field = plan.positionOf(editText);
+
+            if(field >= 0) {
+                cancelPendingResult();
+                plan.markDirty(field);
+                scheduler.schedule(this);
+            }
+        }
+
+        @Override public void run() {
+            ValidationPlan plan = plan();
+            int field = plan.positionOf(editText);
+
+            if(field < 0 || !plan.needsValidation(field)) return;
+
+            if(executor == null
+                    || !plan.hasExpensiveValidators(field)
+                    || EditTexts.isVisible(editText)) {
+                updateError(plan, field, plan.validateField(field));
+            } else {
+                validateInBackground(plan, field);
+            }
+        }
+
+        void cancelPendingResult() {
+            if(pending) {
+                pending = false;
+                generation++;
+            }
+        }
+
+        /**
+         * Runs the cheap validators right away, and the expensive ones that come before the
+         * first cheap failure on the executor, against a copy of the normalized text.
+         */
+        private void validateInBackground(final ValidationPlan plan, final int field) {
+            final String value = plan.normalize(field, editText.getText()).toString();
+            final int cheapFailure = plan.evaluateCheapValidators(field, value);
+            final boolean cheapAborted = cheapFailure >= 0 && plan.validators[cheapFailure].isAborted();
+            final int generation = ++this.generation;
+
+            pending = true;
+
+            executor.execute(new Runnable() {
+                @Override public void run() {
+                    final Object[] details = new Object[plan.offsets[field + 1] - plan.offsets[field]];
+                    final int failed = evaluateExpensiveValidators(plan, field, value, cheapFailure, generation, details);
+                    // Read on the thread that ran the failed validator.
+                    final boolean aborted = failed == cheapFailure
+                            ? cheapAborted
+                            : plan.validators[failed].isAborted();
+
+                    if(generation != FieldWatcher.this.generation) return;
+
+                    mainThread.postDelayed(new Runnable() {
+                        @Override public void run() {
+                            if(generation != FieldWatcher.this.generation || plan != ValidatorSet.this.plan) return;
+
+                            pending = false;
+                            plan.publishDetails(field, cheapFailure, details);
+                            updateError(plan, field, plan.applyResult(field, failed, aborted));
+                        }
+                    }, 0);
+                }
+            });
+        }
+
+        private int evaluateExpensiveValidators(
+                ValidationPlan plan,
+                int field,
+                String value,
+                int cheapFailure,
+                int generation,
+                Object[] details
+        ) {
+            int end = cheapFailure >= 0 ? cheapFailure : plan.offsets[field + 1];
+
+            for (int i = plan.offsets[field]; i < end; i++) {
+                if(generation != this.generation) return cheapFailure;
+
+                AbstractValidator validator = plan.validators[i];
+
+                if(!validator.isExpensive()) continue;
+
+                boolean valid = validator.evaluate(value);
+                details[i - plan.offsets[field]] = validator.captureDetails();
+
+                if(!valid) return i;
             }
+
+            return cheapFailure;
         }
     }
 
-}
\ No newline at end of file
+}
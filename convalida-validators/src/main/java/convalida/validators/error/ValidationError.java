@@ -11,23 +11,46 @@ public class ValidationError {
     public final EditText editText;
     public final String errorMessage;
 
+    /**
+     * True when the validation went over its budget and was aborted, so the value is not
+     * known to be invalid. Forms can ask for a shorter value rather than show the error.
+     */
+    public final boolean aborted;
+
     public ValidationError(EditText editText, String errorMessage) {
+        this(editText, errorMessage, false);
+    }
+
+    public ValidationError(EditText editText, String errorMessage, boolean aborted) {
         this.editText = editText;
         this.errorMessage = errorMessage;
+        this.aborted = aborted;
     }
 
     @Override public boolean equals(@Nullable Object obj) {
-        if(obj == null) {
+        if(this == obj) {
+            return true;
+        }
+
+        if(!(obj instanceof ValidationError)) {
             return false;
         }
 
         ValidationError another = (ValidationError) obj;
 
-        if(another.editText.equals(this.editText) &&
-                another.errorMessage.equals(this.errorMessage)) {
-            return true;
-        }
+        return equals(another.editText, this.editText) &&
+                equals(another.errorMessage, this.errorMessage) &&
+                another.aborted == this.aborted;
+    }
+
+    @Override public int hashCode() {
+        int result = editText != null ? editText.hashCode() : 0;
+        result = 31 * result + (errorMessage != null ? errorMessage.hashCode() : 0);
+        result = 31 * result + (aborted ? 1 : 0);
+        return result;
+    }
 
-        return super.equals(obj);
+    private static boolean equals(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
     }
 }
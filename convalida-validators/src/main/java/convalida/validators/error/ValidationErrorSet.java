@@ -1,17 +1,190 @@
 package convalida.validators.error;
 
-import java.util.HashSet;
+import android.widget.EditText;
+
+import androidx.annotation.Nullable;
+
+import java.util.AbstractSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
+ * Errors of the last validation, at most one per field, ordered by the position of the field
+ * in the form.
+ *
+ * The set is bound to the fields of a form and is reused across validations: errors are
+ * stored in a slot per field, so updating it does not allocate and looking up the error of a
+ * field is O(1). Callers that keep the errors after the next validation should hold a
+ * {@link #snapshot()} instead of this instance.
+ *
  * @author Wellington Costa on 31/12/18
  */
-public class ValidationErrorSet {
+public class ValidationErrorSet implements Iterable<ValidationError> {
 
+    private static final EditText[] NO_FIELDS = new EditText[0];
+
+    /**
+     * Read only view of the current errors, in form order.
+     */
     public final Set<ValidationError> items;
 
+    private final boolean immutable;
+    private EditText[] fields;
+    private ValidationError[] errors;
+    private Map<EditText, Integer> positions;
+    private int size;
+
     public ValidationErrorSet() {
-        this.items = new HashSet<>();
+        this(NO_FIELDS);
+    }
+
+    public ValidationErrorSet(EditText[] fields) {
+        this.immutable = false;
+        this.items = new Items();
+        reset(fields);
+    }
+
+    private ValidationErrorSet(ValidationErrorSet source) {
+        this.immutable = true;
+        this.items = new Items();
+        this.fields = source.fields;
+        this.errors = source.errors.clone();
+        this.positions = source.positions;
+        this.size = source.size;
+    }
+
+    /**
+     * Binds the set to the given fields, in form order, and removes all errors.
+     */
+    public void reset(EditText[] fields) {
+        checkMutable();
+
+        Map<EditText, Integer> positions = new IdentityHashMap<>(fields.length);
+
+        for (int i = 0; i < fields.length; i++) {
+            positions.put(fields[i], i);
+        }
+
+        this.fields = fields.clone();
+        this.errors = new ValidationError[fields.length];
+        this.positions = positions;
+        this.size = 0;
+    }
+
+    public void put(int position, ValidationError error) {
+        checkMutable();
+
+        if (error.editText != fields[position]) {
+            throw new IllegalArgumentException("error does not belong to the field at " + position);
+        }
+
+        if (errors[position] == null) {
+            size++;
+        }
+
+        errors[position] = error;
+    }
+
+    public void remove(int position) {
+        checkMutable();
+
+        if (errors[position] != null) {
+            errors[position] = null;
+            size--;
+        }
+    }
+
+    public void clear() {
+        checkMutable();
+
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = null;
+        }
+
+        size = 0;
+    }
+
+    @Nullable public ValidationError get(EditText field) {
+        Integer position = positions.get(field);
+        return position != null ? errors[position] : null;
+    }
+
+    public boolean contains(EditText field) {
+        return get(field) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return an immutable copy of the current errors, which is not affected by later validations.
+     */
+    public ValidationErrorSet snapshot() {
+        return immutable ? this : new ValidationErrorSet(this);
+    }
+
+    @Override public Iterator<ValidationError> iterator() {
+        return new Iterator<ValidationError>() {
+
+            private int next = nextPosition(0);
+
+            @Override public boolean hasNext() {
+                return next < errors.length;
+            }
+
+            @Override public ValidationError next() {
+                if (!hasNext()) throw new NoSuchElementException();
+
+                ValidationError error = errors[next];
+                next = nextPosition(next + 1);
+                return error;
+            }
+
+            @Override public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private int nextPosition(int from) {
+        while (from < errors.length && errors[from] == null) {
+            from++;
+        }
+
+        return from;
+    }
+
+    private void checkMutable() {
+        if (immutable) {
+            throw new UnsupportedOperationException("A snapshot of ValidationErrorSet cannot be modified.");
+        }
+    }
+
+    private final class Items extends AbstractSet<ValidationError> {
+
+        @Override public Iterator<ValidationError> iterator() {
+            return ValidationErrorSet.this.iterator();
+        }
+
+        @Override public int size() {
+            return size;
+        }
+
+        @Override public boolean contains(Object o) {
+            if (!(o instanceof ValidationError)) return false;
+
+            ValidationError error = (ValidationError) o;
+
+            return error.equals(get(error.editText));
+        }
     }
 
 }
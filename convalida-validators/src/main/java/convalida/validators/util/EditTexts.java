@@ -11,14 +11,47 @@ import androidx.annotation.NonNull;
 
 import com.google.android.material.textfield.TextInputLayout;
 
+import convalida.core.util.CharSequences;
+import convalida.validators.R;
+
 /**
  * @author Wellington Costa on 08/02/18.
  */
 public final class EditTexts {
 
-    private static TextInputLayout getTextInputLayout(EditText editText) {
+    /**
+     * Returns the {@link TextInputLayout} around the field, or null when there is none.
+     *
+     * While the field is attached to a window the result, including a null one, is kept in a
+     * tag of the field, so the parent chain is walked once instead of on every keystroke. The
+     * tag is dropped when the field is detached or moved to another parent.
+     */
+    static TextInputLayout getTextInputLayout(EditText editText) {
         ViewParent parent = editText.getParent();
+        Object tag = editText.getTag(R.id.convalida_text_input_layout);
+
+        if (tag instanceof CachedLayout) {
+            CachedLayout cached = (CachedLayout) tag;
+
+            if (cached.parent == parent) {
+                return cached.layout;
+            }
+
+            cached.release(editText);
+        }
+
+        TextInputLayout layout = findTextInputLayout(parent);
+
+        if (parent != null && editText.getWindowToken() != null) {
+            CachedLayout cached = new CachedLayout(parent, layout);
+            editText.setTag(R.id.convalida_text_input_layout, cached);
+            editText.addOnAttachStateChangeListener(cached);
+        }
+
+        return layout;
+    }
 
+    private static TextInputLayout findTextInputLayout(ViewParent parent) {
         while (parent instanceof View) {
             if (parent instanceof TextInputLayout) {
                 return (TextInputLayout) parent;
@@ -35,7 +68,7 @@ public final class EditTexts {
         if (layout != null) {
             CharSequence error = layout.getError();
 
-            if(error == null || !error.toString().equals(errorMessage)) {
+            if(error == null || !CharSequences.contentEquals(error, errorMessage)) {
                 layout.setErrorEnabled(true);
                 layout.setError(errorMessage);
             }
@@ -44,33 +77,75 @@ public final class EditTexts {
         }
     }
 
+    /**
+     * @return true when the field, or the {@link TextInputLayout} around it, shows the error.
+     */
+    public static boolean isErrorShown(EditText editText, @NonNull String errorMessage) {
+        TextInputLayout layout = getTextInputLayout(editText);
+        CharSequence error = layout != null ? layout.getError() : editText.getError();
+
+        return error != null && CharSequences.contentEquals(error, errorMessage);
+    }
+
     public static void removeError(EditText editText) {
         TextInputLayout layout = getTextInputLayout(editText);
 
         if (layout != null) {
-            layout.setErrorEnabled(false);
-            layout.setError(null);
-        } else {
+            if (layout.isErrorEnabled() || layout.getError() != null) {
+                layout.setErrorEnabled(false);
+                layout.setError(null);
+            }
+        } else if (editText.getError() != null) {
             editText.setError(null);
         }
     }
 
-    public static void addOnTextChangedListener(
+    public static TextWatcher addOnTextChangedListener(
             final EditText editText,
             final ExecuteValidationListener listener) {
-        editText.addTextChangedListener(new TextWatcher() {
+        TextWatcher watcher = new TextWatcher() {
             @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) {
 
             }
 
             @Override public void onTextChanged(CharSequence s, int start, int before, int count) {
-                listener.execute(s.toString());
+                listener.execute(s);
             }
 
             @Override public void afterTextChanged(Editable s) {
 
             }
-        });
+        };
+
+        editText.addTextChangedListener(watcher);
+
+        return watcher;
+    }
+
+    public static void removeOnTextChangedListener(EditText editText, TextWatcher watcher) {
+        editText.removeTextChangedListener(watcher);
+    }
+
+    private static final class CachedLayout implements View.OnAttachStateChangeListener {
+
+        final ViewParent parent;
+        final TextInputLayout layout;
+
+        CachedLayout(ViewParent parent, TextInputLayout layout) {
+            this.parent = parent;
+            this.layout = layout;
+        }
+
+        void release(View view) {
+            view.removeOnAttachStateChangeListener(this);
+            view.setTag(R.id.convalida_text_input_layout, null);
+        }
+
+        @Override public void onViewAttachedToWindow(View view) { }
+
+        @Override public void onViewDetachedFromWindow(View view) {
+            release(view);
+        }
     }
 
     public static boolean isVisible(EditText editText) {
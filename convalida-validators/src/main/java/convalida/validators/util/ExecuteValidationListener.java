@@ -5,6 +5,9 @@ package convalida.validators.util;
  */
 public interface ExecuteValidationListener {
 
-    void execute(String value);
+    /**
+     * @param value the live text of the field, it must not be kept after this call returns.
+     */
+    void execute(CharSequence value);
 
 }
@@ -0,0 +1,106 @@
+package convalida.validators;
+
+import android.text.Editable;
+import android.widget.EditText;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AbstractValidatorTest extends BaseTest {
+
+    private static class LegacyValidator extends AbstractValidator {
+
+        LegacyValidator(EditText editText) {
+            super(editText, "Must be abc", true);
+        }
+
+        @Override public boolean isValid(String value) {
+            return value.equals("abc");
+        }
+
+    }
+
+    @Test public void legacyStringValidatorStillWorks() {
+        LegacyValidator validator = new LegacyValidator(mockEditText);
+        when(mockEditText.getText().toString()).thenReturn("abc");
+        assertTrue(validator.validate());
+        assertFalse(validator.validate("abd"));
+        assertTrue(validator.validate((CharSequence) new StringBuilder("abc")));
+    }
+
+    private static class IncompleteValidator extends AbstractValidator {
+
+        IncompleteValidator(EditText editText) {
+            super(editText, "Never valid", true);
+        }
+
+    }
+
+    @Test public void validatorOverridingNeitherContractFailsFast() {
+        IncompleteValidator validator = new IncompleteValidator(mockEditText);
+
+        try {
+            validator.validate("abc");
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(IncompleteValidator.class.getName()));
+        }
+
+        try {
+            validator.isValid("abc");
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("isValid(CharSequence)"));
+        }
+    }
+
+    @Test public void stringContractBridgesToCharSequenceValidators() {
+        LengthValidator validator = new LengthValidator(mockEditText, errorMessage, 1, 3, true, true);
+
+        assertTrue(validator.isValid("abc"));
+        assertFalse(validator.isValid("abcd"));
+        assertTrue(new LegacyValidator(mockEditText).isValid((CharSequence) "abc"));
+    }
+
+    @Test public void builtInValidatorsDoNotCopyText() {
+        EditText editText = mock(EditText.class);
+        when(editText.getText()).thenReturn(uncopyableEditable("123.456.789-09"));
+
+        assertTrue(new RequiredValidator(editText, errorMessage, true).validate());
+        assertTrue(new LengthValidator(editText, errorMessage, 1, 20, true, true).validate());
+        assertTrue(new PatternValidator(editText, errorMessage, "[0-9.-]+", true, true).validate());
+        assertTrue(new PasswordValidator(editText, errorMessage, 5, "[0-9.-]+", true).validate());
+        assertFalse(new OnlyNumberValidator(editText, errorMessage, true, true).validate());
+        assertFalse(new EmailValidator(editText, errorMessage, true, true).validate());
+        assertFalse(new CpfValidator(editText, errorMessage, true, true).validate());
+        assertFalse(new CnpjValidator(editText, errorMessage, true, true).validate());
+        assertTrue(new ConfirmPasswordValidator(editText, editText, errorMessage, true).validate());
+    }
+
+    private static Editable uncopyableEditable(final String text) {
+        return mock(Editable.class, new Answer<Object>() {
+            @Override public Object answer(InvocationOnMock invocation) throws Throwable {
+                String name = invocation.getMethod().getName();
+
+                if (name.equals("toString")) {
+                    throw new AssertionError("Editable text must not be copied.");
+                }
+
+                if (name.equals("length") || name.equals("charAt")) {
+                    return invocation.getMethod().invoke(text, invocation.getArguments());
+                }
+
+                return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+}
@@ -3,7 +3,10 @@ package convalida.validators;
 import android.text.Editable;
 import android.widget.EditText;
 import org.junit.Before;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -20,7 +23,26 @@ public class BaseTest {
 
     @Before public void setUp() {
         mockEditText = mock(EditText.class);
-        when(mockEditText.getText()).thenReturn(mock(Editable.class));
+        when(mockEditText.getText()).thenReturn(mockEditable());
+    }
+
+    /**
+     * Creates an Editable whose CharSequence methods read from its stubbed toString() value,
+     * so validators can scan it directly as they do with a real Editable.
+     */
+    public static Editable mockEditable() {
+        return mock(Editable.class, new Answer<Object>() {
+            @Override public Object answer(InvocationOnMock invocation) throws Throwable {
+                String name = invocation.getMethod().getName();
+
+                if (name.equals("length") || name.equals("charAt") || name.equals("subSequence")) {
+                    String text = invocation.getMock().toString();
+                    return invocation.getMethod().invoke(text, invocation.getArguments());
+                }
+
+                return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
     }
 
 }
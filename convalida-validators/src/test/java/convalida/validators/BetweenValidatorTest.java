@@ -1,11 +1,12 @@
 package convalida.validators;
 
-import android.text.Editable;
 import android.widget.EditText;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Locale;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -26,8 +27,8 @@ public class BetweenValidatorTest {
     @Before public void setUp() {
         startEditText = mock(EditText.class);
         limitEditText = mock(EditText.class);
-        when(startEditText.getText()).thenReturn(mock(Editable.class));
-        when(limitEditText.getText()).thenReturn(mock(Editable.class));
+        when(startEditText.getText()).thenReturn(BaseTest.mockEditable());
+        when(limitEditText.getText()).thenReturn(BaseTest.mockEditable());
     }
 
     @Test public void emptyValues() {
@@ -150,4 +151,43 @@ public class BetweenValidatorTest {
         assertTrue(validator.validate());
     }
 
+    @Test public void decimalValuesAreComparedByValue() {
+        BetweenValidator validator = new BetweenValidator(
+                startEditText,
+                limitEditText,
+                startErrorMessage,
+                limitErrorMessage,
+                true,
+                true);
+
+        when(startEditText.getText().toString()).thenReturn("10.5");
+        when(limitEditText.getText().toString()).thenReturn("9");
+
+        assertFalse(validator.validate());
+
+        when(limitEditText.getText().toString()).thenReturn("10.50");
+
+        assertTrue(validator.validate());
+    }
+
+    @Test public void localeSeparators() {
+        BetweenValidator validator = new BetweenValidator(
+                startEditText,
+                limitEditText,
+                startErrorMessage,
+                limitErrorMessage,
+                true,
+                true,
+                new Locale("pt", "BR"));
+
+        when(startEditText.getText().toString()).thenReturn("1.500,5");
+        when(limitEditText.getText().toString()).thenReturn("1.500,75");
+
+        assertTrue(validator.validate());
+
+        when(startEditText.getText().toString()).thenReturn("1.501");
+
+        assertFalse(validator.validate());
+    }
+
 }
@@ -0,0 +1,47 @@
+package convalida.validators;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class CidrValidatorTest extends BaseTest {
+
+    @Test public void requiredWithEmptyValue() {
+        CidrValidator validator = new CidrValidator(mockEditText, errorMessage, true, true);
+        when(mockEditText.getText().toString()).thenReturn("");
+        assertFalse(validator.validate());
+    }
+
+    @Test public void nonRequiredWithEmptyValue() {
+        CidrValidator validator = new CidrValidator(mockEditText, errorMessage, true, false);
+        when(mockEditText.getText().toString()).thenReturn("");
+        assertTrue(validator.validate());
+    }
+
+    @Test public void validIpv4Network() {
+        CidrValidator validator = new CidrValidator(mockEditText, errorMessage, true, true);
+        when(mockEditText.getText().toString()).thenReturn("192.168.0.0/16");
+        assertTrue(validator.validate());
+    }
+
+    @Test public void validIpv6Network() {
+        CidrValidator validator = new CidrValidator(mockEditText, errorMessage, true, true);
+        when(mockEditText.getText().toString()).thenReturn("2001:db8::/32");
+        assertTrue(validator.validate());
+    }
+
+    @Test public void invalidPrefixLength() {
+        CidrValidator validator = new CidrValidator(mockEditText, errorMessage, true, true);
+        when(mockEditText.getText().toString()).thenReturn("192.168.0.0/33");
+        assertFalse(validator.validate());
+    }
+
+    @Test public void missingPrefixLength() {
+        CidrValidator validator = new CidrValidator(mockEditText, errorMessage, true, true);
+        when(mockEditText.getText().toString()).thenReturn("192.168.0.0");
+        assertFalse(validator.validate());
+    }
+
+}
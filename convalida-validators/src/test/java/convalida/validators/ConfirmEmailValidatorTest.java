@@ -1,6 +1,5 @@
 package convalida.validators;
 
-import android.text.Editable;
 import android.widget.EditText;
 
 import org.junit.Before;
@@ -19,7 +18,7 @@ public class ConfirmEmailValidatorTest extends BaseTest {
 
     @Before public void setUpValidators() {
         emailEditText = mock(EditText.class);
-        when(emailEditText.getText()).thenReturn(mock(Editable.class));
+        when(emailEditText.getText()).thenReturn(mockEditable());
     }
 
     @Test public void emptyValues() {
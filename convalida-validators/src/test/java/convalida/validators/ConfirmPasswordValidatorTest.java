@@ -1,6 +1,5 @@
 package convalida.validators;
 
-import android.text.Editable;
 import android.widget.EditText;
 
 import org.junit.Before;
@@ -19,7 +18,7 @@ public class ConfirmPasswordValidatorTest extends BaseTest {
 
     @Before public void setUpValidators() {
         passwordEditText = mock(EditText.class);
-        when(passwordEditText.getText()).thenReturn(mock(Editable.class));
+        when(passwordEditText.getText()).thenReturn(mockEditable());
     }
 
     @Test public void emptyValues() {
@@ -0,0 +1,141 @@
+package convalida.validators;
+
+import android.os.IBinder;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.widget.EditText;
+
+import com.google.android.material.textfield.TextInputLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static convalida.validators.util.EditTexts.removeError;
+import static convalida.validators.util.EditTexts.setError;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EditTextsTest {
+
+    private static final int DEPTH = 32;
+
+    private EditText editText;
+    private TextInputLayout layout;
+    private ViewGroup[] parents;
+
+    @Before public void setUp() {
+        editText = mock(EditText.class);
+        layout = mock(TextInputLayout.class);
+        parents = new ViewGroup[DEPTH];
+
+        ViewParent above = mock(ViewGroup.class);
+        when(layout.getParent()).thenReturn(above);
+
+        for (int i = DEPTH - 1; i >= 0; i--) {
+            parents[i] = mock(ViewGroup.class);
+            when(parents[i].getParent()).thenReturn(i == DEPTH - 1 ? layout : parents[i + 1]);
+        }
+
+        final Map<Integer, Object> tags = new HashMap<>();
+
+        when(editText.getParent()).thenReturn(parents[0]);
+        when(editText.getWindowToken()).thenReturn(mock(IBinder.class));
+        when(editText.getTag(anyInt())).thenAnswer(new Answer<Object>() {
+            @Override public Object answer(InvocationOnMock invocation) {
+                return tags.get(invocation.<Integer>getArgument(0));
+            }
+        });
+        doAnswer(new Answer<Void>() {
+            @Override public Void answer(InvocationOnMock invocation) {
+                tags.put(invocation.<Integer>getArgument(0), invocation.getArgument(1));
+                return null;
+            }
+        }).when(editText).setTag(anyInt(), any());
+    }
+
+    @Test public void resolvesLayoutOnce() {
+        for (int i = 0; i < 100; i++) {
+            setError(editText, "error");
+            removeError(editText);
+        }
+
+        verify(parents[DEPTH - 1], times(1)).getParent();
+        verify(layout, times(100)).setError("error");
+        verify(layout, never()).setError(null);
+        verify(editText, never()).setError(any(CharSequence.class));
+    }
+
+    @Test public void removesShownError() {
+        when(layout.isErrorEnabled()).thenReturn(true);
+        removeError(editText);
+        verify(layout).setErrorEnabled(false);
+        verify(layout).setError(null);
+
+        when(parents[DEPTH - 1].getParent()).thenReturn(null);
+        editText.setTag(R.id.convalida_text_input_layout, null);
+        when(editText.getError()).thenReturn("error");
+        removeError(editText);
+        verify(editText).setError(null);
+    }
+
+    @Test public void cachesMissingLayout() {
+        when(parents[DEPTH - 1].getParent()).thenReturn(null);
+
+        setError(editText, "error");
+        setError(editText, "error");
+
+        verify(parents[DEPTH - 1], times(1)).getParent();
+        verify(editText, times(2)).setError("error");
+    }
+
+    @Test public void doesNotCacheWhileDetached() {
+        when(editText.getWindowToken()).thenReturn(null);
+
+        setError(editText, "error");
+        setError(editText, "error");
+
+        verify(parents[DEPTH - 1], times(2)).getParent();
+        assertNull(editText.getTag(R.id.convalida_text_input_layout));
+    }
+
+    @Test public void reparentingInvalidatesCache() {
+        setError(editText, "error");
+
+        when(editText.getParent()).thenReturn(parents[1]);
+        when(parents[DEPTH - 1].getParent()).thenReturn(null);
+        setError(editText, "error");
+
+        verify(editText, times(1)).setError("error");
+        verify(parents[DEPTH - 1], times(2)).getParent();
+    }
+
+    @Test public void detachInvalidatesCache() {
+        ArgumentCaptor<View.OnAttachStateChangeListener> listener =
+                ArgumentCaptor.forClass(View.OnAttachStateChangeListener.class);
+
+        setError(editText, "error");
+        verify(editText).addOnAttachStateChangeListener(listener.capture());
+
+        listener.getValue().onViewDetachedFromWindow(editText);
+        verify(editText).removeOnAttachStateChangeListener(listener.getValue());
+        assertNull(editText.getTag(R.id.convalida_text_input_layout));
+
+        setError(editText, "error");
+        verify(parents[DEPTH - 1], times(2)).getParent();
+    }
+
+}
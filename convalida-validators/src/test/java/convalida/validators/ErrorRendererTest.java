@@ -0,0 +1,191 @@
+package convalida.validators;
+
+import android.widget.EditText;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ErrorRendererTest extends BaseTest {
+
+    private FramePoster poster;
+
+    @Before public void setupRenderer() {
+        poster = new FramePoster();
+        mockEditText = mockTaggableEditText();
+    }
+
+    @Test public void immediateRendersTransitionsOnly() {
+        ErrorRenderer renderer = ErrorRenderer.immediate();
+
+        renderer.render(mockEditText, "error");
+        renderer.render(mockEditText, "error");
+        verify(mockEditText, times(1)).setError("error");
+
+        renderer.render(mockEditText, null);
+        renderer.render(mockEditText, null);
+        renderer.render(mockEditText, "another");
+        verify(mockEditText, times(1)).setError("another");
+    }
+
+    @Test public void errorHiddenByAnEditIsShownAgain() {
+        LengthValidator validator = new LengthValidator(mockEditText, errorMessage, 3, 0, true, true);
+        when(mockEditText.getText().toString()).thenReturn("a");
+
+        assertFalse(validator.validate());
+        assertFalse(validator.validate());
+        verify(mockEditText, times(1)).setError(errorMessage);
+
+        // A plain EditText drops its error on the next edit, the text is still invalid.
+        mockEditText.setError(null);
+        when(mockEditText.getText().toString()).thenReturn("ab");
+
+        assertFalse(validator.validate());
+        verify(mockEditText, times(2)).setError(errorMessage);
+        assertEquals(errorMessage, mockEditText.getError());
+    }
+
+    @Test public void validKeystrokesDoNotTouchTheView() {
+        ErrorRenderer renderer = ErrorRenderer.immediate();
+        RequiredValidator validator = new RequiredValidator(mockEditText, errorMessage, true);
+        when(mockEditText.getText().toString()).thenReturn("value");
+
+        for (int i = 0; i < 10; i++) {
+            validator.renderer = renderer;
+            validator.validate();
+        }
+
+        verify(mockEditText, never()).setError(any(CharSequence.class));
+        verify(mockEditText, times(1)).getError();
+    }
+
+    @Test public void perFrameCoalescesChanges() {
+        ErrorRenderer renderer = ErrorRenderer.perFrame(poster);
+
+        renderer.render(mockEditText, "error");
+        renderer.render(mockEditText, "another");
+        verify(mockEditText, never()).setError(any(CharSequence.class));
+        assertEquals(poster.frames.size(), 1);
+
+        poster.runFrame();
+        verify(mockEditText, never()).setError("error");
+        verify(mockEditText, times(1)).setError("another");
+    }
+
+    @Test public void perFrameBatchesSubmitErrors() {
+        ValidatorSet validatorSet = new ValidatorSet();
+        validatorSet.setErrorRenderer(ErrorRenderer.perFrame(poster));
+        List<EditText> fields = new ArrayList<>();
+
+        for (int i = 0; i < 30; i++) {
+            EditText field = mockTaggableEditText();
+            when(field.getText().toString()).thenReturn("");
+            validatorSet.addValidator(new RequiredValidator(field, errorMessage, false));
+            fields.add(field);
+        }
+
+        validatorSet.isValid();
+        assertEquals(validatorSet.errors.size(), 30);
+        assertEquals(poster.frames.size(), 1);
+        verify(fields.get(0), never()).setError(any(CharSequence.class));
+
+        poster.runFrame();
+        for (EditText field : fields) {
+            verify(field, times(1)).setError(errorMessage);
+        }
+
+        validatorSet.isValid();
+        assertEquals(poster.frames.size(), 1);
+        poster.runFrame();
+        for (EditText field : fields) {
+            verify(field, times(1)).setError(errorMessage);
+        }
+    }
+
+    @Test public void flushRendersPendingChanges() {
+        ErrorRenderer renderer = ErrorRenderer.perFrame(poster);
+
+        renderer.render(mockEditText, "error");
+        renderer.flush();
+        verify(mockEditText, times(1)).setError("error");
+
+        poster.runFrame();
+        verify(mockEditText, times(1)).setError("error");
+    }
+
+    /**
+     * Keeps the tags and the error of the field, as a real EditText does.
+     */
+    private static EditText mockTaggableEditText() {
+        EditText editText = mock(EditText.class);
+        final Map<Integer, Object> tags = new HashMap<>();
+        final CharSequence[] error = new CharSequence[1];
+
+        when(editText.getText()).thenReturn(mockEditable());
+        when(editText.getTag(anyInt())).thenAnswer(new Answer<Object>() {
+            @Override public Object answer(InvocationOnMock invocation) {
+                return tags.get(invocation.<Integer>getArgument(0));
+            }
+        });
+        doAnswer(new Answer<Void>() {
+            @Override public Void answer(InvocationOnMock invocation) {
+                tags.put(invocation.<Integer>getArgument(0), invocation.getArgument(1));
+                return null;
+            }
+        }).when(editText).setTag(anyInt(), any());
+        doAnswer(new Answer<Void>() {
+            @Override public Void answer(InvocationOnMock invocation) {
+                error[0] = invocation.getArgument(0);
+                return null;
+            }
+        }).when(editText).setError(nullable(CharSequence.class));
+        when(editText.getError()).thenAnswer(new Answer<CharSequence>() {
+            @Override public CharSequence answer(InvocationOnMock invocation) {
+                return error[0];
+            }
+        });
+
+        return editText;
+    }
+
+    private static class FramePoster implements ValidationScheduler.Poster {
+
+        final List<Runnable> frames = new ArrayList<>();
+
+        @Override public void postDelayed(Runnable task, long delayMillis) { }
+
+        @Override public void postOnNextFrame(Runnable task) {
+            frames.add(task);
+        }
+
+        @Override public void removeCallbacks(Runnable task) { }
+
+        void runFrame() {
+            List<Runnable> tasks = new ArrayList<>(frames);
+            frames.clear();
+
+            for (Runnable task : tasks) {
+                task.run();
+            }
+        }
+    }
+
+}
@@ -2,6 +2,8 @@ package convalida.validators;
 
 import org.junit.Test;
 
+import java.util.Locale;
+
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
@@ -74,4 +76,19 @@ public class NumericLimitValidatorTest extends BaseTest {
         assertFalse(validator.validate());
     }
 
-}
\ No newline at end of file
+    @Test public void localeSeparators() {
+        NumericLimitValidator validator = new NumericLimitValidator(
+                mockEditText,
+                errorMessage,
+                true,
+                "0",
+                "10000",
+                true,
+                new Locale("pt", "BR"));
+        when(mockEditText.getText().toString()).thenReturn("9.999,99");
+        assertTrue(validator.validate());
+        when(mockEditText.getText().toString()).thenReturn("10.000,01");
+        assertFalse(validator.validate());
+    }
+
+}
@@ -2,6 +2,12 @@ package convalida.validators;
 
 import org.junit.Test;
 
+import convalida.core.engine.PasswordPolicy;
+
+import static convalida.core.engine.PasswordScan.DIGIT;
+import static convalida.core.engine.PasswordScan.LETTER;
+import static convalida.core.engine.PasswordScan.SINGLE_LINE;
+
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.when;
 
@@ -96,4 +102,53 @@ public class PasswordValidatorTest extends BaseTest {
         assertTrue(validator.validate());
     }
 
-}
\ No newline at end of file
+    @Test public void passwordPolicy() {
+        PasswordValidator validator = new PasswordValidator(
+                mockEditText,
+                errorMessage,
+                0,
+                new PasswordPolicy(8, 2, SINGLE_LINE, LETTER, DIGIT),
+                true
+        );
+        when(mockEditText.getText().toString()).thenReturn("abcdef12");
+        assertTrue(validator.validate());
+        when(mockEditText.getText().toString()).thenReturn("aaabcd12");
+        assertFalse(validator.validate());
+    }
+
+    @Test public void knownPatternsAreCheap() {
+        PasswordValidator known = new PasswordValidator(
+                mockEditText,
+                errorMessage,
+                0,
+                LETTERS_AND_NUMBERS_CASE_INSENSITIVE_REGEX,
+                true
+        );
+        PasswordValidator custom = new PasswordValidator(
+                mockEditText,
+                errorMessage,
+                0,
+                "^[a-z]{3}\\d$",
+                true
+        );
+        assertEquals(AbstractValidator.Cost.CHEAP, known.cost());
+        assertEquals(AbstractValidator.Cost.EXPENSIVE, custom.cost());
+    }
+
+    @Test public void entropyOfTheLastValue() {
+        PasswordValidator validator = new PasswordValidator(
+                mockEditText,
+                errorMessage,
+                0,
+                "",
+                true
+        );
+        when(mockEditText.getText().toString()).thenReturn("abcd");
+        validator.validate();
+        double weak = validator.getEntropyBits();
+        when(mockEditText.getText().toString()).thenReturn("aB3$xY9!");
+        validator.validate();
+        assertTrue(validator.getEntropyBits() > weak);
+    }
+
+}
@@ -2,7 +2,11 @@ package convalida.validators;
 
 import org.junit.Test;
 
+import convalida.core.engine.MatchBudget;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
 /**
@@ -67,4 +71,63 @@ public class PatternValidatorTest extends BaseTest {
         assertEquals(validator.validate(), true);
     }
 
-}
\ No newline at end of file
+    @Test public void regularPatternRunsOnTheMainThread() {
+        PatternValidator validator = new PatternValidator(
+                mockEditText,
+                errorMessage,
+                "^[A-Z]{2}-\\d{4}$",
+                true,
+                true);
+        assertFalse(validator.isExpensive());
+        assertTrue(validator.isValid("AB-1234"));
+        assertFalse(validator.isValid("AB-123"));
+    }
+
+    @Test public void lookaheadPatternRunsARegex() {
+        PatternValidator validator = new PatternValidator(
+                mockEditText,
+                errorMessage,
+                LETTERS_AND_NUMBERS_CASE_INSENSITIVE_REGEX,
+                true,
+                true);
+        assertTrue(validator.isExpensive());
+    }
+
+    @Test public void canMatchWhileTyping() {
+        PatternValidator validator = new PatternValidator(
+                mockEditText,
+                errorMessage,
+                "^[A-Z]{2}-\\d{4}$",
+                true,
+                true);
+        assertTrue(validator.canMatch("AB-1"));
+        assertFalse(validator.isValid("AB-1"));
+        assertFalse(validator.canMatch("AB-1x"));
+
+        PatternValidator regex = new PatternValidator(
+                mockEditText,
+                errorMessage,
+                LETTERS_AND_NUMBERS_CASE_INSENSITIVE_REGEX,
+                true,
+                true);
+        assertTrue(regex.canMatch("qwe"));
+    }
+
+    @Test public void overBudgetIsAborted() {
+        PatternValidator validator = new PatternValidator(
+                mockEditText,
+                errorMessage,
+                LETTERS_AND_NUMBERS_CASE_INSENSITIVE_REGEX,
+                true,
+                true,
+                MatchBudget.of(8, MatchBudget.UNLIMITED, MatchBudget.UNLIMITED));
+        when(mockEditText.getText().toString()).thenReturn("qweQWE123");
+        assertFalse(validator.validate());
+        assertTrue(validator.isAborted());
+
+        when(mockEditText.getText().toString()).thenReturn("qwQW12");
+        assertTrue(validator.validate());
+        assertFalse(validator.isAborted());
+    }
+
+}
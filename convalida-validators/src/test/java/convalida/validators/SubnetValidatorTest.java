@@ -0,0 +1,48 @@
+package convalida.validators;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class SubnetValidatorTest extends BaseTest {
+
+    private final String SUBNET = "10.20.0.0/16";
+
+    @Test public void requiredWithEmptyValue() {
+        SubnetValidator validator = new SubnetValidator(mockEditText, errorMessage, SUBNET, true, true);
+        when(mockEditText.getText().toString()).thenReturn("");
+        assertFalse(validator.validate());
+    }
+
+    @Test public void nonRequiredWithEmptyValue() {
+        SubnetValidator validator = new SubnetValidator(mockEditText, errorMessage, SUBNET, true, false);
+        when(mockEditText.getText().toString()).thenReturn("");
+        assertTrue(validator.validate());
+    }
+
+    @Test public void addressInsideSubnet() {
+        SubnetValidator validator = new SubnetValidator(mockEditText, errorMessage, SUBNET, true, true);
+        when(mockEditText.getText().toString()).thenReturn("10.20.30.40");
+        assertTrue(validator.validate());
+    }
+
+    @Test public void addressOutsideSubnet() {
+        SubnetValidator validator = new SubnetValidator(mockEditText, errorMessage, SUBNET, true, true);
+        when(mockEditText.getText().toString()).thenReturn("10.21.0.1");
+        assertFalse(validator.validate());
+    }
+
+    @Test public void invalidAddress() {
+        SubnetValidator validator = new SubnetValidator(mockEditText, errorMessage, SUBNET, true, true);
+        when(mockEditText.getText().toString()).thenReturn("10.20.0.256");
+        assertFalse(validator.validate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidSubnet() {
+        new SubnetValidator(mockEditText, errorMessage, "10.20.0.0", true, true);
+    }
+
+}
@@ -28,8 +28,14 @@ import org.junit.runners.Suite.SuiteClasses;
         StringsTest.class,
         Ipv4ValidatorTest.class,
         Ipv6ValidatorTest.class,
+        CidrValidatorTest.class,
+        SubnetValidatorTest.class,
         UrlValidatorTest.class,
         PastDateValidatorTest.class,
-        FutureDateValidatorTest.class
+        FutureDateValidatorTest.class,
+        AbstractValidatorTest.class,
+        ValidationErrorSetTest.class,
+        EditTextsTest.class,
+        ErrorRendererTest.class
 })
 public class TestSuite { }
\ No newline at end of file
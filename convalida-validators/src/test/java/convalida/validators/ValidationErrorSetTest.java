@@ -0,0 +1,92 @@
+package convalida.validators;
+
+import android.widget.EditText;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import convalida.validators.error.ValidationError;
+import convalida.validators.error.ValidationErrorSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ValidationErrorSetTest {
+
+    private EditText first;
+    private EditText second;
+    private EditText third;
+    private ValidationErrorSet errors;
+
+    @Before public void setUp() {
+        first = mock(EditText.class);
+        second = mock(EditText.class);
+        third = mock(EditText.class);
+        errors = new ValidationErrorSet(new EditText[] { first, second, third });
+    }
+
+    @Test public void iteratesInFormOrder() {
+        ValidationError thirdError = new ValidationError(third, "third");
+        ValidationError firstError = new ValidationError(first, "first");
+        errors.put(2, thirdError);
+        errors.put(0, firstError);
+
+        Iterator<ValidationError> iterator = errors.items.iterator();
+        assertSame(firstError, iterator.next());
+        assertSame(thirdError, iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(2, errors.size());
+    }
+
+    @Test public void lookupByField() {
+        ValidationError error = new ValidationError(second, "second");
+        errors.put(1, error);
+        assertSame(error, errors.get(second));
+        assertTrue(errors.contains(second));
+        assertFalse(errors.contains(first));
+        assertNull(errors.get(mock(EditText.class)));
+        assertTrue(errors.items.contains(new ValidationError(second, "second")));
+    }
+
+    @Test public void replacingErrorOfFieldDoesNotGrow() {
+        errors.put(0, new ValidationError(first, "required"));
+        errors.put(0, new ValidationError(first, "length"));
+        assertEquals(1, errors.size());
+        assertEquals("length", errors.get(first).errorMessage);
+        errors.remove(0);
+        errors.remove(0);
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test public void snapshotIsNotAffectedByLaterChanges() {
+        errors.put(0, new ValidationError(first, "first"));
+        ValidationErrorSet snapshot = errors.snapshot();
+        errors.clear();
+        errors.put(1, new ValidationError(second, "second"));
+        assertEquals(1, snapshot.size());
+        assertTrue(snapshot.contains(first));
+        assertFalse(snapshot.contains(second));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotIsImmutable() {
+        errors.snapshot().clear();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void itemsAreReadOnly() {
+        errors.items.add(new ValidationError(first, "first"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void errorMustBelongToField() {
+        errors.put(0, new ValidationError(second, "second"));
+    }
+
+}
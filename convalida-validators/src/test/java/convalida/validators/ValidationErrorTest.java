@@ -6,6 +6,9 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import convalida.validators.error.ValidationError;
 
 import static org.junit.Assert.assertEquals;
@@ -41,6 +44,21 @@ public class ValidationErrorTest {
         assertNotEquals(error, new ValidationError(anotherEditText, anotherErrorMessage));
     }
 
+    @Test public void equalErrorsHaveSameHashCode() {
+        assertEquals(error.hashCode(), new ValidationError(editText, errorMessage).hashCode());
+    }
+
+    @Test public void equalErrorsAreDeduplicated() {
+        Set<ValidationError> errors = new HashSet<>();
+        errors.add(error);
+        errors.add(new ValidationError(editText, errorMessage));
+        assertEquals(1, errors.size());
+    }
+
+    @Test public void areNotEqualsWithAnotherType() {
+        assertNotEquals(error, errorMessage);
+    }
+
     @Test public void areNotEqualsWithNullValue() {
         assertNotEquals(error, null);
     }
@@ -49,4 +67,11 @@ public class ValidationErrorTest {
         assertNotEquals(error, new ValidationError(editText, "Another message"));
     }
 
+    @Test public void abortedErrorsAreDistinct() {
+        ValidationError aborted = new ValidationError(editText, errorMessage, true);
+        assertEquals(true, aborted.aborted);
+        assertEquals(false, error.aborted);
+        assertNotEquals(error, aborted);
+    }
+
 }
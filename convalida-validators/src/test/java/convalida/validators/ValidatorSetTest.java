@@ -1,14 +1,33 @@
 package convalida.validators;
 
-import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.View;
 import android.widget.EditText;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+import convalida.core.engine.Clock;
+import convalida.core.engine.DateParser;
+import convalida.core.engine.MatchBudget;
+import convalida.core.engine.PasswordScan;
+import convalida.core.util.Normalizer;
+import convalida.validators.error.ValidationError;
+import convalida.validators.error.ValidationErrorSet;
+
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -22,9 +41,9 @@ public class ValidatorSetTest extends BaseTest {
 
     @Before public void setupValidator() {
         mockEditText_2 = mock(EditText.class);
-        when(mockEditText_2.getText()).thenReturn(mock(Editable.class));
+        when(mockEditText_2.getText()).thenReturn(mockEditable());
         mockEditText_3 = mock(EditText.class);
-        when(mockEditText_3.getText()).thenReturn(mock(Editable.class));
+        when(mockEditText_3.getText()).thenReturn(mockEditable());
         validatorSet = new ValidatorSet();
     }
 
@@ -79,10 +98,644 @@ public class ValidatorSetTest extends BaseTest {
         assertFalse(validatorSet.isValid());
     }
 
+    @Test public void errorsFollowFormOrder() {
+        for (EditText editText : new EditText[] { mockEditText_3, mockEditText, mockEditText_2 }) {
+            validatorSet.addValidator(new RequiredValidator(editText, "required", true));
+            validatorSet.addValidator(new LengthValidator(editText, "length", 3, 0, true, true));
+        }
+
+        when(mockEditText.getText().toString()).thenReturn("ab");
+        when(mockEditText_2.getText().toString()).thenReturn("");
+        when(mockEditText_3.getText().toString()).thenReturn("");
+
+        assertFalse(validatorSet.isValid());
+        assertEquals(validatorSet.errors.items.size(), 3);
+
+        Iterator<ValidationError> errors = validatorSet.errors.items.iterator();
+        assertEquals(new ValidationError(mockEditText_3, "required"), errors.next());
+        assertEquals(new ValidationError(mockEditText, "length"), errors.next());
+        assertEquals(new ValidationError(mockEditText_2, "required"), errors.next());
+    }
+
+    @Test public void errorsAreReusedAcrossValidations() {
+        validatorSet.addValidator(new RequiredValidator(mockEditText, errorMessage, true));
+        validatorSet.addValidator(new RequiredValidator(mockEditText_2, errorMessage, true));
+        when(mockEditText.getText().toString()).thenReturn("");
+        when(mockEditText_2.getText().toString()).thenReturn("");
+
+        assertFalse(validatorSet.isValid());
+        ValidationError error = validatorSet.errors.get(mockEditText);
+        ValidationErrorSet snapshot = validatorSet.errors.snapshot();
+
+        assertFalse(validatorSet.isValid());
+        assertSame(error, validatorSet.errors.get(mockEditText));
+        assertEquals(validatorSet.errors.size(), 2);
+
+        type(mockEditText, "test");
+        assertFalse(validatorSet.isValid());
+        assertNull(validatorSet.errors.get(mockEditText));
+        assertEquals(validatorSet.errors.size(), 1);
+        assertEquals(snapshot.size(), 2);
+    }
+
+    @Test public void planIsReusedUntilRulesChange() {
+        validatorSet.addValidator(new RequiredValidator(mockEditText, errorMessage, true));
+        ValidationPlan plan = validatorSet.plan();
+        assertSame(plan, validatorSet.plan());
+        validatorSet.addValidator(new RequiredValidator(mockEditText_2, errorMessage, true));
+        assertNotSame(plan, validatorSet.plan());
+        assertEquals(validatorSet.plan().fieldCount(), 2);
+        assertEquals(validatorSet.plan().positionOf(mockEditText_2), 1);
+        assertEquals(validatorSet.plan().positionOf(mockEditText_3), -1);
+    }
+
+    @Test public void validateManyFields() {
+        for (int i = 0; i < 150; i++) {
+            EditText editText = mock(EditText.class);
+            when(editText.getText()).thenReturn(mockEditable());
+            when(editText.getText().toString()).thenReturn(i == 149 ? "" : "value");
+            validatorSet.addValidator(new RequiredValidator(editText, errorMessage, false));
+        }
+
+        assertFalse(validatorSet.isValid());
+        assertEquals(validatorSet.plan().invalidCount(), 1);
+        assertTrue(validatorSet.plan().isInvalid(149));
+        assertFalse(validatorSet.plan().isInvalid(64));
+    }
+
+    @Test public void registerOneTextWatcherPerField() {
+        validatorSet.addValidator(new RequiredValidator(mockEditText, errorMessage, true));
+        validatorSet.addValidator(new LengthValidator(mockEditText, errorMessage, 0, 5, true, true));
+        validatorSet.addValidator(new PatternValidator(mockEditText, errorMessage, "[a-z]+", true, true));
+        validatorSet.addValidator(new RequiredValidator(mockEditText_2, errorMessage, false));
+        verify(mockEditText, times(1)).addTextChangedListener(any(TextWatcher.class));
+        verify(mockEditText_2, times(0)).addTextChangedListener(any(TextWatcher.class));
+        assertEquals(validatorSet.watchers.size(), 1);
+    }
+
+    @Test public void detachRemovesTextWatchers() {
+        validatorSet.addValidator(new RequiredValidator(mockEditText, errorMessage, true));
+        validatorSet.addValidator(new RequiredValidator(mockEditText_2, errorMessage, true));
+        TextWatcher watcher = validatorSet.watchers.get(mockEditText).textWatcher;
+        validatorSet.detach();
+        verify(mockEditText).removeTextChangedListener(same(watcher));
+        verify(mockEditText_2).removeTextChangedListener(any(TextWatcher.class));
+        assertTrue(validatorSet.watchers.isEmpty());
+        assertEquals(validatorSet.map.size(), 2);
+    }
+
+    @Test public void disposeForgetsValidators() {
+        validatorSet.addValidator(new RequiredValidator(mockEditText, errorMessage, true));
+        validatorSet.dispose();
+        assertTrue(validatorSet.map.isEmpty());
+        assertTrue(validatorSet.isValid());
+        validatorSet.addValidator(new RequiredValidator(mockEditText, errorMessage, true));
+        verify(mockEditText, times(2)).addTextChangedListener(any(TextWatcher.class));
+    }
+
+    @Test public void cleanTrackedFieldsAreNotValidatedAgain() {
+        CountingValidator first = new CountingValidator(mockEditText);
+        CountingValidator second = new CountingValidator(mockEditText_2);
+        validatorSet.addValidator(first);
+        validatorSet.addValidator(second);
+        when(mockEditText.getText().toString()).thenReturn("");
+        when(mockEditText_2.getText().toString()).thenReturn("value");
+
+        assertFalse(validatorSet.isValid());
+        assertFalse(validatorSet.isValid());
+        assertEquals(first.runs, 1);
+        assertEquals(second.runs, 1);
+
+        type(mockEditText, "value");
+        assertEquals(first.runs, 2);
+        assertTrue(validatorSet.isValid());
+        assertEquals(first.runs, 2);
+        assertEquals(second.runs, 1);
+        assertTrue(validatorSet.errors.isEmpty());
+    }
+
+    @Test public void untrackedFieldsAreAlwaysValidated() {
+        CountingValidator validator = new CountingValidator(mockEditText, false);
+        validatorSet.addValidator(validator);
+        when(mockEditText.getText().toString()).thenReturn("value");
+
+        assertTrue(validatorSet.isValid());
+        assertTrue(validatorSet.isValid());
+        assertEquals(validator.runs, 2);
+    }
+
+    @Test public void relativeDateLimitsAreValidatedAfterMidnight() {
+        final long[] now = { DateParser.toEpochDay(2026, 10, 17) * 86400000L };
+        Clock clock = new Clock() {
+            @Override public long currentTimeMillis() {
+                return now[0];
+            }
+
+            @Override public TimeZone getTimeZone() {
+                return TimeZone.getTimeZone("UTC");
+            }
+        };
+        validatorSet.addValidator(new PastDateValidator(
+                mockEditText, errorMessage, "dd/MM/yyyy", "today", true, true, clock));
+        validatorSet.addValidator(new PastDateValidator(
+                mockEditText_2, errorMessage, "dd/MM/yyyy", "17/10/2026", true, true, clock));
+        when(mockEditText.getText().toString()).thenReturn("17/10/2026");
+        when(mockEditText_2.getText().toString()).thenReturn("17/10/2026");
+        assertTrue(validatorSet.isValid());
+
+        now[0] += 86400000L;
+        assertFalse(validatorSet.isValid());
+        assertTrue(validatorSet.errors.contains(mockEditText));
+        assertFalse(validatorSet.errors.contains(mockEditText_2));
+    }
+
+    @Test public void dependentFieldsAreMarkedDirty() {
+        validatorSet.addValidator(new RequiredValidator(mockEditText, errorMessage, true));
+        validatorSet.addValidator(
+                new ConfirmPasswordValidator(mockEditText, mockEditText_2, errorMessage, true)
+        );
+        when(mockEditText.getText().toString()).thenReturn("secret");
+        when(mockEditText_2.getText().toString()).thenReturn("secret");
+        assertTrue(validatorSet.isValid());
+
+        type(mockEditText, "another");
+        assertFalse(validatorSet.isValid());
+        assertTrue(validatorSet.errors.contains(mockEditText_2));
+    }
+
+    @Test public void dependencyOnUntrackedFieldIsAlwaysValidated() {
+        validatorSet.addValidator(new RequiredValidator(mockEditText, errorMessage, false));
+        validatorSet.addValidator(
+                new ConfirmPasswordValidator(mockEditText, mockEditText_2, errorMessage, true)
+        );
+        when(mockEditText.getText().toString()).thenReturn("secret");
+        when(mockEditText_2.getText().toString()).thenReturn("secret");
+        assertTrue(validatorSet.isValid());
+
+        when(mockEditText.getText().toString()).thenReturn("another");
+        assertFalse(validatorSet.isValid());
+    }
+
+    @Test public void visibilityChangeForcesValidation() {
+        CountingValidator validator = new CountingValidator(mockEditText);
+        validatorSet.addValidator(validator);
+        when(mockEditText.getText().toString()).thenReturn("");
+        when(mockEditText.getVisibility()).thenReturn(View.VISIBLE);
+        assertFalse(validatorSet.isValid());
+
+        when(mockEditText.getVisibility()).thenReturn(View.GONE);
+        assertTrue(validatorSet.isValid());
+        assertEquals(validator.runs, 1);
+    }
+
+    @Test public void invalidateForcesFullValidation() {
+        CountingValidator first = new CountingValidator(mockEditText);
+        CountingValidator second = new CountingValidator(mockEditText_2);
+        validatorSet.addValidator(first);
+        validatorSet.addValidator(second);
+        when(mockEditText.getText().toString()).thenReturn("value");
+        when(mockEditText_2.getText().toString()).thenReturn("value");
+        assertTrue(validatorSet.isValid());
+
+        validatorSet.invalidate();
+        assertTrue(validatorSet.isValid());
+        assertEquals(first.runs, 2);
+        assertEquals(second.runs, 2);
+
+        validatorSet.clearValidators();
+        assertTrue(validatorSet.isValid());
+        assertEquals(first.runs, 3);
+        assertEquals(second.runs, 3);
+    }
+
+    @Test public void detachStopsTrustingCachedResults() {
+        CountingValidator validator = new CountingValidator(mockEditText);
+        validatorSet.addValidator(validator);
+        when(mockEditText.getText().toString()).thenReturn("value");
+        assertTrue(validatorSet.isValid());
+
+        validatorSet.detach();
+        when(mockEditText.getText().toString()).thenReturn("");
+        assertFalse(validatorSet.isValid());
+        assertEquals(validator.runs, 2);
+    }
+
+    @Test public void debouncedSchedulerValidatesLatestTextOnce() {
+        FakePoster poster = new FakePoster();
+        CountingValidator validator = new CountingValidator(mockEditText);
+        validatorSet.addValidator(validator);
+        validatorSet.setScheduler(ValidationScheduler.debounced(300, poster));
+
+        type(mockEditText, "a");
+        type(mockEditText, "");
+        assertEquals(validator.runs, 0);
+        assertEquals(poster.delayed.size(), 1);
+        assertEquals(poster.lastDelay, 300);
+
+        poster.runAll();
+        assertEquals(validator.runs, 1);
+        assertTrue(validatorSet.errors.contains(mockEditText));
+    }
+
+    @Test public void perFrameSchedulerCoalescesFields() {
+        FakePoster poster = new FakePoster();
+        CountingValidator first = new CountingValidator(mockEditText);
+        CountingValidator second = new CountingValidator(mockEditText_2);
+        validatorSet.addValidator(first);
+        validatorSet.addValidator(second);
+        validatorSet.setScheduler(ValidationScheduler.perFrame(poster));
+
+        type(mockEditText, "a");
+        type(mockEditText_2, "b");
+        type(mockEditText, "ab");
+        assertEquals(poster.frames.size(), 1);
+
+        poster.runAll();
+        assertEquals(first.runs, 1);
+        assertEquals(second.runs, 1);
+
+        type(mockEditText, "abc");
+        assertEquals(poster.frames.size(), 1);
+    }
+
+    @Test public void scheduledRunIsSkippedAfterSubmit() {
+        FakePoster poster = new FakePoster();
+        CountingValidator validator = new CountingValidator(mockEditText);
+        validatorSet.addValidator(validator);
+        validatorSet.setScheduler(ValidationScheduler.debounced(300, poster));
+
+        type(mockEditText, "value");
+        assertTrue(validatorSet.isValid());
+        poster.runAll();
+        assertEquals(validator.runs, 1);
+    }
+
+    @Test public void detachCancelsPendingValidations() {
+        FakePoster poster = new FakePoster();
+        CountingValidator validator = new CountingValidator(mockEditText);
+        validatorSet.addValidator(validator);
+        validatorSet.setScheduler(ValidationScheduler.debounced(300, poster));
+
+        type(mockEditText, "value");
+        validatorSet.detach();
+        assertTrue(poster.delayed.isEmpty());
+    }
+
+    @Test public void expensiveValidatorsRunInBackground() {
+        FakePoster poster = new FakePoster();
+        QueueExecutor executor = new QueueExecutor();
+        ExpensiveValidator expensive = new ExpensiveValidator(mockEditText);
+        validatorSet.addValidator(new RequiredValidator(mockEditText, "required", true));
+        validatorSet.addValidator(expensive);
+        validatorSet.setExecutor(executor, poster);
+
+        type(mockEditText, "ab");
+        assertTrue(validatorSet.isPending());
+        assertTrue(validatorSet.isPending(mockEditText));
+        assertEquals(expensive.runs, 0);
+
+        executor.runAll();
+        assertEquals(expensive.runs, 1);
+        assertTrue(validatorSet.isPending());
+        assertTrue(validatorSet.errors.isEmpty());
+
+        poster.runAll();
+        assertFalse(validatorSet.isPending());
+        assertEquals(validatorSet.errors.get(mockEditText), new ValidationError(mockEditText, "expensive"));
+    }
+
+    @Test public void passwordEntropyIsPublishedWithTheAppliedResult() throws Exception {
+        FakePoster poster = new FakePoster();
+        final QueueExecutor executor = new QueueExecutor();
+        // Custom patterns run a regex, so the validator is expensive.
+        PasswordValidator validator =
+                new PasswordValidator(mockEditText, errorMessage, 0, "^[a-z]{3}\\d$", true);
+        validatorSet.addValidator(validator);
+        validatorSet.setExecutor(executor, poster);
+
+        type(mockEditText, "aB3$xY9!");
+        Thread background = new Thread(new Runnable() {
+            @Override public void run() {
+                executor.runAll();
+            }
+        });
+        background.start();
+        background.join();
+        assertEquals(0, validator.getEntropyBits(), 0);
+
+        // Validating on this thread meanwhile does not change what the background run found.
+        validator.isValid("abcd");
+        poster.runAll();
+        assertEquals(new PasswordScan().scan("aB3$xY9!").getEntropyBits(), validator.getEntropyBits(), 0);
+    }
+
+    @Test public void cheapFailureSkipsExpensiveValidators() {
+        FakePoster poster = new FakePoster();
+        QueueExecutor executor = new QueueExecutor();
+        ExpensiveValidator expensive = new ExpensiveValidator(mockEditText);
+        validatorSet.addValidator(expensive);
+        validatorSet.addValidator(new RequiredValidator(mockEditText, "required", true));
+        validatorSet.setExecutor(executor, poster);
+        validatorSet.setOrdering(ValidatorSet.Ordering.REGISTRATION);
+
+        type(mockEditText, "");
+        executor.runAll();
+        poster.runAll();
+        assertEquals(expensive.runs, 1);
+        assertEquals(validatorSet.errors.get(mockEditText), new ValidationError(mockEditText, "required"));
+
+        validatorSet.setOrdering(ValidatorSet.Ordering.COST);
+        type(mockEditText, "");
+        executor.runAll();
+        poster.runAll();
+        assertEquals(expensive.runs, 1);
+        assertEquals(validatorSet.errors.get(mockEditText), new ValidationError(mockEditText, "required"));
+    }
+
+    @Test public void cheapValidatorsRunFirst() {
+        ExpensiveValidator expensive = new ExpensiveValidator(mockEditText);
+        validatorSet.addValidator(expensive);
+        validatorSet.addValidator(new RequiredValidator(mockEditText, "required", true));
+        when(mockEditText.getText().toString()).thenReturn("");
+
+        assertFalse(validatorSet.isValid());
+        assertEquals(expensive.runs, 0);
+        assertEquals(validatorSet.errors.get(mockEditText), new ValidationError(mockEditText, "required"));
+        assertArrayEquals(validatorSet.plan().evaluationOrder(0), new int[] { 0, 1 });
+        assertSame(validatorSet.plan().validators[1], expensive);
+    }
+
+    @Test public void registrationOrderingKeepsRegistrationPrecedence() {
+        ExpensiveValidator expensive = new ExpensiveValidator(mockEditText);
+        validatorSet.setOrdering(ValidatorSet.Ordering.REGISTRATION);
+        validatorSet.addValidator(expensive);
+        validatorSet.addValidator(new LengthValidator(mockEditText, "length", 3, 5, true, true));
+        when(mockEditText.getText().toString()).thenReturn("ab");
+
+        assertFalse(validatorSet.isValid());
+        assertEquals(validatorSet.errors.get(mockEditText), new ValidationError(mockEditText, "expensive"));
+    }
+
+    @Test public void adaptiveOrderingKeepsCostPrecedence() {
+        CountingValidator required = new CountingValidator(mockEditText);
+        SlowValidator slow = new SlowValidator(mockEditText);
+        validatorSet.setOrdering(ValidatorSet.Ordering.ADAPTIVE);
+        validatorSet.addValidator(slow);
+        validatorSet.addValidator(required);
+        validatorSet.addValidator(new LengthValidator(mockEditText, "length", 3, 5, true, true));
+
+        for (int i = 0; i < 64; i++) {
+            when(mockEditText.getText().toString()).thenReturn(i % 2 == 0 ? "a" : "");
+            validatorSet.invalidate();
+            assertFalse(validatorSet.isValid());
+            assertEquals(
+                    validatorSet.errors.get(mockEditText).errorMessage,
+                    i % 2 == 0 ? "length" : "required"
+            );
+        }
+
+        int[] order = validatorSet.plan().evaluationOrder(0);
+        assertEquals(order.length, 3);
+        assertSame(validatorSet.plan().validators[order[2]], slow);
+    }
+
+    @Test public void staleBackgroundResultsAreDropped() {
+        FakePoster poster = new FakePoster();
+        QueueExecutor executor = new QueueExecutor();
+        ExpensiveValidator expensive = new ExpensiveValidator(mockEditText);
+        validatorSet.addValidator(expensive);
+        validatorSet.setExecutor(executor, poster);
+
+        type(mockEditText, "ab");
+        executor.runAll();
+        type(mockEditText, "abc");
+        poster.runAll();
+        assertTrue(validatorSet.isPending());
+        assertTrue(validatorSet.errors.isEmpty());
+
+        executor.runAll();
+        poster.runAll();
+        assertFalse(validatorSet.isPending());
+        assertTrue(validatorSet.errors.isEmpty());
+        assertEquals(expensive.runs, 2);
+    }
+
+    @Test(timeout = 5000) public void submitDoesNotWaitForRunningBackgroundValidations()
+            throws InterruptedException {
+        final Thread mainThread = Thread.currentThread();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        validatorSet.addValidator(new ExpensiveValidator(mockEditText) {
+            @Override public boolean isValid(CharSequence value) {
+                if (Thread.currentThread() != mainThread) {
+                    started.countDown();
+                    awaitUninterruptibly(release);
+                }
+
+                return value.length() > 0;
+            }
+        });
+        validatorSet.setExecutor(new Executor() {
+            @Override public void execute(Runnable task) {
+                new Thread(task).start();
+            }
+        }, new FakePoster());
+
+        type(mockEditText, "ab");
+        started.await();
+
+        try {
+            assertTrue(validatorSet.isValid());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test public void submitCancelsBackgroundResults() {
+        FakePoster poster = new FakePoster();
+        QueueExecutor executor = new QueueExecutor();
+        ExpensiveValidator expensive = new ExpensiveValidator(mockEditText);
+        validatorSet.addValidator(expensive);
+        validatorSet.setExecutor(executor, poster);
+
+        type(mockEditText, "ab");
+        when(mockEditText.getText().toString()).thenReturn("abc");
+        assertTrue(validatorSet.isValid());
+        assertFalse(validatorSet.isPending());
+
+        executor.runAll();
+        poster.runAll();
+        assertTrue(poster.delayed.isEmpty());
+        assertTrue(validatorSet.isValid());
+    }
+
     @Test public void clearValidations() {
         validatorSet.addValidator(new RequiredValidator(mockEditText, errorMessage, true));
         validatorSet.clearValidators();
         assertNull(mockEditText.getError());
     }
 
-}
\ No newline at end of file
+    private void type(EditText editText, String text) {
+        when(editText.getText().toString()).thenReturn(text);
+        validatorSet.watchers.get(editText).textWatcher.onTextChanged(editText.getText(), 0, 0, text.length());
+    }
+
+    private static class FakePoster implements ValidationScheduler.Poster {
+
+        final List<Runnable> delayed = new ArrayList<>();
+        final List<Runnable> frames = new ArrayList<>();
+        long lastDelay;
+
+        @Override public void postDelayed(Runnable task, long delayMillis) {
+            delayed.add(task);
+            lastDelay = delayMillis;
+        }
+
+        @Override public void postOnNextFrame(Runnable task) {
+            frames.add(task);
+        }
+
+        @Override public void removeCallbacks(Runnable task) {
+            delayed.remove(task);
+        }
+
+        void runAll() {
+            List<Runnable> tasks = new ArrayList<>(delayed);
+            tasks.addAll(frames);
+            delayed.clear();
+            frames.clear();
+
+            for (Runnable task : tasks) {
+                task.run();
+            }
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException ignored) { }
+        }
+    }
+
+    private static class QueueExecutor implements Executor {
+
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            List<Runnable> pending = new ArrayList<>(tasks);
+            tasks.clear();
+
+            for (Runnable task : pending) {
+                task.run();
+            }
+        }
+    }
+
+    private static class ExpensiveValidator extends AbstractValidator {
+
+        int runs;
+
+        ExpensiveValidator(EditText editText) {
+            super(editText, "expensive", true);
+        }
+
+        @Override protected Cost cost() {
+            return Cost.EXPENSIVE;
+        }
+
+        @Override public boolean isValid(CharSequence value) {
+            runs++;
+            return value.length() != 2;
+        }
+    }
+
+    private static class SlowValidator extends AbstractValidator {
+
+        SlowValidator(EditText editText) {
+            super(editText, "slow", true);
+        }
+
+        @Override public boolean isValid(CharSequence value) {
+            long end = System.nanoTime() + 200000;
+            while (System.nanoTime() < end) { }
+            return true;
+        }
+    }
+
+    private static class CountingValidator extends RequiredValidator {
+
+        int runs;
+
+        CountingValidator(EditText editText) {
+            this(editText, true);
+        }
+
+        CountingValidator(EditText editText, boolean autoDismiss) {
+            super(editText, "required", autoDismiss);
+        }
+
+        @Override public boolean isValid(CharSequence value) {
+            runs++;
+            return super.isValid(value);
+        }
+    }
+
+    @Test public void abortedValidationsAreReported() {
+        validatorSet.addValidator(new PatternValidator(mockEditText, errorMessage, "[a-z]+", true, true,
+                MatchBudget.of(3, MatchBudget.UNLIMITED, MatchBudget.UNLIMITED)));
+        validatorSet.addValidator(new RequiredValidator(mockEditText_2, errorMessage, true));
+
+        when(mockEditText.getText().toString()).thenReturn("abcd");
+        when(mockEditText_2.getText().toString()).thenReturn("");
+
+        assertFalse(validatorSet.isValid());
+        assertTrue(validatorSet.isAborted(mockEditText));
+        assertFalse(validatorSet.isAborted(mockEditText_2));
+        assertTrue(validatorSet.errors.get(mockEditText).aborted);
+        assertFalse(validatorSet.errors.get(mockEditText_2).aborted);
+
+        when(mockEditText.getText().toString()).thenReturn("ab1");
+
+        validatorSet.invalidate();
+        assertFalse(validatorSet.isValid());
+        assertFalse(validatorSet.isAborted(mockEditText));
+        assertFalse(validatorSet.errors.get(mockEditText).aborted);
+    }
+
+    @Test public void validatorsOfAFieldShareItsNormalizedText() {
+        final List<CharSequence> values = new ArrayList<>();
+
+        for (int i = 0; i < 2; i++) {
+            validatorSet.addValidator(new AbstractValidator(mockEditText, errorMessage, true) {
+                @Override protected boolean isValid(CharSequence value) {
+                    values.add(value);
+                    return true;
+                }
+            });
+        }
+
+        validatorSet.addValidator(new LengthValidator(mockEditText, errorMessage, 11, 11, true, true));
+        validatorSet.setNormalizer(mockEditText, Normalizer.of(Normalizer.Step.TRIM, Normalizer.Step.STRIP_MASK));
+
+        when(mockEditText.getText().toString()).thenReturn(" 123.456.789-09 ");
+
+        assertTrue(validatorSet.isValid());
+        assertEquals(2, values.size());
+        assertSame(values.get(0), values.get(1));
+        assertEquals("12345678909", values.get(0).toString());
+
+        validatorSet.setNormalizer(mockEditText, null);
+
+        assertFalse(validatorSet.isValid());
+        assertSame(mockEditText.getText(), values.get(2));
+    }
+
+}